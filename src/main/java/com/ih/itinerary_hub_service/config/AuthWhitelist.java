@@ -0,0 +1,128 @@
+package com.ih.itinerary_hub_service.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Paths that don't need an access token, shared by the security chain and the JWT filter.
+ * Patterns are either exact paths or a prefix ending in "/**", compiled once into a trie of path segments.
+ * Matching walks the request path in place, so it allocates nothing per request.
+ * */
+public final class AuthWhitelist implements RequestMatcher {
+
+    public static final AuthWhitelist PUBLIC_PATHS = new AuthWhitelist(List.of(
+            "/v1/health",
+            "/v1/users/guest",
+            "/v3/api-docs/**",
+            "/swagger-ui/**",
+            "/oauth2/authorization/**",
+            "/login/**"
+    ));
+
+    private static final String ANY_SUFFIX = "/**";
+
+    private final Node root = new Node();
+
+    public AuthWhitelist(List<String> patterns) {
+        patterns.forEach(this::add);
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+
+        if (pathInfo == null) {
+            return matches(servletPath);
+        }
+        // servlet path is empty when the dispatcher is mapped to "/", concatenating is the rare case
+        return servletPath == null || servletPath.isEmpty() ? matches(pathInfo) : matches(servletPath + pathInfo);
+    }
+
+    // empty segments are skipped and exact paths don't match with a trailing slash, like AntPathMatcher
+    public boolean matches(String path) {
+        Node node = root;
+        int length = path.length();
+        int start = 0;
+
+        while (true) {
+            while (start < length && path.charAt(start) == '/') {
+                start++;
+            }
+            if (start == length) {
+                return node.anySuffix || (node.exact && !path.endsWith("/"));
+            }
+            if (node.anySuffix) {
+                return true;
+            }
+
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            node = node.child(path, start, end - start);
+            if (node == null) {
+                return false;
+            }
+            start = end;
+        }
+    }
+
+    private void add(String pattern) {
+        boolean anySuffix = pattern.endsWith(ANY_SUFFIX);
+        String path = anySuffix ? pattern.substring(0, pattern.length() - ANY_SUFFIX.length()) : pattern;
+
+        if (path.contains("*")) {
+            throw new IllegalArgumentException("Only exact paths and paths ending in /** are supported: " + pattern);
+        }
+
+        Node node = root;
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                node = node.getOrAddChild(segment);
+            }
+        }
+
+        if (anySuffix) {
+            node.anySuffix = true;
+        } else {
+            node.exact = true;
+        }
+    }
+
+    private static final class Node {
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        private boolean exact;
+        private boolean anySuffix;
+
+        // a handful of children per node, a linear scan beats hashing a substring
+        private Node child(String path, int offset, int length) {
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.length() == length && path.regionMatches(offset, segment, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrAddChild(String segment) {
+            Node existing = child(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+
+            Node child = new Node();
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+}
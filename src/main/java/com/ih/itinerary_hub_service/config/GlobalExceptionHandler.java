@@ -3,13 +3,19 @@ package com.ih.itinerary_hub_service.config;
 import com.ih.itinerary_hub_service.elements.exceptions.ElementDoesNotExist;
 import com.ih.itinerary_hub_service.elements.exceptions.InvalidElementRequest;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
+import com.ih.itinerary_hub_service.jobs.exceptions.JobNotFound;
 import com.ih.itinerary_hub_service.options.exceptions.CreateOptionInvalidRequest;
 import com.ih.itinerary_hub_service.options.exceptions.OptionNotFound;
+import com.ih.itinerary_hub_service.ordering.exceptions.InvalidMove;
+import com.ih.itinerary_hub_service.ratelimit.exceptions.ServiceOverloaded;
 import com.ih.itinerary_hub_service.sections.exceptions.CreateSectionInvalidRequest;
 import com.ih.itinerary_hub_service.sections.exceptions.SectionNotFound;
+import com.ih.itinerary_hub_service.trips.exceptions.InvalidTripListRequest;
 import com.ih.itinerary_hub_service.trips.exceptions.TripNotFound;
 import com.ih.itinerary_hub_service.users.exceptions.UserAlreadyExists;
 import com.ih.itinerary_hub_service.users.exceptions.UserNotFoundException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -54,6 +60,32 @@ public class GlobalExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidTripListRequest.class)
+    public ResponseEntity<String> handleInvalidTripListRequest(InvalidTripListRequest ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidMove.class)
+    public ResponseEntity<String> handleInvalidMove(InvalidMove ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceOverloaded.class)
+    public ResponseEntity<String> handleServiceOverloaded(ServiceOverloaded ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<String> handleBulkheadFull(BulkheadFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Service is busy, try again later");
+    }
+
     @ExceptionHandler(DbFailure.class)
     public ResponseEntity<String> handleDbFailureOnTrips(DbFailure ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -66,6 +98,12 @@ public class GlobalExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    @ExceptionHandler(JobNotFound.class)
+    public ResponseEntity<String> handleJobNotFound(JobNotFound ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<String> handleUserNotFound(UserNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
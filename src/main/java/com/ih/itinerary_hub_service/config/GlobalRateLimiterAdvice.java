@@ -1,17 +0,0 @@
-package com.ih.itinerary_hub_service.config;
-
-import io.github.resilience4j.ratelimiter.RequestNotPermitted;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.*;
-
-@RestControllerAdvice
-@RateLimiter(name = "global")
-public class GlobalRateLimiterAdvice {
-
-    @ExceptionHandler(RequestNotPermitted.class)
-    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
-    public String handleRateLimitException() {
-        return "Too many requests";
-    }
-}
@@ -43,16 +43,6 @@ public class SecurityConfiguration {
         this.cookieMaker = cookieMaker;
     }
 
-    private final String[] AUTH_WHITELIST = {
-            "/v1/health",
-            "/v1/users/guest",
-            "/v3/api-docs/**",
-            "/swagger-ui/**",
-            "/oauth2/authorization/**",
-            "/login/**"
-    };
-
-
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         final String BASE_URL = clientProperties.getBaseUrl();
@@ -61,7 +51,7 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests((req) ->
                         req
                                 .dispatcherTypeMatchers(DispatcherType.FORWARD).permitAll()
-                                .requestMatchers(AUTH_WHITELIST).permitAll()
+                                .requestMatchers(AuthWhitelist.PUBLIC_PATHS).permitAll()
                                 .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .oauth2Login((oauth2Login) ->
@@ -2,6 +2,8 @@ package com.ih.itinerary_hub_service.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import org.springdoc.core.customizers.OpenApiCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
@@ -16,4 +18,11 @@ public class SwaggerConfig {
                 new Info().title("Itinerary Hub Service API").version("v1")
         );
     }
+
+    // rate limits are applied by an interceptor, which springdoc doesn't see
+    @Bean
+    public OpenApiCustomizer tooManyRequestsResponse() {
+        return openApi -> openApi.getPaths().values().forEach(path -> path.readOperations().forEach(operation ->
+                operation.getResponses().addApiResponse("429", new ApiResponse().description("Too Many Requests"))));
+    }
 }
@@ -0,0 +1,34 @@
+package com.ih.itinerary_hub_service.config;
+
+import com.ih.itinerary_hub_service.ratelimit.BulkheadInterceptor;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimitInterceptor;
+import com.ih.itinerary_hub_service.ratelimit.RateLimitInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final BulkheadInterceptor bulkheadInterceptor;
+
+    public WebConfiguration(
+            RateLimitInterceptor rateLimitInterceptor,
+            ConcurrencyLimitInterceptor concurrencyLimitInterceptor,
+            BulkheadInterceptor bulkheadInterceptor
+    ) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+        this.bulkheadInterceptor = bulkheadInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // cheapest rejections first, so a turned-away request never holds a concurrency slot or bulkhead permit
+        registry.addInterceptor(rateLimitInterceptor);
+        registry.addInterceptor(concurrencyLimitInterceptor);
+        registry.addInterceptor(bulkheadInterceptor);
+    }
+}
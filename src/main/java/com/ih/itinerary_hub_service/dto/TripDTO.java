@@ -13,4 +13,6 @@ import java.util.List;
 public class TripDTO {
     private TripDetails tripDetails;
     private List<SectionDTO> sections;
+    // pass as ?since= to /v1/trips/{tripId}/changes
+    private long changeVersion;
 }
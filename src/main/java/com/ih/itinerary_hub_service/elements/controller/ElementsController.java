@@ -11,6 +11,8 @@ import com.ih.itinerary_hub_service.elements.types.AccommodationType;
 import com.ih.itinerary_hub_service.elements.types.ElementType;
 import com.ih.itinerary_hub_service.options.persistence.entity.Option;
 import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+import com.ih.itinerary_hub_service.ordering.responses.RankDetails;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -19,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Arrays;
 import java.util.List;
@@ -77,6 +80,19 @@ public class ElementsController {
         return elementsService.createAccommodationsElement(option, request);
     }
 
+    @PostMapping("sections/{sectionId}/options/{optionId}/elements:batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "${elements.createBatch.summary}")
+    @ApiResponses(value = { @ApiResponse(responseCode = "201", description = "Elements created")})
+    public List<BaseElementDetails> createElements(
+            @PathVariable UUID optionId,
+            @PathVariable UUID sectionId,
+            @RequestBody ElementBatchRequest request
+    ) {
+        Option option = optionsService.getOption(optionId, sectionId);
+        return elementsService.createElements(option, request);
+    }
+
     @PutMapping("elements")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "${elements.createAccommodation.summary}")
@@ -89,10 +105,21 @@ public class ElementsController {
 
     @GetMapping("options/{optionId}/elements")
     @Operation(summary = "${elements.getTransport.summary}")
-    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Element retrieved")})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Element retrieved"),
+            @ApiResponse(responseCode = "304", description = "Elements not modified")
+    })
     public List<BaseElementDetails> getElements(
-            @PathVariable UUID optionId
+            @PathVariable UUID optionId,
+            WebRequest webRequest
     ) {
+        boolean notModified = optionsService.getOptionVersionTag(optionId)
+                .map(webRequest::checkNotModified)
+                .orElse(false);
+
+        if (notModified) {
+            return null;
+        }
         return elementsService.getElementsByIds(optionId);
     }
 
@@ -200,6 +227,19 @@ public class ElementsController {
         elementsService.updateElementOrder(request.order(), baseElementId, request.elementType(), request.accommodationType());
     }
 
+    @PutMapping("sections/{sectionId}/options/{optionId}/elements/{elementId}/position")
+    @Operation(summary = "${elements.moveElementBetween.summary}", description = "${elements.moveElementBetween.desc}")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Element moved")})
+    public RankDetails moveElementBetween(
+            @PathVariable UUID sectionId,
+            @PathVariable UUID optionId,
+            @PathVariable UUID elementId,
+            @RequestBody MoveBetweenRequest request
+    ) {
+        Option option = optionsService.getOption(optionId, sectionId);
+        return elementsService.moveElementBetween(option, elementId, request);
+    }
+
     @DeleteMapping("sections/{sectionId}/options/{optionId}/elements/{baseElementId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "${elements.deleteElement.summary}")
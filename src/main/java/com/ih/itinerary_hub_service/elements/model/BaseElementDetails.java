@@ -2,6 +2,7 @@ package com.ih.itinerary_hub_service.elements.model;
 
 import com.ih.itinerary_hub_service.elements.types.ElementStatus;
 import com.ih.itinerary_hub_service.elements.types.ElementType;
+import com.ih.itinerary_hub_service.ordering.RankKeys;
 import com.ih.itinerary_hub_service.passengers.responses.PassengerDetails;
 import lombok.Getter;
 import lombok.Setter;
@@ -36,6 +37,7 @@ public abstract class BaseElementDetails {
     private String notes;
     private ElementStatus status;
     private Integer order;
+    private String rank;
     private List<PassengerDetails> passengerDetailsList;
 
     protected BaseElementDetails(
@@ -52,6 +54,7 @@ public abstract class BaseElementDetails {
         this.notes = builder.notes;
         this.status = builder.status;
         this.order = builder.order;
+        this.rank = RankKeys.effective(builder.rank, builder.order);
         this.passengerDetailsList = builder.passengerDetailsList;
     }
 
@@ -67,6 +70,7 @@ public abstract class BaseElementDetails {
         private String notes;
         private ElementStatus status;
         private Integer order;
+        private String rank;
         private List<PassengerDetails> passengerDetailsList;
 
         public T baseElementID(UUID baseElementID) {
@@ -119,6 +123,11 @@ public abstract class BaseElementDetails {
             return self();
         }
 
+        public T rank(String rank) {
+            this.rank = rank;
+            return self();
+        }
+
         public T status(ElementStatus status) {
             this.status = status;
             return self();
@@ -0,0 +1,19 @@
+package com.ih.itinerary_hub_service.elements.model;
+
+import com.ih.itinerary_hub_service.elements.types.ElementType;
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+
+import java.util.UUID;
+
+// elementId is the transport/activity element id or the accommodation event id
+public record ElementRank(
+        UUID elementId,
+        ElementType elementType,
+        UUID baseElementId,
+        Integer order,
+        String rank
+) {
+    public ElementRank {
+        rank = RankKeys.effective(rank, order);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ih.itinerary_hub_service.elements.persistence.entity;
 
+import com.ih.itinerary_hub_service.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -14,13 +15,13 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class AccommodationElement {
+public class AccommodationElement extends AssignedIdEntity {
 
     @Id
     @Column(name = "element_id", nullable = false)
     private UUID elementId;
 
-    @OneToOne(optional = false)
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "base_element_id", nullable = false)
     private BaseElement baseElement;
 
@@ -29,4 +30,9 @@ public class AccommodationElement {
 
     @Column(name = "location", length = 100)
     private String location;
+
+    @Override
+    public UUID getId() {
+        return elementId;
+    }
 }
@@ -1,6 +1,8 @@
 package com.ih.itinerary_hub_service.elements.persistence.entity;
 
 import com.ih.itinerary_hub_service.elements.types.AccommodationType;
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+import com.ih.itinerary_hub_service.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -12,17 +14,26 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "accommodation_events", schema = "dev")
+@NamedEntityGraph(
+        name = "AccommodationEvent.ownership",
+        attributeNodes = @NamedAttributeNode(value = "accommodationElement", subgraph = "accommodationElement"),
+        subgraphs = {
+                @NamedSubgraph(name = "accommodationElement", attributeNodes = @NamedAttributeNode(value = "baseElement", subgraph = "baseElement")),
+                @NamedSubgraph(name = "baseElement", attributeNodes = @NamedAttributeNode(value = "option", subgraph = "option")),
+                @NamedSubgraph(name = "option", attributeNodes = @NamedAttributeNode("section"))
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class AccommodationEvent {
+public class AccommodationEvent extends AssignedIdEntity {
 
     @Id
     @Column(name = "event_id", nullable = false)
     private UUID eventId;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "accommodation_id", nullable = false)
     private AccommodationElement accommodationElement;
 
@@ -35,4 +46,23 @@ public class AccommodationEvent {
 
     @Column(name = "element_order", nullable = false)
     private Integer elementOrder;
+
+    // see RankKeys, null only for rows written before ranks existed
+    @Column(name = "rank_key", length = 64)
+    private String rankKey;
+
+    public AccommodationEvent(UUID eventId, AccommodationElement accommodationElement, AccommodationType type, LocalDateTime datetime, Integer elementOrder) {
+        this(eventId, accommodationElement, type, datetime, elementOrder, RankKeys.fromOrder(elementOrder));
+    }
+
+    // an integer order from the client replaces the rank, so both ways of ordering stay consistent
+    public void setElementOrder(Integer elementOrder) {
+        this.elementOrder = elementOrder;
+        this.rankKey = RankKeys.fromOrder(elementOrder);
+    }
+
+    @Override
+    public UUID getId() {
+        return eventId;
+    }
 }
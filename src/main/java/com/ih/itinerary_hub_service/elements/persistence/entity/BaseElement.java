@@ -3,6 +3,7 @@ package com.ih.itinerary_hub_service.elements.persistence.entity;
 import com.ih.itinerary_hub_service.elements.types.ElementStatus;
 import com.ih.itinerary_hub_service.elements.types.ElementType;
 import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,17 +16,22 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "base_elements", schema = "dev")
+@NamedEntityGraph(
+        name = "BaseElement.ownership",
+        attributeNodes = @NamedAttributeNode(value = "option", subgraph = "option"),
+        subgraphs = @NamedSubgraph(name = "option", attributeNodes = @NamedAttributeNode("section"))
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class BaseElement {
+public class BaseElement extends AssignedIdEntity {
 
     @Id
     @Column(name = "base_element_id", nullable = false)
     private UUID baseElementId;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "option_id", nullable = false)
     private Option option;
 
@@ -51,4 +57,9 @@ public class BaseElement {
     @Enumerated(EnumType.STRING)
     @Column(name = "element_status")
     private ElementStatus status;
+
+    @Override
+    public UUID getId() {
+        return baseElementId;
+    }
 }
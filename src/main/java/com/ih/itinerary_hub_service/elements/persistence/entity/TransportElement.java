@@ -1,5 +1,7 @@
 package com.ih.itinerary_hub_service.elements.persistence.entity;
 
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+import com.ih.itinerary_hub_service.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,17 +13,25 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "transport_elements", schema = "dev")
+@NamedEntityGraph(
+        name = "TransportElement.ownership",
+        attributeNodes = @NamedAttributeNode(value = "baseElement", subgraph = "baseElement"),
+        subgraphs = {
+                @NamedSubgraph(name = "baseElement", attributeNodes = @NamedAttributeNode(value = "option", subgraph = "option")),
+                @NamedSubgraph(name = "option", attributeNodes = @NamedAttributeNode("section"))
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class TransportElement {
+public class TransportElement extends AssignedIdEntity {
 
     @Id
     @Column(name = "element_id", nullable = false)
     private UUID elementId;
 
-    @OneToOne(optional = false)
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "base_element_id", nullable = false)
     private BaseElement baseElement;
 
@@ -42,4 +52,23 @@ public class TransportElement {
 
     @Column(name = "element_order", nullable = false)
     private Integer elementOrder;
+
+    // see RankKeys, null only for rows written before ranks existed
+    @Column(name = "rank_key", length = 64)
+    private String rankKey;
+
+    public TransportElement(UUID elementId, BaseElement baseElement, String originPlace, LocalDateTime originDateTime, String destinationPlace, LocalDateTime destinationDateTime, String provider, Integer elementOrder) {
+        this(elementId, baseElement, originPlace, originDateTime, destinationPlace, destinationDateTime, provider, elementOrder, RankKeys.fromOrder(elementOrder));
+    }
+
+    // an integer order from the client replaces the rank, so both ways of ordering stay consistent
+    public void setElementOrder(Integer elementOrder) {
+        this.elementOrder = elementOrder;
+        this.rankKey = RankKeys.fromOrder(elementOrder);
+    }
+
+    @Override
+    public UUID getId() {
+        return elementId;
+    }
 }
@@ -2,11 +2,13 @@ package com.ih.itinerary_hub_service.elements.persistence.repository;
 
 import com.ih.itinerary_hub_service.elements.persistence.entity.AccommodationEvent;
 import com.ih.itinerary_hub_service.elements.types.AccommodationType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,4 +21,17 @@ public interface AccommodationEventRepository extends JpaRepository<Accommodatio
 
     @Query("SELECT t FROM AccommodationEvent t WHERE t.accommodationElement.elementId = :accommodationId AND t.type = :accommodationType")
     Optional<AccommodationEvent> getAccommodationEventsByAccommodationIdAndType(@Param("accommodationId") UUID accommodationId, @Param("accommodationType") AccommodationType accommodationType);
+
+    @Query("SELECT t FROM AccommodationEvent t JOIN FETCH t.accommodationElement a JOIN FETCH a.baseElement b WHERE b.baseElementId IN :baseElementIds")
+    List<AccommodationEvent> getAccommodationEventsByBaseIds(@Param("baseElementIds") Collection<UUID> baseElementIds);
+
+    @EntityGraph("AccommodationEvent.ownership")
+    @Query("SELECT t FROM AccommodationEvent t WHERE t.eventId IN :eventIds AND t.accommodationElement.baseElement.option.section.trip.deletedAt IS NULL")
+    List<AccommodationEvent> getAccommodationEventsWithOwnershipByIds(@Param("eventIds") Collection<UUID> eventIds);
+
+    @Query("SELECT t FROM AccommodationEvent t JOIN FETCH t.accommodationElement a JOIN FETCH a.baseElement b WHERE b.option.optionId = :optionId")
+    List<AccommodationEvent> getAccommodationEventsByOptionId(@Param("optionId") UUID optionId);
+
+    @Query("SELECT DISTINCT t.accommodationElement.baseElement.option.optionId FROM AccommodationEvent t WHERE (t.rankKey IS NULL OR LENGTH(t.rankKey) > :maxLength) AND t.accommodationElement.baseElement.option.section.trip.deletedAt IS NULL")
+    List<UUID> findOptionIdsWithUncompactedRanks(@Param("maxLength") int maxLength);
 }
@@ -1,11 +1,14 @@
 package com.ih.itinerary_hub_service.elements.persistence.repository;
 
 import com.ih.itinerary_hub_service.elements.persistence.entity.ActivityElement;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,4 +18,16 @@ public interface ActivityRepository extends JpaRepository<ActivityElement, UUID>
     @Query("SELECT t FROM ActivityElement t WHERE t.baseElement.baseElementId = :baseElementId")
     Optional<ActivityElement> getActivityElementByBaseId(@Param("baseElementId") UUID baseElementId);
 
+    @EntityGraph("ActivityElement.ownership")
+    @Query("SELECT t FROM ActivityElement t WHERE t.elementId IN :elementIds AND t.baseElement.option.section.trip.deletedAt IS NULL")
+    List<ActivityElement> getActivityElementsWithOwnershipByIds(@Param("elementIds") Collection<UUID> elementIds);
+
+    @Query("SELECT t FROM ActivityElement t JOIN FETCH t.baseElement b WHERE b.baseElementId IN :baseElementIds")
+    List<ActivityElement> getActivityElementsByBaseIds(@Param("baseElementIds") Collection<UUID> baseElementIds);
+
+    @Query("SELECT t FROM ActivityElement t JOIN FETCH t.baseElement b WHERE b.option.optionId = :optionId")
+    List<ActivityElement> getActivityElementsByOptionId(@Param("optionId") UUID optionId);
+
+    @Query("SELECT DISTINCT t.baseElement.option.optionId FROM ActivityElement t WHERE (t.rankKey IS NULL OR LENGTH(t.rankKey) > :maxLength) AND t.baseElement.option.section.trip.deletedAt IS NULL")
+    List<UUID> findOptionIdsWithUncompactedRanks(@Param("maxLength") int maxLength);
 }
@@ -6,19 +6,30 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+// lookups skip soft-deleted trips, so nothing is read or written under a trip the purger is working through
 @Repository
 public interface BaseElementRepository extends JpaRepository<BaseElement, UUID> {
 
-    @Query("SELECT t FROM BaseElement t WHERE t.option.optionId = :optionId")
+    @Query("SELECT t FROM BaseElement t WHERE t.option.optionId = :optionId AND t.option.section.trip.deletedAt IS NULL")
     List<BaseElement> findByOptionId(@Param("optionId") UUID optionId);
 
-    @Query("SELECT COUNT(t) FROM BaseElement t WHERE t.option.optionId = :optionId")
+    @Query("SELECT t FROM BaseElement t WHERE t.option.optionId IN :optionIds AND t.option.section.trip.deletedAt IS NULL")
+    List<BaseElement> findByOptionIds(@Param("optionIds") Collection<UUID> optionIds);
+
+    @Query("SELECT COUNT(t) FROM BaseElement t WHERE t.option.optionId = :optionId AND t.option.section.trip.deletedAt IS NULL")
     int countByOptionId(@Param("optionId") UUID optionId);
 
-    @Query("SELECT t FROM BaseElement t WHERE t.baseElementId = :baseElementId AND t.option.optionId = :optionId")
+    @Query("SELECT COUNT(t) FROM BaseElement t WHERE t.option.section.trip.tripId = :tripId AND t.option.section.trip.deletedAt IS NULL")
+    long countByTripId(@Param("tripId") UUID tripId);
+
+    @Query("SELECT t.option.section.trip.tripId FROM BaseElement t WHERE t.baseElementId = :baseElementId AND t.option.section.trip.deletedAt IS NULL")
+    Optional<UUID> findTripIdByBaseId(@Param("baseElementId") UUID baseElementId);
+
+    @Query("SELECT t FROM BaseElement t WHERE t.baseElementId = :baseElementId AND t.option.optionId = :optionId AND t.option.section.trip.deletedAt IS NULL")
     Optional<BaseElement> findByBaseIdAndOptionId(@Param("baseElementId") UUID baseElementId, @Param("optionId") UUID optionId);
 }
@@ -0,0 +1,118 @@
+package com.ih.itinerary_hub_service.elements.persistence.repository;
+
+import com.ih.itinerary_hub_service.elements.model.ElementRank;
+import com.ih.itinerary_hub_service.elements.persistence.entity.AccommodationEvent;
+import com.ih.itinerary_hub_service.elements.persistence.entity.ActivityElement;
+import com.ih.itinerary_hub_service.elements.persistence.entity.TransportElement;
+import com.ih.itinerary_hub_service.elements.types.ElementType;
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reorders many rows of one element table in a single statement:
+ * UPDATE ... SET element_order = CASE id WHEN ? THEN ? ... END, rank_key = CASE ... END WHERE id IN (...).
+ * Unlike UPDATE ... FROM (VALUES ...) this runs on both Postgres and H2.
+ * Also reads and writes single ranks for moves, where the element can live in any of the three tables.
+ * Managed copies of the rewritten rows are detached afterwards, callers that still need them read them again.
+ * */
+@Repository
+public class ElementOrderRepository {
+
+    private final EntityManager entityManager;
+
+    public ElementOrderRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public int updateTransportOrders(Map<UUID, Integer> ordersByElementId) {
+        return updateOrders(TransportElement.class, "elementId", ordersByElementId);
+    }
+
+    public int updateActivityOrders(Map<UUID, Integer> ordersByElementId) {
+        return updateOrders(ActivityElement.class, "elementId", ordersByElementId);
+    }
+
+    public int updateAccommodationEventOrders(Map<UUID, Integer> ordersByEventId) {
+        return updateOrders(AccommodationEvent.class, "eventId", ordersByEventId);
+    }
+
+    public List<ElementRank> findRanks(UUID optionId, Collection<UUID> ids) {
+        List<ElementRank> ranks = new ArrayList<>();
+        ranks.addAll(entityManager.createQuery("SELECT new com.ih.itinerary_hub_service.elements.model.ElementRank(t.elementId, com.ih.itinerary_hub_service.elements.types.ElementType.TRANSPORT, t.baseElement.baseElementId, t.elementOrder, t.rankKey) FROM TransportElement t WHERE t.elementId IN :ids AND t.baseElement.option.optionId = :optionId", ElementRank.class)
+                .setParameter("ids", ids)
+                .setParameter("optionId", optionId)
+                .getResultList());
+        ranks.addAll(entityManager.createQuery("SELECT new com.ih.itinerary_hub_service.elements.model.ElementRank(t.elementId, com.ih.itinerary_hub_service.elements.types.ElementType.ACTIVITY, t.baseElement.baseElementId, t.elementOrder, t.rankKey) FROM ActivityElement t WHERE t.elementId IN :ids AND t.baseElement.option.optionId = :optionId", ElementRank.class)
+                .setParameter("ids", ids)
+                .setParameter("optionId", optionId)
+                .getResultList());
+        ranks.addAll(entityManager.createQuery("SELECT new com.ih.itinerary_hub_service.elements.model.ElementRank(t.eventId, com.ih.itinerary_hub_service.elements.types.ElementType.ACCOMMODATION, t.accommodationElement.baseElement.baseElementId, t.elementOrder, t.rankKey) FROM AccommodationEvent t WHERE t.eventId IN :ids AND t.accommodationElement.baseElement.option.optionId = :optionId", ElementRank.class)
+                .setParameter("ids", ids)
+                .setParameter("optionId", optionId)
+                .getResultList());
+        return ranks;
+    }
+
+    public int updateRank(ElementType elementType, UUID id, String rankKey) {
+        String jpql = switch (elementType) {
+            case TRANSPORT -> "UPDATE TransportElement t SET t.rankKey = :rankKey WHERE t.elementId = :id";
+            case ACTIVITY -> "UPDATE ActivityElement t SET t.rankKey = :rankKey WHERE t.elementId = :id";
+            case ACCOMMODATION -> "UPDATE AccommodationEvent t SET t.rankKey = :rankKey WHERE t.eventId = :id";
+        };
+        Class<?> entityClass = switch (elementType) {
+            case TRANSPORT -> TransportElement.class;
+            case ACTIVITY -> ActivityElement.class;
+            case ACCOMMODATION -> AccommodationEvent.class;
+        };
+
+        entityManager.flush();
+        int updated = entityManager.createQuery(jpql)
+                .setParameter("rankKey", rankKey)
+                .setParameter("id", id)
+                .executeUpdate();
+        detachUpdated(entityClass, List.of(id));
+        return updated;
+    }
+
+    private <T> int updateOrders(Class<T> entityClass, String idAttribute, Map<UUID, Integer> ordersById) {
+        if(ordersById.isEmpty()) {
+            return 0;
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityClass);
+        Root<T> root = update.from(entityClass);
+
+        CriteriaBuilder.SimpleCase<UUID, Integer> newOrder = cb.selectCase(root.get(idAttribute));
+        CriteriaBuilder.SimpleCase<UUID, String> newRank = cb.selectCase(root.get(idAttribute));
+        ordersById.forEach((id, order) -> {
+            newOrder.when(id, order);
+            newRank.when(id, RankKeys.fromOrder(order));
+        });
+
+        update.set(root.<Integer>get("elementOrder"), newOrder.otherwise(root.get("elementOrder")));
+        update.set(root.<String>get("rankKey"), newRank.otherwise(root.get("rankKey")));
+        update.where(root.get(idAttribute).in(ordersById.keySet()));
+
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        detachUpdated(entityClass, ordersById.keySet());
+        return updated;
+    }
+
+    // the bulk update bypasses the persistence context, so only the copies of the rows it rewrote are dropped
+    // getReference hands back the managed copy without a select, the rest of the caller's entities stay managed
+    private void detachUpdated(Class<?> entityClass, Collection<UUID> ids) {
+        ids.forEach(id -> entityManager.detach(entityManager.getReference(entityClass, id)));
+    }
+}
@@ -1,11 +1,14 @@
 package com.ih.itinerary_hub_service.elements.persistence.repository;
 
 import com.ih.itinerary_hub_service.elements.persistence.entity.TransportElement;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +17,17 @@ public interface TransportRepository extends JpaRepository<TransportElement, UUI
 
     @Query("SELECT t FROM TransportElement t WHERE t.baseElement.baseElementId = :baseElementId")
     Optional<TransportElement> getTransportElementByBaseId(@Param("baseElementId") UUID baseElementId);
+
+    @EntityGraph("TransportElement.ownership")
+    @Query("SELECT t FROM TransportElement t WHERE t.elementId IN :elementIds AND t.baseElement.option.section.trip.deletedAt IS NULL")
+    List<TransportElement> getTransportElementsWithOwnershipByIds(@Param("elementIds") Collection<UUID> elementIds);
+
+    @Query("SELECT t FROM TransportElement t JOIN FETCH t.baseElement b WHERE b.baseElementId IN :baseElementIds")
+    List<TransportElement> getTransportElementsByBaseIds(@Param("baseElementIds") Collection<UUID> baseElementIds);
+
+    @Query("SELECT t FROM TransportElement t JOIN FETCH t.baseElement b WHERE b.option.optionId = :optionId")
+    List<TransportElement> getTransportElementsByOptionId(@Param("optionId") UUID optionId);
+
+    @Query("SELECT DISTINCT t.baseElement.option.optionId FROM TransportElement t WHERE (t.rankKey IS NULL OR LENGTH(t.rankKey) > :maxLength) AND t.baseElement.option.section.trip.deletedAt IS NULL")
+    List<UUID> findOptionIdsWithUncompactedRanks(@Param("maxLength") int maxLength);
 }
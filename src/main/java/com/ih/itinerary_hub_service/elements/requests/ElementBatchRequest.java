@@ -0,0 +1,10 @@
+package com.ih.itinerary_hub_service.elements.requests;
+
+import java.util.List;
+
+public record ElementBatchRequest(
+        List<TransportElementRequest> transport,
+        List<ActivityElementRequest> activity,
+        List<AccommodationElementRequest> accommodation
+) {
+}
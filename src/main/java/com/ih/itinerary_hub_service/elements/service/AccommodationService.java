@@ -9,6 +9,7 @@ import com.ih.itinerary_hub_service.elements.persistence.entity.AccommodationEve
 import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
 import com.ih.itinerary_hub_service.elements.persistence.repository.AccommodationElementRepository;
 import com.ih.itinerary_hub_service.elements.persistence.repository.AccommodationEventRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.ElementOrderRepository;
 import com.ih.itinerary_hub_service.elements.requests.AccommodationElementRequest;
 import com.ih.itinerary_hub_service.elements.requests.AccommodationEventRequest;
 import com.ih.itinerary_hub_service.elements.types.AccommodationType;
@@ -25,10 +26,12 @@ public class AccommodationService {
 
     private final AccommodationElementRepository accommodationElementRepository;
     private final AccommodationEventRepository accommodationEventRepository;
+    private final ElementOrderRepository elementOrderRepository;
 
-    public AccommodationService(AccommodationElementRepository accommodationElementRepository, AccommodationEventRepository accommodationEventRepository) {
+    public AccommodationService(AccommodationElementRepository accommodationElementRepository, AccommodationEventRepository accommodationEventRepository, ElementOrderRepository elementOrderRepository) {
         this.accommodationElementRepository = accommodationElementRepository;
         this.accommodationEventRepository = accommodationEventRepository;
+        this.elementOrderRepository = elementOrderRepository;
     }
 
     public List<AccommodationElementDetails> createElements(AccommodationElementRequest request, BaseElement baseElement, List<PassengerDetails> passengerDetailsList) {
@@ -80,15 +83,53 @@ public class AccommodationService {
         return mapAccommodationElementDetails(accommodationElement, List.of(checkIn, checkOut), baseElement, passengerDetailsList);
     }
 
-    public void updateElementOrderByEventId(Integer order, UUID elementId) {
-        AccommodationEvent existingEvent = getAccEventById(elementId);
+    // one batched insert per table for the lot, the base elements are already saved
+    public List<AccommodationElementDetails> createElements(Map<BaseElement, AccommodationElementRequest> requestsByElement, Map<UUID, List<PassengerDetails>> passengersByElement) {
+        List<AccommodationElement> elements = new ArrayList<>();
+        List<AccommodationEvent> events = new ArrayList<>();
 
-        existingEvent.setElementOrder(order);
+        requestsByElement.forEach((baseElement, request) -> {
+            AccommodationElement element = new AccommodationElement(UUID.randomUUID(), baseElement, request.getPlace(), request.getLocation());
+            elements.add(element);
+            events.add(new AccommodationEvent(UUID.randomUUID(), element, AccommodationType.CHECK_IN, request.getCheckIn().getDateTime(), request.getCheckIn().getOrder()));
+            events.add(new AccommodationEvent(UUID.randomUUID(), element, AccommodationType.CHECK_OUT, request.getCheckOut().getDateTime(), request.getCheckOut().getOrder()));
+        });
 
         try {
-            accommodationEventRepository.save(existingEvent);
+            accommodationElementRepository.saveAll(elements);
+            accommodationEventRepository.saveAll(events);
+            log.info("Created {} accommodation elements", elements.size());
+        } catch (Exception e) {
+            log.error("Failed to save accommodation elements, {}", e.getMessage());
+            throw new DbFailure(e.getMessage());
+        }
 
-            log.info("Updated accommodation event order with id: {}", existingEvent.getEventId());
+        List<AccommodationElementDetails> elementDetails = new ArrayList<>();
+        for (int i = 0; i < elements.size(); i++) {
+            AccommodationElement element = elements.get(i);
+            BaseElement baseElement = element.getBaseElement();
+            elementDetails.addAll(mapAccommodationElementDetails(
+                    element,
+                    events.subList(2 * i, 2 * i + 2),
+                    baseElement,
+                    passengersByElement.getOrDefault(baseElement.getBaseElementId(), Collections.emptyList())
+            ));
+        }
+        return elementDetails;
+    }
+
+    public Map<UUID, BaseElement> getBaseElementsByEventIds(Collection<UUID> eventIds) {
+        Map<UUID, BaseElement> baseElementsByEventId = new HashMap<>();
+        for (AccommodationEvent event : accommodationEventRepository.getAccommodationEventsWithOwnershipByIds(eventIds)) {
+            baseElementsByEventId.put(event.getEventId(), event.getAccommodationElement().getBaseElement());
+        }
+        return baseElementsByEventId;
+    }
+
+    public void updateEventOrders(Map<UUID, Integer> ordersByEventId) {
+        try {
+            int updated = elementOrderRepository.updateAccommodationEventOrders(ordersByEventId);
+            log.info("Updated order of {} accommodation events", updated);
         } catch (Exception e) {
             log.error("Failed to update accommodation event order, {}", e.getMessage());
             throw new DbFailure(e.getMessage());
@@ -207,6 +248,28 @@ public class AccommodationService {
         return mapSingleAccElementDetails(accommodationElement, event, baseElement, passengerDetailsList);
     }
 
+    // accommodation elements come back with their events in a single join
+    public List<AccommodationElementDetails> getAccommodationDetailsByBaseIds(Collection<UUID> baseElementIds, Map<UUID, List<PassengerDetails>> passengersByElement) {
+        List<AccommodationEvent> accommodationEvents = accommodationEventRepository.getAccommodationEventsByBaseIds(baseElementIds);
+
+        if(accommodationEvents.size() != baseElementIds.size() * 2) {
+            log.error("Couldn't find the matching accommodation events for base IDs: {}", baseElementIds);
+            throw new ElementDoesNotExist("Couldn't find the matching accommodation events");
+        }
+
+        List<AccommodationElementDetails> accommodationElementDetails = new ArrayList<>();
+
+        for(AccommodationEvent accommodationEvent : accommodationEvents) {
+            AccommodationElement accommodationElement = accommodationEvent.getAccommodationElement();
+            BaseElement baseElement = accommodationElement.getBaseElement();
+            List<PassengerDetails> passengerDetailsList = passengersByElement.getOrDefault(baseElement.getBaseElementId(), Collections.emptyList());
+
+            accommodationElementDetails.add(mapSingleAccElementDetails(accommodationElement, accommodationEvent, baseElement, passengerDetailsList));
+        }
+
+        return accommodationElementDetails;
+    }
+
     private AccommodationEvent getSingleAccEvent(AccommodationElement accommodationElement, AccommodationType accommodationType) {
         Optional<AccommodationEvent> event = accommodationEventRepository.getAccommodationEventsByAccommodationIdAndType(accommodationElement.getElementId(), accommodationType);
 
@@ -216,14 +279,6 @@ public class AccommodationService {
         return event.get();
     }
 
-    private AccommodationEvent getAccEventById(UUID accEventId) {
-        return accommodationEventRepository.findById(accEventId)
-                .orElseThrow(() -> {
-                    log.error("Couldn't find an element with event ID: {}", accEventId);
-                    return new ElementDoesNotExist("Couldn't find an element with event ID: " + accEventId);
-                });
-    }
-
     private AccommodationElement getElementByBaseId(UUID baseElementID) {
         return accommodationElementRepository.getAccommElementByBaseId(baseElementID)
                 .orElseThrow(() -> {
@@ -255,7 +310,7 @@ public class AccommodationService {
     }
 
     private static AccommodationElementDetails mapSingleAccElementDetails(AccommodationElement element, AccommodationEvent accommodationEvent, BaseElement baseElement, List<PassengerDetails> passengerDetailsList) {
-        AccommodationElementDetails.Builder baseElementBuild = getBaseElementBuild(baseElement, accommodationEvent.getElementOrder(), passengerDetailsList);
+        AccommodationElementDetails.Builder baseElementBuild = getBaseElementBuild(baseElement, accommodationEvent.getElementOrder(), accommodationEvent.getRankKey(), passengerDetailsList);
 
         return baseElementBuild
                         .elementID(accommodationEvent.getEventId()) // as elementID is not unique per a pair of accommodation elements, event ID is returned instead
@@ -266,7 +321,7 @@ public class AccommodationService {
                         .build();
     }
 
-    private static AccommodationElementDetails.Builder getBaseElementBuild(BaseElement baseElement, Integer order, List<PassengerDetails> passengerDetailsList) {
+    private static AccommodationElementDetails.Builder getBaseElementBuild(BaseElement baseElement, Integer order, String rank, List<PassengerDetails> passengerDetailsList) {
         return new AccommodationElementDetails.Builder()
                 .baseElementID(baseElement.getBaseElementId())
                 .optionID(baseElement.getOption().getOptionId())
@@ -278,6 +333,7 @@ public class AccommodationService {
                 .notes(baseElement.getNotes())
                 .status(baseElement.getStatus())
                 .passengerList(passengerDetailsList)
-                .order(order);
+                .order(order)
+                .rank(rank);
     }
 }
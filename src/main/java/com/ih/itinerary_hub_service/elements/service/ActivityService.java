@@ -5,23 +5,31 @@ import com.ih.itinerary_hub_service.elements.model.ActivityElementDetails;
 import com.ih.itinerary_hub_service.elements.persistence.entity.ActivityElement;
 import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
 import com.ih.itinerary_hub_service.elements.persistence.repository.ActivityRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.ElementOrderRepository;
 import com.ih.itinerary_hub_service.elements.requests.ActivityElementRequest;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
 import com.ih.itinerary_hub_service.passengers.responses.PassengerDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class ActivityService {
 
     private final ActivityRepository activityRepository;
+    private final ElementOrderRepository elementOrderRepository;
 
-    public ActivityService(ActivityRepository activityRepository) {
+    public ActivityService(ActivityRepository activityRepository, ElementOrderRepository elementOrderRepository) {
         this.activityRepository = activityRepository;
+        this.elementOrderRepository = elementOrderRepository;
     }
 
     public ActivityElementDetails createElement(ActivityElementRequest request, BaseElement baseElement, List<PassengerDetails> passengerDetailsList) {
@@ -47,12 +55,41 @@ public class ActivityService {
         }
     }
 
-    public void updateElementOrderByElementId(Integer order, UUID baseElementID) {
-        ActivityElement activityElement = getElementByElementId(baseElementID);
-        activityElement.setElementOrder(order);
+    // one batched insert for the lot, the base elements are already saved
+    public List<ActivityElementDetails> createElements(Map<BaseElement, ActivityElementRequest> requestsByElement, Map<UUID, List<PassengerDetails>> passengersByElement) {
+        Map<BaseElement, ActivityElement> elements = new LinkedHashMap<>();
+        requestsByElement.forEach((baseElement, request) -> elements.put(baseElement, new ActivityElement(
+                UUID.randomUUID(),
+                baseElement,
+                request.getActivityName(),
+                request.getLocation(),
+                request.getStartsAt(),
+                request.getDuration(),
+                request.getOrder()
+        )));
 
         try {
-            activityRepository.save(activityElement);
+            activityRepository.saveAll(elements.values());
+            log.info("Created {} activity elements", elements.size());
+        } catch (Exception e) {
+            log.error("Failed to save activity elements, {}", e.getMessage());
+            throw new DbFailure(e.getMessage());
+        }
+
+        return elements.entrySet().stream()
+                .map(entry -> mapElementDetails(entry.getKey(), entry.getValue(), passengersByElement.getOrDefault(entry.getKey().getBaseElementId(), Collections.emptyList())))
+                .toList();
+    }
+
+    public Map<UUID, BaseElement> getBaseElementsByElementIds(Collection<UUID> elementIds) {
+        return activityRepository.getActivityElementsWithOwnershipByIds(elementIds).stream()
+                .collect(Collectors.toMap(ActivityElement::getElementId, ActivityElement::getBaseElement));
+    }
+
+    public void updateElementOrders(Map<UUID, Integer> ordersByElementId) {
+        try {
+            int updated = elementOrderRepository.updateActivityOrders(ordersByElementId);
+            log.info("Updated order of {} activity elements", updated);
         } catch (Exception e) {
             log.error("Failed to update activity element order, {}", e.getMessage());
             throw new DbFailure(e.getMessage());
@@ -126,16 +163,8 @@ public class ActivityService {
                 });
     }
 
-    public ActivityElement getElementByElementId(UUID elementId) {
-        return activityRepository.findById(elementId)
-                .orElseThrow(() -> {
-                    log.error("Couldn't find an element with element ID: {}", elementId);
-                    return new ElementDoesNotExist("Couldn't find an element with element ID: " + elementId);
-                });
-    }
-
     public ActivityElementDetails mapElementDetails(BaseElement baseElement, ActivityElement element, List<PassengerDetails> passengerDetailsList) {
-        ActivityElementDetails.Builder baseElementBuild = getBaseElementBuild(baseElement, element.getElementOrder(), passengerDetailsList);
+        ActivityElementDetails.Builder baseElementBuild = getBaseElementBuild(baseElement, element.getElementOrder(), element.getRankKey(), passengerDetailsList);
 
         return baseElementBuild
                 .elementID(element.getElementId())
@@ -153,7 +182,23 @@ public class ActivityService {
         return mapElementDetails(baseElement, element, passengerDetailsList);
     }
 
-    private static ActivityElementDetails.Builder getBaseElementBuild(BaseElement baseElement, Integer order, List<PassengerDetails> passengerDetailsList) {
+    public List<ActivityElementDetails> getElementDetailsByIDs(Collection<UUID> baseElementIds, Map<UUID, List<PassengerDetails>> passengersByElement) {
+        List<ActivityElement> elements = activityRepository.getActivityElementsByBaseIds(baseElementIds);
+
+        if(elements.size() != baseElementIds.size()) {
+            log.error("Couldn't find activity elements for all base IDs: {}", baseElementIds);
+            throw new ElementDoesNotExist("Couldn't find activity elements for all base IDs");
+        }
+
+        return elements.stream()
+                .map(element -> {
+                    BaseElement baseElement = element.getBaseElement();
+                    return mapElementDetails(baseElement, element, passengersByElement.getOrDefault(baseElement.getBaseElementId(), Collections.emptyList()));
+                })
+                .toList();
+    }
+
+    private static ActivityElementDetails.Builder getBaseElementBuild(BaseElement baseElement, Integer order, String rank, List<PassengerDetails> passengerDetailsList) {
         return new ActivityElementDetails.Builder()
                 .baseElementID(baseElement.getBaseElementId())
                 .optionID(baseElement.getOption().getOptionId())
@@ -165,6 +210,7 @@ public class ActivityService {
                 .notes(baseElement.getNotes())
                 .status(baseElement.getStatus())
                 .passengerList(passengerDetailsList)
-                .order(order);
+                .order(order)
+                .rank(rank);
     }
 }
@@ -5,96 +5,233 @@ import com.ih.itinerary_hub_service.elements.exceptions.InvalidElementRequest;
 import com.ih.itinerary_hub_service.elements.model.AccommodationElementDetails;
 import com.ih.itinerary_hub_service.elements.model.ActivityElementDetails;
 import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
+import com.ih.itinerary_hub_service.elements.model.ElementRank;
 import com.ih.itinerary_hub_service.elements.model.TransportElementDetails;
 import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
 import com.ih.itinerary_hub_service.elements.persistence.repository.BaseElementRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.ElementOrderRepository;
 import com.ih.itinerary_hub_service.elements.requests.*;
 import com.ih.itinerary_hub_service.elements.types.AccommodationType;
 import com.ih.itinerary_hub_service.elements.types.ElementType;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
 import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.ordering.Moves;
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+import com.ih.itinerary_hub_service.ordering.responses.RankDetails;
 import com.ih.itinerary_hub_service.passengers.responses.PassengerDetails;
 import com.ih.itinerary_hub_service.passengers.service.GlobalPassengersService;
-import jakarta.transaction.Transactional;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class ElementsService {
 
+    private static final int MAX_BATCH_SIZE = 200;
+
     private final BaseElementRepository baseElementRepository;
     private final TransportService transportService;
     private final ActivityService activityService;
     private final AccommodationService accommodationService;
     private final GlobalPassengersService passengersService;
+    private final TripChangeRecorder tripChangeRecorder;
+    private final ElementOrderRepository elementOrderRepository;
 
-    public ElementsService(BaseElementRepository baseElementRepository, TransportService transportService, ActivityService activityService, AccommodationService accommodationService, GlobalPassengersService passengersService) {
+    public ElementsService(BaseElementRepository baseElementRepository, TransportService transportService, ActivityService activityService, AccommodationService accommodationService, GlobalPassengersService passengersService, TripChangeRecorder tripChangeRecorder, ElementOrderRepository elementOrderRepository) {
         this.baseElementRepository = baseElementRepository;
         this.transportService = transportService;
         this.activityService = activityService;
         this.accommodationService = accommodationService;
         this.passengersService = passengersService;
+        this.tripChangeRecorder = tripChangeRecorder;
+        this.elementOrderRepository = elementOrderRepository;
     }
 
+    @Transactional
     public TransportElementDetails createTransportElement(Option option, TransportElementRequest request) {
         BaseElementRequest baseRequest = request.getBaseElementRequest();
-
-        if(request.getOrder() == null || baseRequest.getElementType() != ElementType.TRANSPORT) {
-            throw new InvalidElementRequest("Invalid request");
-        }
+        validateTransportRequest(request);
 
         BaseElement baseElement = saveNewBaseElement(option, ElementType.TRANSPORT, baseRequest);
         List<PassengerDetails> passengerDetailsList = assignPassengers(baseElement, baseRequest);
 
-        return transportService.createElement(request, baseElement, passengerDetailsList);
+        TransportElementDetails elementDetails = transportService.createElement(request, baseElement, passengerDetailsList);
+        recordElementUpsert(option, baseElement.getBaseElementId());
+        return elementDetails;
     }
 
+    @Transactional
     public ActivityElementDetails createActivityElement(Option option, ActivityElementRequest request) {
         BaseElementRequest baseRequest = request.getBaseElementRequest();
-
-        if(request.getOrder() == null || baseRequest.getElementType() != ElementType.ACTIVITY) {
-            throw new InvalidElementRequest("Invalid request");
-        }
+        validateActivityRequest(request);
 
         BaseElement baseElement = saveNewBaseElement(option, ElementType.ACTIVITY, baseRequest);
 
         List<PassengerDetails> passengerDetailsList = assignPassengers(baseElement, baseRequest);
 
-        return activityService.createElement(request, baseElement, passengerDetailsList);
+        ActivityElementDetails elementDetails = activityService.createElement(request, baseElement, passengerDetailsList);
+        recordElementUpsert(option, baseElement.getBaseElementId());
+        return elementDetails;
     }
 
+    @Transactional
     public List<AccommodationElementDetails> createAccommodationsElement(Option option, AccommodationElementRequest request) {
         BaseElementRequest baseRequest = request.getBaseElementRequest();
-
-        if(request.getCheckIn().getOrder() == null
-                || request.getCheckOut().getOrder() == null
-                || baseRequest.getElementType() != ElementType.ACCOMMODATION) {
-            throw new InvalidElementRequest("Invalid request");
-        }
+        validateAccommodationRequest(request);
 
         BaseElement baseElement = saveNewBaseElement(option, ElementType.ACCOMMODATION, baseRequest);
         List<PassengerDetails> passengerDetailsList = assignPassengers(baseElement, baseRequest);
 
-        return accommodationService.createElements(request, baseElement, passengerDetailsList);
+        List<AccommodationElementDetails> elementDetails = accommodationService.createElements(request, baseElement, passengerDetailsList);
+        recordElementUpsert(option, baseElement.getBaseElementId());
+        return elementDetails;
+    }
+
+    // an imported itinerary in one go: every request is checked before anything is written,
+    // then one batched insert per table and a single recorded change
+    @Transactional
+    public List<BaseElementDetails> createElements(Option option, ElementBatchRequest request) {
+        List<TransportElementRequest> transportRequests = Optional.ofNullable(request.transport()).orElse(Collections.emptyList());
+        List<ActivityElementRequest> activityRequests = Optional.ofNullable(request.activity()).orElse(Collections.emptyList());
+        List<AccommodationElementRequest> accommodationRequests = Optional.ofNullable(request.accommodation()).orElse(Collections.emptyList());
+
+        int size = transportRequests.size() + activityRequests.size() + accommodationRequests.size();
+        if(size == 0 || size > MAX_BATCH_SIZE) {
+            log.error("Invalid batch size {}", size);
+            throw new InvalidElementRequest("A batch needs between 1 and " + MAX_BATCH_SIZE + " elements");
+        }
+
+        transportRequests.forEach(ElementsService::validateTransportRequest);
+        activityRequests.forEach(ElementsService::validateActivityRequest);
+        accommodationRequests.forEach(ElementsService::validateAccommodationRequest);
+
+        Map<BaseElement, TransportElementRequest> transports = new LinkedHashMap<>();
+        Map<BaseElement, ActivityElementRequest> activities = new LinkedHashMap<>();
+        Map<BaseElement, AccommodationElementRequest> accommodations = new LinkedHashMap<>();
+        transportRequests.forEach(r -> transports.put(getNewBaseElement(option, ElementType.TRANSPORT, r.getBaseElementRequest()), r));
+        activityRequests.forEach(r -> activities.put(getNewBaseElement(option, ElementType.ACTIVITY, r.getBaseElementRequest()), r));
+        accommodationRequests.forEach(r -> accommodations.put(getNewBaseElement(option, ElementType.ACCOMMODATION, r.getBaseElementRequest()), r));
+
+        Map<BaseElement, List<UUID>> passengerIdsByElement = new LinkedHashMap<>();
+        List<BaseElement> baseElements = new ArrayList<>();
+        for (Map<BaseElement, ? extends CreateElementRequest> requests : List.of(transports, activities, accommodations)) {
+            requests.forEach((baseElement, elementRequest) -> {
+                baseElements.add(baseElement);
+                Optional.ofNullable(elementRequest.getBaseElementRequest().getPassengerIds())
+                        .ifPresent(passengerIds -> passengerIdsByElement.put(baseElement, passengerIds));
+            });
+        }
+
+        try {
+            baseElementRepository.saveAll(baseElements);
+        } catch (Exception e) {
+            log.error("Failed to save baseElements {}", e.getMessage());
+            throw new DbFailure("Failed to save baseElements");
+        }
+
+        Map<UUID, List<PassengerDetails>> passengersByElement = passengersService.assignPassengersToElements(passengerIdsByElement);
+
+        List<BaseElementDetails> elementDetails = new ArrayList<>();
+        elementDetails.addAll(transportService.createElements(transports, passengersByElement));
+        elementDetails.addAll(activityService.createElements(activities, passengersByElement));
+        elementDetails.addAll(accommodationService.createElements(accommodations, passengersByElement));
+
+        tripChangeRecorder.recordUpserts(
+                option.getSection().getTrip().getTripId(),
+                TripEntityType.ELEMENT,
+                baseElements.stream().map(BaseElement::getBaseElementId).toList()
+        );
+        log.info("Created {} elements in option {}", baseElements.size(), option.getOptionId());
+
+        elementDetails.sort(Comparator.comparing(BaseElementDetails::getRank));
+        return elementDetails;
     }
 
     // FE sends event ID for accommodation elements
+    // one lookup and one UPDATE per element table, nothing is written unless every id exists
+    @Transactional
     public void bulkUpdateOrder(List<ElementOrderUpdateRequest> updateRequests) {
+        Map<ElementType, Map<UUID, Integer>> ordersByType = new EnumMap<>(ElementType.class);
         for (ElementOrderUpdateRequest update : updateRequests) {
+            ordersByType.computeIfAbsent(update.elementType(), type -> new LinkedHashMap<>())
+                    .put(update.elementId(), update.order());
+        }
+
+        Map<UUID, BaseElement> updatedElements = new LinkedHashMap<>();
+        List<UUID> unknownIds = new ArrayList<>();
+
+        ordersByType.forEach((elementType, orders) -> {
+            Map<UUID, BaseElement> baseElements = switch (elementType) {
+                case TRANSPORT -> transportService.getBaseElementsByElementIds(orders.keySet());
+                case ACTIVITY -> activityService.getBaseElementsByElementIds(orders.keySet());
+                case ACCOMMODATION -> accommodationService.getBaseElementsByEventIds(orders.keySet());
+            };
+
+            orders.keySet().stream()
+                    .filter(id -> !baseElements.containsKey(id))
+                    .forEach(unknownIds::add);
+            baseElements.values().forEach(baseElement -> updatedElements.putIfAbsent(baseElement.getBaseElementId(), baseElement));
+        });
+
+        if(!unknownIds.isEmpty()) {
+            log.error("Could not find elements with ids {}", unknownIds);
+            throw new ElementDoesNotExist("Could not find elements with ids " + unknownIds);
+        }
 
-            switch (update.elementType()) {
-                case TRANSPORT -> transportService.updateElementOrderByElementId(update.order(), update.elementId());
-                case ACTIVITY -> activityService.updateElementOrderByElementId(update.order(), update.elementId());
-                case ACCOMMODATION ->
-                        accommodationService.updateElementOrderByEventId(update.order(), update.elementId());
+        ordersByType.forEach((elementType, orders) -> {
+            switch (elementType) {
+                case TRANSPORT -> transportService.updateElementOrders(orders);
+                case ACTIVITY -> activityService.updateElementOrders(orders);
+                case ACCOMMODATION -> accommodationService.updateEventOrders(orders);
             }
+        });
+
+        tripChangeRecorder.recordElementUpserts(updatedElements.values());
+    }
+
+    // ids are element ids (event ids for accommodation), neighbours have to be in the same option
+    // only the moved row is written, its siblings keep their ranks
+    @Transactional
+    public RankDetails moveElementBetween(Option option, UUID elementId, MoveBetweenRequest request) {
+        Moves.validate(elementId, request);
+        tripChangeRecorder.lockTrip(option.getSection().getTrip().getTripId());
+
+        Set<UUID> ids = new HashSet<>();
+        ids.add(elementId);
+        Optional.ofNullable(request.afterId()).ifPresent(ids::add);
+        Optional.ofNullable(request.beforeId()).ifPresent(ids::add);
+
+        Map<UUID, ElementRank> ranks = elementOrderRepository.findRanks(option.getOptionId(), ids).stream()
+                .collect(Collectors.toMap(ElementRank::elementId, rank -> rank));
+
+        List<UUID> unknownIds = ids.stream().filter(id -> !ranks.containsKey(id)).toList();
+        if(!unknownIds.isEmpty()) {
+            log.error("Could not find elements with ids {} in option {}", unknownIds, option.getOptionId());
+            throw new ElementDoesNotExist("Could not find elements with ids " + unknownIds);
         }
+
+        ElementRank moved = ranks.get(elementId);
+        String lower = request.afterId() == null ? null : ranks.get(request.afterId()).rank();
+        String upper = request.beforeId() == null ? null : ranks.get(request.beforeId()).rank();
+        String newRank = Moves.rankBetween(lower, upper);
+
+        try {
+            elementOrderRepository.updateRank(moved.elementType(), elementId, newRank);
+            recordElementUpsert(option, moved.baseElementId());
+            log.info("Element {} moved to rank {}", elementId, newRank);
+        } catch (Exception e) {
+            log.error("Failed to move element with id {}", elementId);
+            throw new DbFailure(e.getMessage());
+        }
+
+        return new RankDetails(elementId, newRank);
     }
 
     public TransportElementDetails getTransportElementById(Option option, UUID baseElementId) {
@@ -139,6 +276,7 @@ public class ElementsService {
         return accommodationService.getSingleAccommodationDetailsElement(baseElement, type, passengerDetailsList);
     }
 
+    @Transactional
     public TransportElementDetails updateTransportElement(Option option, UUID baseElementId, TransportElementRequest request) {
         BaseElementRequest baseRequest = request.getBaseElementRequest();
         BaseElement existingBaseElement = getBaseElement(option, baseElementId);
@@ -151,9 +289,12 @@ public class ElementsService {
         BaseElement updatedElement = updateBaseElement(existingBaseElement, baseRequest);
         List<PassengerDetails> passengerDetailsList = passengersService.updateAllPassengersInElement(request.getBaseElementRequest().getPassengerIds(), existingBaseElement);
 
-        return transportService.updateElement(request, updatedElement, passengerDetailsList);
+        TransportElementDetails elementDetails = transportService.updateElement(request, updatedElement, passengerDetailsList);
+        recordElementUpsert(option, baseElementId);
+        return elementDetails;
     }
 
+    @Transactional
     public ActivityElementDetails updateActivityElement(Option option, UUID baseElementId, ActivityElementRequest request) {
         BaseElementRequest baseRequest = request.getBaseElementRequest();
         BaseElement existingBaseElement = getBaseElement(option, baseElementId);
@@ -166,9 +307,12 @@ public class ElementsService {
         List<PassengerDetails> passengerDetailsList = passengersService.updateAllPassengersInElement(request.getBaseElementRequest().getPassengerIds(), existingBaseElement);
 
         BaseElement updatedElement = updateBaseElement(existingBaseElement, baseRequest);
-        return activityService.updateElement(request, updatedElement, passengerDetailsList);
+        ActivityElementDetails elementDetails = activityService.updateElement(request, updatedElement, passengerDetailsList);
+        recordElementUpsert(option, baseElementId);
+        return elementDetails;
     }
 
+    @Transactional
     public List<AccommodationElementDetails> updateAccommodationElements(Option option, UUID baseElementId, AccommodationElementRequest request) {
         BaseElementRequest baseRequest = request.getBaseElementRequest();
         BaseElement existingBaseElement = getBaseElement(option, baseElementId);
@@ -181,15 +325,20 @@ public class ElementsService {
         BaseElement updatedElement = updateBaseElement(existingBaseElement, baseRequest);
         List<PassengerDetails> passengerDetailsList = passengersService.updateAllPassengersInElement(request.getBaseElementRequest().getPassengerIds(), existingBaseElement);
 
-        return accommodationService.updateAccommodationElements(request, updatedElement, passengerDetailsList);
+        List<AccommodationElementDetails> elementDetails = accommodationService.updateAccommodationElements(request, updatedElement, passengerDetailsList);
+        recordElementUpsert(option, baseElementId);
+        return elementDetails;
     }
 
+    @Transactional
     public void updateElementOrder(Integer order, UUID baseElementId, ElementType elType, Optional<AccommodationType> accType) {
         switch (elType) {
             case ACTIVITY: activityService.updateElementOrder(order, baseElementId); break;
             case TRANSPORT: transportService.updateElementOrder(order, baseElementId); break;
             case ACCOMMODATION: accommodationService.updateElementOrder(order, baseElementId, accType); break;
         }
+        baseElementRepository.findTripIdByBaseId(baseElementId)
+                .ifPresent(tripId -> tripChangeRecorder.recordUpsert(tripId, TripEntityType.ELEMENT, baseElementId));
     }
 
     @Transactional
@@ -200,6 +349,7 @@ public class ElementsService {
         try {
             passengersService.deleteByElement(baseElement);
             baseElementRepository.delete(baseElement);
+            tripChangeRecorder.recordDelete(option.getSection().getTrip().getTripId(), TripEntityType.ELEMENT, baseElementId);
             log.info("Successfully deleted element with id {}", baseElementId);
         } catch (Exception e) {
             log.error("Failed to delete element with id {}", baseElementId);
@@ -207,29 +357,44 @@ public class ElementsService {
         }
     }
 
+    // element details need the base row and the type row, so these stay entities, but read-only ones without snapshots
+    @Transactional(readOnly = true)
     public List<BaseElementDetails> getElementsByIds(UUID optionId) {
         List<BaseElement> baseElements = baseElementRepository.findByOptionId(optionId);
 
-        return baseElements.stream()
-                .flatMap(baseElement -> {
-                    List<PassengerDetails> passengerDetailsList = passengersService.getAllPassengersInElement(baseElement);
-                    switch (baseElement.getElementType()) {
-                        case ACTIVITY -> {
-                            return Stream.of(activityService.getElementDetailsByID(baseElement, passengerDetailsList));
-                        }
-                        case TRANSPORT -> {
-                            return Stream.of(transportService.getTransportElementDetails(baseElement, passengerDetailsList));
-                        }
-                        case ACCOMMODATION -> {
-                            return accommodationService.getAccommodationDetailsPair(baseElement, passengerDetailsList).stream();
-                        }
-                        default -> throw new ElementDoesNotExist("Could not find base element");
-                    }
-                })
-                .sorted(Comparator.comparing(BaseElementDetails::getOrder))
-                .collect(Collectors.toList());
+        return getElementsDetails(baseElements);
     }
 
+    // one query per element type present, regardless of how many elements there are
+    public List<BaseElementDetails> getElementsDetails(List<BaseElement> baseElements) {
+        if(baseElements.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<UUID, List<PassengerDetails>> passengersByElement = passengersService.getPassengersForElements(baseElements);
+
+        Map<ElementType, List<UUID>> idsByType = baseElements.stream()
+                .collect(Collectors.groupingBy(
+                        BaseElement::getElementType,
+                        () -> new EnumMap<>(ElementType.class),
+                        Collectors.mapping(BaseElement::getBaseElementId, Collectors.toList())
+                ));
+
+        List<BaseElementDetails> elementDetails = new ArrayList<>();
+
+        idsByType.forEach((elementType, baseElementIds) -> {
+            switch (elementType) {
+                case ACTIVITY -> elementDetails.addAll(activityService.getElementDetailsByIDs(baseElementIds, passengersByElement));
+                case TRANSPORT -> elementDetails.addAll(transportService.getTransportElementDetails(baseElementIds, passengersByElement));
+                case ACCOMMODATION -> elementDetails.addAll(accommodationService.getAccommodationDetailsByBaseIds(baseElementIds, passengersByElement));
+            }
+        });
+
+        elementDetails.sort(Comparator.comparing(BaseElementDetails::getRank));
+        return elementDetails;
+    }
+
+    @Transactional
     public void moveElementToDifferentOption(UUID baseElementId, Option currentOption, Option newOption, ElementType elementType, Optional<AccommodationType> accommodationType) {
         BaseElement baseElement = getBaseElement(currentOption, baseElementId);
 
@@ -245,6 +410,12 @@ public class ElementsService {
 
         try {
             baseElementRepository.save(baseElement);
+
+            UUID currentTripId = currentOption.getSection().getTrip().getTripId();
+            if(!currentTripId.equals(newOption.getSection().getTrip().getTripId())) {
+                tripChangeRecorder.recordDelete(currentTripId, TripEntityType.ELEMENT, baseElementId);
+            }
+            recordElementUpsert(newOption, baseElementId);
         } catch (Exception e) {
             log.error("Failed to update element with id {}", baseElementId);
             throw new DbFailure(e.getMessage());
@@ -259,6 +430,10 @@ public class ElementsService {
                 });
     }
 
+    private void recordElementUpsert(Option option, UUID baseElementId) {
+        tripChangeRecorder.recordUpsert(option.getSection().getTrip().getTripId(), TripEntityType.ELEMENT, baseElementId);
+    }
+
     private BaseElement updateBaseElement(BaseElement baseElement, BaseElementRequest request) {
         if (request.getLink() != null && !request.getLink().isEmpty()) {
             if(request.getLink().isBlank()) {
@@ -305,13 +480,7 @@ public class ElementsService {
         if(passengerIds == null || passengerIds.isEmpty()) {
             return Collections.emptyList();
         }
-
-        List<PassengerDetails> passengerDetails = new ArrayList<>();
-        for(UUID passengerId : passengerIds) {
-            passengersService.assignPassengerToElement(passengerId, baseElement);
-            passengerDetails.add(passengersService.getPassengerDetails(passengerId));
-        }
-        return passengerDetails;
+        return passengersService.assignPassengersToElement(passengerIds, baseElement);
     }
 
     private BaseElement saveNewBaseElement(Option option, ElementType elementType, BaseElementRequest baseRequest) {
@@ -326,6 +495,33 @@ public class ElementsService {
         }
     }
 
+    private static void validateTransportRequest(TransportElementRequest request) {
+        if(request.getBaseElementRequest() == null
+                || request.getOrder() == null
+                || request.getBaseElementRequest().getElementType() != ElementType.TRANSPORT) {
+            throw new InvalidElementRequest("Invalid request");
+        }
+    }
+
+    private static void validateActivityRequest(ActivityElementRequest request) {
+        if(request.getBaseElementRequest() == null
+                || request.getOrder() == null
+                || request.getBaseElementRequest().getElementType() != ElementType.ACTIVITY) {
+            throw new InvalidElementRequest("Invalid request");
+        }
+    }
+
+    private static void validateAccommodationRequest(AccommodationElementRequest request) {
+        if(request.getBaseElementRequest() == null
+                || request.getCheckIn() == null
+                || request.getCheckOut() == null
+                || request.getCheckIn().getOrder() == null
+                || request.getCheckOut().getOrder() == null
+                || request.getBaseElementRequest().getElementType() != ElementType.ACCOMMODATION) {
+            throw new InvalidElementRequest("Invalid request");
+        }
+    }
+
     private static BaseElement getNewBaseElement(Option option, ElementType type, BaseElementRequest baseRequest) {
         UUID baseElementId = UUID.randomUUID();
         LocalDateTime dateTime = LocalDateTime.now();
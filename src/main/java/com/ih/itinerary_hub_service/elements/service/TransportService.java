@@ -4,6 +4,7 @@ import com.ih.itinerary_hub_service.elements.exceptions.ElementDoesNotExist;
 import com.ih.itinerary_hub_service.elements.model.TransportElementDetails;
 import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
 import com.ih.itinerary_hub_service.elements.persistence.entity.TransportElement;
+import com.ih.itinerary_hub_service.elements.persistence.repository.ElementOrderRepository;
 import com.ih.itinerary_hub_service.elements.persistence.repository.TransportRepository;
 import com.ih.itinerary_hub_service.elements.requests.TransportElementRequest;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
@@ -11,18 +12,25 @@ import com.ih.itinerary_hub_service.passengers.responses.PassengerDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class TransportService {
 
     private final TransportRepository transportRepository;
+    private final ElementOrderRepository elementOrderRepository;
 
 
-    public TransportService(TransportRepository transportRepository) {
+    public TransportService(TransportRepository transportRepository, ElementOrderRepository elementOrderRepository) {
         this.transportRepository = transportRepository;
+        this.elementOrderRepository = elementOrderRepository;
     }
 
     public TransportElementDetails createElement(TransportElementRequest request, BaseElement baseElement, List<PassengerDetails> passengerDetailsList) {
@@ -49,12 +57,42 @@ public class TransportService {
         }
     }
 
-    public void updateElementOrderByElementId(Integer order, UUID elementId) {
-        TransportElement transportElement = getElementByElementId(elementId);
-        transportElement.setElementOrder(order);
+    // one batched insert for the lot, the base elements are already saved
+    public List<TransportElementDetails> createElements(Map<BaseElement, TransportElementRequest> requestsByElement, Map<UUID, List<PassengerDetails>> passengersByElement) {
+        Map<BaseElement, TransportElement> elements = new LinkedHashMap<>();
+        requestsByElement.forEach((baseElement, request) -> elements.put(baseElement, new TransportElement(
+                UUID.randomUUID(),
+                baseElement,
+                request.getOriginPlace(),
+                request.getOriginDateTime(),
+                request.getDestinationPlace(),
+                request.getDestinationDateTime(),
+                request.getProvider(),
+                request.getOrder()
+        )));
 
         try {
-            transportRepository.save(transportElement);
+            transportRepository.saveAll(elements.values());
+            log.info("Created {} transport elements", elements.size());
+        } catch (Exception e) {
+            log.error("Failed to save transport elements, {}", e.getMessage());
+            throw new DbFailure(e.getMessage());
+        }
+
+        return elements.entrySet().stream()
+                .map(entry -> mapElementDetails(entry.getKey(), entry.getValue(), passengersByElement.getOrDefault(entry.getKey().getBaseElementId(), Collections.emptyList())))
+                .toList();
+    }
+
+    public Map<UUID, BaseElement> getBaseElementsByElementIds(Collection<UUID> elementIds) {
+        return transportRepository.getTransportElementsWithOwnershipByIds(elementIds).stream()
+                .collect(Collectors.toMap(TransportElement::getElementId, TransportElement::getBaseElement));
+    }
+
+    public void updateElementOrders(Map<UUID, Integer> ordersByElementId) {
+        try {
+            int updated = elementOrderRepository.updateTransportOrders(ordersByElementId);
+            log.info("Updated order of {} transport elements", updated);
         } catch (Exception e) {
             log.error("Failed to update transport element order, {}", e.getMessage());
             throw new DbFailure(e.getMessage());
@@ -135,16 +173,8 @@ public class TransportService {
                 });
     }
 
-    public TransportElement getElementByElementId(UUID elementId) {
-        return transportRepository.findById(elementId)
-                .orElseThrow(() -> {
-                    log.error("Couldn't find an element with element ID: {}", elementId);
-                    return new ElementDoesNotExist("Couldn't find an element with element ID: " + elementId);
-                });
-    }
-
     public TransportElementDetails mapElementDetails(BaseElement baseElement, TransportElement element, List<PassengerDetails> passengerDetailsList) {
-        TransportElementDetails.Builder baseElementBuild = getBaseElementBuild(baseElement, element.getElementOrder(), passengerDetailsList);
+        TransportElementDetails.Builder baseElementBuild = getBaseElementBuild(baseElement, element.getElementOrder(), element.getRankKey(), passengerDetailsList);
 
         return baseElementBuild
                 .elementID(element.getElementId())
@@ -162,7 +192,23 @@ public class TransportService {
         return mapElementDetails(baseElement, element, passengerDetailsList);
     }
 
-    private static TransportElementDetails.Builder getBaseElementBuild(BaseElement baseElement, Integer order, List<PassengerDetails> passengerDetailsList) {
+    public List<TransportElementDetails> getTransportElementDetails(Collection<UUID> baseElementIds, Map<UUID, List<PassengerDetails>> passengersByElement) {
+        List<TransportElement> elements = transportRepository.getTransportElementsByBaseIds(baseElementIds);
+
+        if(elements.size() != baseElementIds.size()) {
+            log.error("Couldn't find transport elements for all base IDs: {}", baseElementIds);
+            throw new ElementDoesNotExist("Couldn't find transport elements for all base IDs");
+        }
+
+        return elements.stream()
+                .map(element -> {
+                    BaseElement baseElement = element.getBaseElement();
+                    return mapElementDetails(baseElement, element, passengersByElement.getOrDefault(baseElement.getBaseElementId(), Collections.emptyList()));
+                })
+                .toList();
+    }
+
+    private static TransportElementDetails.Builder getBaseElementBuild(BaseElement baseElement, Integer order, String rank, List<PassengerDetails> passengerDetailsList) {
         return new TransportElementDetails.Builder()
                 .baseElementID(baseElement.getBaseElementId())
                 .optionID(baseElement.getOption().getOptionId())
@@ -175,6 +221,7 @@ public class TransportService {
                 .status(baseElement.getStatus())
                 .status(baseElement.getStatus())
                 .passengerList(passengerDetailsList)
-                .order(order);
+                .order(order)
+                .rank(rank);
     }
 }
@@ -0,0 +1,35 @@
+package com.ih.itinerary_hub_service.jobs.controller;
+
+import com.ih.itinerary_hub_service.jobs.responses.JobDetails;
+import com.ih.itinerary_hub_service.jobs.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(value = "/v1")
+@Slf4j
+public class JobsController {
+
+    private final JobService jobService;
+
+    @Autowired
+    public JobsController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "${jobs.getJob.summary}")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job retrieved"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public JobDetails getJob(@RequestAttribute("userId") UUID userId, @PathVariable UUID jobId) {
+        return jobService.getJob(userId, jobId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ih.itinerary_hub_service.jobs.exceptions;
+
+public class JobNotFound extends RuntimeException {
+    public JobNotFound(String message) {
+        super(message);
+    }
+}
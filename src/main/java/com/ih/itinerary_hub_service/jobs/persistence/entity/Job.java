@@ -0,0 +1,93 @@
+package com.ih.itinerary_hub_service.jobs.persistence.entity;
+
+import com.ih.itinerary_hub_service.jobs.types.JobStatus;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+import com.ih.itinerary_hub_service.persistence.AssignedIdEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A unit of background work. A worker owns a RUNNING job until locked_until,
+ * after that it is due again and another worker can take it over.
+ * */
+@Entity
+@Table(
+        name = "jobs",
+        schema = "dev",
+        indexes = {
+                @Index(name = "idx_jobs_due", columnList = "status, run_at"),
+                @Index(name = "idx_jobs_user_id", columnList = "user_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Job extends AssignedIdEntity {
+
+    @Id
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private JobStatus status;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    // what the job works on, e.g. the trip being cloned
+    @Column(name = "subject_id")
+    private UUID subjectId;
+
+    // input that isn't an id, e.g. the token to revoke; cleared once the job finishes
+    @Column(name = "payload", length = 2048)
+    private String payload;
+
+    // what the job produced, e.g. the new trip
+    @Column(name = "result_id")
+    private UUID resultId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "run_at", nullable = false)
+    private LocalDateTime runAt;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public Job(JobType type, UUID userId, UUID subjectId, String payload, int maxAttempts, LocalDateTime createdAt) {
+        this(UUID.randomUUID(), type, JobStatus.QUEUED, userId, subjectId, payload, null, 0, maxAttempts, createdAt, null, null, null, createdAt, null);
+    }
+
+    @Override
+    public UUID getId() {
+        return jobId;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ih.itinerary_hub_service.jobs.persistence.repository;
+
+import com.ih.itinerary_hub_service.jobs.persistence.entity.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Locks due jobs with FOR UPDATE SKIP LOCKED: rows another transaction holds are passed over instead of waited on,
+ * so any number of workers can poll at once and each row goes to one of them.
+ * Due means queued with run_at reached, or running with a lock its worker let lapse.
+ * Has to run inside the caller's transaction, the rows stay locked until it commits.
+ * */
+@Repository
+public class JobClaimRepository {
+
+    private static final String DUE_JOBS = "SELECT j.* FROM dev.jobs j WHERE (j.status = 'QUEUED' AND j.run_at <= :now) OR (j.status = 'RUNNING' AND j.locked_until < :now)";
+
+    private final EntityManager entityManager;
+    private final String lockDueJobs;
+
+    public JobClaimRepository(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        // H2 applies LIMIT before skipping locked rows when the query is sorted, so it would hand out nothing while the first rows are held
+        this.lockDueJobs = dialect instanceof H2Dialect
+                ? DUE_JOBS + " LIMIT :limit FOR UPDATE SKIP LOCKED"
+                : DUE_JOBS + " ORDER BY j.run_at LIMIT :limit FOR UPDATE SKIP LOCKED";
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Job> lockDueJobs(LocalDateTime now, int limit) {
+        return entityManager.createNativeQuery(lockDueJobs, Job.class)
+                .setParameter("now", now)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+}
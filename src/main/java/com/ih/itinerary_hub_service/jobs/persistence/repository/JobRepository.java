@@ -0,0 +1,44 @@
+package com.ih.itinerary_hub_service.jobs.persistence.repository;
+
+import com.ih.itinerary_hub_service.jobs.persistence.entity.Job;
+import com.ih.itinerary_hub_service.jobs.types.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, UUID> {
+
+    Optional<Job> findByJobIdAndUserId(UUID jobId, UUID userId);
+
+    boolean existsByUserIdAndCompletedAtIsNull(UUID userId);
+
+    // the lock and attempt act as a fencing token, a worker that lost the job to another one changes nothing
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = :status, j.payload = NULL, j.resultId = :resultId, j.lastError = :lastError, j.completedAt = :now, j.lockedBy = NULL, j.lockedUntil = NULL WHERE j.jobId = :jobId AND j.lockedBy = :lockedBy AND j.attempts = :attempt")
+    int finish(
+            @Param("jobId") UUID jobId,
+            @Param("lockedBy") String lockedBy,
+            @Param("attempt") int attempt,
+            @Param("status") JobStatus status,
+            @Param("resultId") UUID resultId,
+            @Param("lastError") String lastError,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = com.ih.itinerary_hub_service.jobs.types.JobStatus.QUEUED, j.runAt = :runAt, j.lastError = :lastError, j.lockedBy = NULL, j.lockedUntil = NULL WHERE j.jobId = :jobId AND j.lockedBy = :lockedBy AND j.attempts = :attempt")
+    int reschedule(
+            @Param("jobId") UUID jobId,
+            @Param("lockedBy") String lockedBy,
+            @Param("attempt") int attempt,
+            @Param("runAt") LocalDateTime runAt,
+            @Param("lastError") String lastError
+    );
+}
@@ -0,0 +1,20 @@
+package com.ih.itinerary_hub_service.jobs.responses;
+
+import com.ih.itinerary_hub_service.jobs.types.JobStatus;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record JobDetails(
+        UUID jobId,
+        JobType type,
+        JobStatus status,
+        int attempts,
+        int maxAttempts,
+        UUID resultId,
+        String lastError,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {
+}
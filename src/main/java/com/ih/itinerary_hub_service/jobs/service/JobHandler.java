@@ -0,0 +1,19 @@
+package com.ih.itinerary_hub_service.jobs.service;
+
+import com.ih.itinerary_hub_service.jobs.persistence.entity.Job;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+
+import java.util.UUID;
+
+/**
+ * Runs one type of job. A job can run more than once (a worker can die after doing the work
+ * but before recording it), so handlers must be safe to repeat.
+ * Throwing schedules a retry until the job runs out of attempts.
+ * */
+public interface JobHandler {
+
+    JobType type();
+
+    // returns the id of what the job produced, if anything
+    UUID handle(Job job);
+}
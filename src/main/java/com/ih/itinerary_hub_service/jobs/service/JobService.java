@@ -0,0 +1,153 @@
+package com.ih.itinerary_hub_service.jobs.service;
+
+import com.ih.itinerary_hub_service.exceptions.DbFailure;
+import com.ih.itinerary_hub_service.jobs.exceptions.JobNotFound;
+import com.ih.itinerary_hub_service.jobs.persistence.entity.Job;
+import com.ih.itinerary_hub_service.jobs.persistence.repository.JobClaimRepository;
+import com.ih.itinerary_hub_service.jobs.persistence.repository.JobRepository;
+import com.ih.itinerary_hub_service.jobs.responses.JobDetails;
+import com.ih.itinerary_hub_service.jobs.types.JobStatus;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+import com.ih.itinerary_hub_service.properties.JobProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Jobs live in the jobs table, so they survive restarts and are shared by every instance.
+ * Claiming locks due rows and marks them RUNNING in the same transaction, so two instances polling at once
+ * never get the same job. Retries back off exponentially until the job runs out of attempts.
+ * */
+@Service
+@Slf4j
+public class JobService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JobRepository jobRepository;
+    private final JobClaimRepository jobClaimRepository;
+    private final JobProperties jobProperties;
+
+    public JobService(JobRepository jobRepository, JobClaimRepository jobClaimRepository, JobProperties jobProperties) {
+        this.jobRepository = jobRepository;
+        this.jobClaimRepository = jobClaimRepository;
+        this.jobProperties = jobProperties;
+    }
+
+    // joins the caller's transaction, the job is only visible to workers once the work that queued it commits
+    @Transactional
+    public JobDetails enqueue(JobType type, UUID userId, UUID subjectId) {
+        return enqueue(type, userId, subjectId, null);
+    }
+
+    @Transactional
+    public JobDetails enqueue(JobType type, UUID userId, UUID subjectId, String payload) {
+        Job job = new Job(type, userId, subjectId, payload, jobProperties.getMaxAttempts(), LocalDateTime.now());
+
+        try {
+            jobRepository.save(job);
+            log.info("Job {} queued: {}", job.getJobId(), type);
+        } catch (Exception e) {
+            log.error("Failed to queue the job: {}", e.getMessage());
+            throw new DbFailure("Failed to queue the job");
+        }
+
+        return mapJobDetails(job);
+    }
+
+    @Transactional(readOnly = true)
+    public JobDetails getJob(UUID userId, UUID jobId) {
+        return jobRepository.findByJobIdAndUserId(jobId, userId)
+                .map(JobService::mapJobDetails)
+                .orElseThrow(() -> {
+                    log.error("Job not found with ID: {} and userId: {}", jobId, userId);
+                    return new JobNotFound("Job not found");
+                });
+    }
+
+    @Transactional
+    public List<Job> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> claimed = new ArrayList<>();
+
+        for (Job job : jobClaimRepository.lockDueJobs(now, limit)) {
+            // the last attempt's worker never reported back
+            if(job.getAttempts() >= job.getMaxAttempts()) {
+                job.setLockedBy(null);
+                job.setLockedUntil(null);
+                job.setStatus(JobStatus.FAILED);
+                job.setCompletedAt(now);
+                job.setLastError("Timed out");
+                log.warn("Job {} failed, timed out after {} attempts", job.getJobId(), job.getAttempts());
+                continue;
+            }
+
+            job.setStatus(JobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedBy(workerId);
+            job.setLockedUntil(now.plus(jobProperties.getVisibilityTimeout()));
+            claimed.add(job);
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void complete(Job job, String workerId, UUID resultId) {
+        int updated = jobRepository.finish(job.getJobId(), workerId, job.getAttempts(), JobStatus.SUCCEEDED, resultId, null, LocalDateTime.now());
+
+        if(updated == 0) {
+            log.warn("Job {} finished after its lock lapsed, the result is not recorded", job.getJobId());
+        }
+    }
+
+    @Transactional
+    public void fail(Job job, String workerId, Exception cause) {
+        String error = errorMessage(cause);
+
+        if(job.getAttempts() >= job.getMaxAttempts()) {
+            jobRepository.finish(job.getJobId(), workerId, job.getAttempts(), JobStatus.FAILED, null, error, LocalDateTime.now());
+            log.error("Job {} failed after {} attempts: {}", job.getJobId(), job.getAttempts(), error);
+            return;
+        }
+
+        LocalDateTime runAt = LocalDateTime.now().plus(backoff(job.getAttempts()));
+        jobRepository.reschedule(job.getJobId(), workerId, job.getAttempts(), runAt, error);
+        log.warn("Job {} attempt {} failed, retrying at {}: {}", job.getJobId(), job.getAttempts(), runAt, error);
+    }
+
+    public static JobDetails mapJobDetails(Job job) {
+        return new JobDetails(
+                job.getJobId(),
+                job.getType(),
+                job.getStatus(),
+                job.getAttempts(),
+                job.getMaxAttempts(),
+                job.getResultId(),
+                job.getLastError(),
+                job.getCreatedAt(),
+                job.getCompletedAt()
+        );
+    }
+
+    // somewhere between half and all of the exponential delay, so jobs that failed together don't all retry together
+    private Duration backoff(int attempts) {
+        Duration max = jobProperties.getBackoffMax();
+        Duration delay = jobProperties.getBackoffBase().multipliedBy(1L << Math.min(attempts - 1, 20));
+        Duration capped = delay.compareTo(max) > 0 ? max : delay;
+
+        long halfMillis = capped.toMillis() / 2;
+        return Duration.ofMillis(halfMillis + ThreadLocalRandom.current().nextLong(halfMillis + 1));
+    }
+
+    private static String errorMessage(Exception cause) {
+        String message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,100 @@
+package com.ih.itinerary_hub_service.jobs.service;
+
+import com.ih.itinerary_hub_service.jobs.persistence.entity.Job;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+import com.ih.itinerary_hub_service.properties.JobProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// polls for due jobs and runs them on a fixed pool, every instance runs one of these
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "jobs", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JobWorker {
+
+    private final JobService jobService;
+    private final JobProperties jobProperties;
+    private final Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+    private final ExecutorService executor;
+    private final AtomicInteger running = new AtomicInteger();
+    private final String workerId = UUID.randomUUID().toString();
+
+    public JobWorker(JobService jobService, JobProperties jobProperties, List<JobHandler> jobHandlers) {
+        this.jobService = jobService;
+        this.jobProperties = jobProperties;
+        this.executor = Executors.newFixedThreadPool(jobProperties.getWorkers(), new CustomizableThreadFactory("job-worker-"));
+        jobHandlers.forEach(handler -> handlers.put(handler.type(), handler));
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.poll-interval:PT1S}", initialDelayString = "${jobs.poll-interval:PT1S}")
+    public void poll() {
+        int idle = jobProperties.getWorkers() - running.get();
+        if(idle <= 0) {
+            return;
+        }
+
+        List<Job> jobs;
+        try {
+            jobs = jobService.claim(workerId, idle);
+        } catch (Exception e) {
+            log.error("Failed to claim jobs: {}", e.getMessage());
+            return;
+        }
+
+        for (Job job : jobs) {
+            running.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    public void run(Job job) {
+        try {
+            JobHandler handler = handlers.get(job.getType());
+            if(handler == null) {
+                throw new IllegalStateException("No handler for " + job.getType());
+            }
+
+            UUID resultId = handler.handle(job);
+            jobService.complete(job, workerId, resultId);
+        } catch (Exception e) {
+            try {
+                jobService.fail(job, workerId, e);
+            } catch (Exception failure) {
+                // the lock lapses and the job is picked up again
+                log.error("Failed to record the failure of job {}: {}", job.getJobId(), failure.getMessage());
+            }
+        }
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if(!executor.awaitTermination(jobProperties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} jobs still running at shutdown", running.get());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.ih.itinerary_hub_service.jobs.types;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.ih.itinerary_hub_service.jobs.types;
+
+public enum JobType {
+    TRIP_CLONE,
+    GOOGLE_TOKEN_REVOKE
+}
@@ -4,6 +4,8 @@ import com.ih.itinerary_hub_service.options.requests.CreateOptionRequest;
 import com.ih.itinerary_hub_service.options.requests.UpdateOptionRequest;
 import com.ih.itinerary_hub_service.options.responses.OptionDetails;
 import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+import com.ih.itinerary_hub_service.ordering.responses.RankDetails;
 import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
 import com.ih.itinerary_hub_service.sections.service.SectionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -45,6 +47,17 @@ public class OptionsController {
         return optionsService.createOption(existingSection, createOptionRequest);
     }
 
+    @PostMapping("/sections/{sectionId}/options/{optionId}:clone")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "${options.cloneOption.summary}")
+    @ApiResponses(value = { @ApiResponse(responseCode = "201", description = "Option cloned")})
+    public OptionDetails cloneOption(
+            @PathVariable UUID sectionId,
+            @PathVariable UUID optionId
+    ) {
+        return optionsService.cloneOption(optionId, sectionId);
+    }
+
     @GetMapping("/sections/{sectionId}/options/{optionId}")
     @Operation(summary = "${options.getOptionById.summary}")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Option retrieved")})
@@ -87,6 +100,17 @@ public class OptionsController {
         optionsService.updateOption(optionId, sectionId, updateOptionRequest);
     }
 
+    @PutMapping("/sections/{sectionId}/options/{optionId}/position")
+    @Operation(summary = "${options.moveOption.summary}")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Option moved")})
+    public RankDetails moveOption(
+            @PathVariable UUID sectionId,
+            @PathVariable UUID optionId,
+            @RequestBody MoveBetweenRequest request
+    ) {
+        return optionsService.moveOption(optionId, sectionId, request);
+    }
+
     @DeleteMapping("/sections/{sectionId}/options/{optionId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "${options.deleteOption.summary}")
@@ -1,5 +1,6 @@
 package com.ih.itinerary_hub_service.options.persistence.entity;
 
+import com.ih.itinerary_hub_service.ordering.RankKeys;
 import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -11,6 +12,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "options", schema = "dev")
+@NamedEntityGraph(name = "Option.section", attributeNodes = @NamedAttributeNode("section"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,7 +23,7 @@ public class Option {
     @Column(name = "option_id", nullable = false)
     private UUID optionId;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "section_id", nullable = false)
     private Section section;
 
@@ -30,4 +32,18 @@ public class Option {
 
     @Column(name = "option_order", nullable = false)
     private Integer optionOrder;
+
+    // see RankKeys, null only for rows written before ranks existed
+    @Column(name = "rank_key", length = 64)
+    private String rankKey;
+
+    public Option(UUID optionId, Section section, String optionName, Integer optionOrder) {
+        this(optionId, section, optionName, optionOrder, RankKeys.fromOrder(optionOrder));
+    }
+
+    // an integer order from the client replaces the rank, so both ways of ordering stay consistent
+    public void setOptionOrder(Integer optionOrder) {
+        this.optionOrder = optionOrder;
+        this.rankKey = RankKeys.fromOrder(optionOrder);
+    }
 }
@@ -1,26 +1,46 @@
 package com.ih.itinerary_hub_service.options.persistence.repository;
 
 import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.options.responses.OptionDetails;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+// lookups skip soft-deleted trips, so nothing is read or written under a trip the purger is working through
 @Repository
 public interface OptionsRepository extends JpaRepository<Option, UUID> {
 
-    @Query("SELECT t FROM Option t WHERE t.optionId = :optionId AND t.section.sectionId = :sectionId")
+    @EntityGraph("Option.section")
+    @Query("SELECT t FROM Option t WHERE t.optionId = :optionId AND t.section.sectionId = :sectionId AND t.section.trip.deletedAt IS NULL")
     Optional<Option> findByOptionIdAndSectionId(@Param("optionId") UUID optionId, @Param("sectionId") UUID sectionId);
 
-    @Query("SELECT t FROM Option t WHERE t.section.sectionId = :sectionId")
+    @Query("SELECT t FROM Option t WHERE t.section.sectionId = :sectionId AND t.section.trip.deletedAt IS NULL")
     List<Option> findBySectionId(@Param("sectionId") UUID sectionsId);
 
+    @Query("SELECT new com.ih.itinerary_hub_service.options.responses.OptionDetails(t.optionId, t.optionName, t.optionOrder, t.rankKey) FROM Option t WHERE t.section.sectionId = :sectionId AND t.section.trip.deletedAt IS NULL")
+    List<OptionDetails> findDetailsBySectionId(@Param("sectionId") UUID sectionId);
+
+    @Query("SELECT t.section.trip.tripId FROM Option t WHERE t.optionId = :optionId AND t.section.trip.deletedAt IS NULL")
+    Optional<UUID> findTripIdByOptionId(@Param("optionId") UUID optionId);
+
+    @Query("SELECT s.trip.tripId FROM Section s WHERE s.sectionId = :sectionId AND s.trip.deletedAt IS NULL")
+    Optional<UUID> findTripIdBySectionId(@Param("sectionId") UUID sectionId);
+
+    @Query("SELECT t FROM Option t WHERE t.section.sectionId IN :sectionIds AND t.section.trip.deletedAt IS NULL")
+    List<Option> findBySectionIds(@Param("sectionIds") Collection<UUID> sectionIds);
+
     @Modifying
-    @Query("UPDATE Option o SET o.optionOrder = :newOrder WHERE o.optionId = :optionId AND o.section.sectionId = :sectionId")
-    void updateOrder(@Param("optionId") UUID optionId, @Param("sectionId") UUID sectionId, @Param("newOrder") int newOrder);
+    @Query("UPDATE Option o SET o.optionOrder = :newOrder, o.rankKey = :rankKey WHERE o.optionId = :optionId AND o.section.sectionId = :sectionId")
+    void updateOrder(@Param("optionId") UUID optionId, @Param("sectionId") UUID sectionId, @Param("newOrder") int newOrder, @Param("rankKey") String rankKey);
+
+    @Query("SELECT DISTINCT t.section.sectionId FROM Option t WHERE (t.rankKey IS NULL OR LENGTH(t.rankKey) > :maxLength) AND t.section.trip.deletedAt IS NULL")
+    List<UUID> findSectionIdsWithUncompactedRanks(@Param("maxLength") int maxLength);
 }
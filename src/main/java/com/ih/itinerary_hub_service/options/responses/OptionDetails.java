@@ -1,10 +1,20 @@
 package com.ih.itinerary_hub_service.options.responses;
 
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+
 import java.util.UUID;
 
 public record OptionDetails(
         UUID optionId,
         String optionName,
-        Integer order
+        Integer order,
+        String rank
 ) {
+    public OptionDetails {
+        rank = RankKeys.effective(rank, order);
+    }
+
+    public OptionDetails(UUID optionId, String optionName, Integer order) {
+        this(optionId, optionName, order, null);
+    }
 }
@@ -1,8 +1,5 @@
 package com.ih.itinerary_hub_service.options.service;
 
-import com.ih.itinerary_hub_service.dto.OptionDTO;
-import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
-import com.ih.itinerary_hub_service.elements.service.ElementsService;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
 import com.ih.itinerary_hub_service.options.exceptions.CreateOptionInvalidRequest;
 import com.ih.itinerary_hub_service.options.exceptions.OptionNotFound;
@@ -11,27 +8,42 @@ import com.ih.itinerary_hub_service.options.persistence.repository.OptionsReposi
 import com.ih.itinerary_hub_service.options.requests.CreateOptionRequest;
 import com.ih.itinerary_hub_service.options.requests.UpdateOptionRequest;
 import com.ih.itinerary_hub_service.options.responses.OptionDetails;
+import com.ih.itinerary_hub_service.ordering.Moves;
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+import com.ih.itinerary_hub_service.persistence.CloneRepository;
+import com.ih.itinerary_hub_service.ordering.responses.RankDetails;
 import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
-import jakarta.transaction.Transactional;
+import com.ih.itinerary_hub_service.trips.model.TripVersion;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class OptionsService {
 
+    private static final String COPY_SUFFIX = " (copy)";
+    private static final int MAX_OPTION_NAME_LENGTH = 50;
+
     private final OptionsRepository optionsRepository;
-    private final ElementsService elementsService;
+    private final TripChangeRepository tripChangeRepository;
+    private final TripChangeRecorder tripChangeRecorder;
+    private final CloneRepository cloneRepository;
 
-    public OptionsService(OptionsRepository optionsRepository, ElementsService elementsService) {
+    public OptionsService(OptionsRepository optionsRepository, TripChangeRepository tripChangeRepository, TripChangeRecorder tripChangeRecorder, CloneRepository cloneRepository) {
         this.optionsRepository = optionsRepository;
-        this.elementsService = elementsService;
+        this.tripChangeRepository = tripChangeRepository;
+        this.tripChangeRecorder = tripChangeRecorder;
+        this.cloneRepository = cloneRepository;
     }
 
     public void initializeTripOption(Section existingSection) {
@@ -39,6 +51,7 @@ public class OptionsService {
         createOption(existingSection, request);
     }
 
+    @Transactional
     public OptionDetails createOption(Section existingSection, CreateOptionRequest request) {
         if(request.order() == null || request.order() < 0) {
             throw new CreateOptionInvalidRequest("Order cannot be null");
@@ -58,6 +71,7 @@ public class OptionsService {
 
         try {
             optionsRepository.save(newOption);
+            tripChangeRecorder.recordUpsert(existingSection.getTrip().getTripId(), TripEntityType.OPTION, optionId);
             log.info("Option created: {}", optionId);
             return mapOptionDetails(newOption);
         } catch (Exception e) {
@@ -72,6 +86,7 @@ public class OptionsService {
         return mapOptionDetails(existingOption);
     }
 
+    @Transactional
     public void updateOption(UUID optionId, UUID sectionId, UpdateOptionRequest request) {
         Option existingOption = getOption(optionId, sectionId);
 
@@ -83,6 +98,7 @@ public class OptionsService {
 
         try {
             optionsRepository.save(existingOption);
+            tripChangeRecorder.recordUpsert(existingOption.getSection().getTrip().getTripId(), TripEntityType.OPTION, optionId);
             log.info("Option updated: {}", existingOption.getOptionId());
         } catch (Exception e) {
             log.error("Failed to update an option: {}", e.getMessage());
@@ -90,11 +106,73 @@ public class OptionsService {
         }
     }
 
+    // only the moved option is written, its siblings keep their ranks
+    @Transactional
+    public RankDetails moveOption(UUID optionId, UUID sectionId, MoveBetweenRequest request) {
+        Moves.validate(optionId, request);
+        optionsRepository.findTripIdBySectionId(sectionId).ifPresent(tripChangeRecorder::lockTrip);
+
+        Option existingOption = getOption(optionId, sectionId);
+        String lower = request.afterId() == null ? null : effectiveRank(getOption(request.afterId(), sectionId));
+        String upper = request.beforeId() == null ? null : effectiveRank(getOption(request.beforeId(), sectionId));
+
+        existingOption.setRankKey(Moves.rankBetween(lower, upper));
+
+        try {
+            optionsRepository.save(existingOption);
+            tripChangeRecorder.recordUpsert(existingOption.getSection().getTrip().getTripId(), TripEntityType.OPTION, optionId);
+            log.info("Option {} moved to rank {}", optionId, existingOption.getRankKey());
+        } catch (Exception e) {
+            log.error("Failed to move an option: {}", e.getMessage());
+            throw new DbFailure("Failed to move an option");
+        }
+
+        return new RankDetails(optionId, existingOption.getRankKey());
+    }
+
+    // the copy goes right after the original, its elements are copied with one statement per table
+    @Transactional
+    public OptionDetails cloneOption(UUID optionId, UUID sectionId) {
+        Option existingOption = getOption(optionId, sectionId);
+        String existingRank = effectiveRank(existingOption);
+
+        String nextRank = optionsRepository.findDetailsBySectionId(sectionId).stream()
+                .map(OptionDetails::rank)
+                .filter(rank -> rank.compareTo(existingRank) > 0)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+
+        UUID newOptionId = UUID.randomUUID();
+        Option newOption = new Option(
+                newOptionId,
+                existingOption.getSection(),
+                copyName(existingOption.getOptionName()),
+                existingOption.getOptionOrder(),
+                Moves.rankBetween(existingRank, nextRank)
+        );
+
+        try {
+            optionsRepository.save(newOption);
+            List<UUID> baseElementIds = cloneRepository.cloneOptionContents(optionId, newOptionId);
+
+            UUID tripId = existingOption.getSection().getTrip().getTripId();
+            tripChangeRecorder.recordUpsert(tripId, TripEntityType.OPTION, newOptionId);
+            tripChangeRecorder.recordUpserts(tripId, TripEntityType.ELEMENT, baseElementIds);
+            log.info("Option {} cloned into {} with {} elements", optionId, newOptionId, baseElementIds.size());
+            return mapOptionDetails(newOption);
+        } catch (Exception e) {
+            log.error("Failed to clone an option: {}", e.getMessage());
+            throw new DbFailure("Failed to clone an option");
+        }
+    }
+
+    @Transactional
     public void deleteOption(UUID optionId, UUID sectionId) {
         Option existingOption = getOption(optionId, sectionId);
 
         try {
             optionsRepository.delete(existingOption);
+            tripChangeRecorder.recordDelete(existingOption.getSection().getTrip().getTripId(), TripEntityType.OPTION, optionId);
             log.info("Option deleted: {}", existingOption.getOptionId());
         } catch (Exception e) {
             log.error("Failed to delete an option: {}", e.getMessage());
@@ -110,42 +188,46 @@ public class OptionsService {
                 });
     }
 
+    // elements are versioned per trip, so an option's tag changes whenever anything in its trip does.
+    // Read from trip_changes, which every instance writes to, so the tag holds whichever instance took the write
+    public Optional<String> getOptionVersionTag(UUID optionId) {
+        return optionsRepository.findTripIdByOptionId(optionId)
+                .map(tripChangeRepository::findCurrentVersion)
+                .map(TripVersion::tag);
+    }
+
     @Transactional
     public void updateOptionOrders(UUID sectionId, List<OptionDetails> updatedOptions) {
         for(OptionDetails optionDetails : updatedOptions) {
-            optionsRepository.updateOrder(optionDetails.optionId(), sectionId, optionDetails.order());
+            optionsRepository.updateOrder(optionDetails.optionId(), sectionId, optionDetails.order(), RankKeys.fromOrder(optionDetails.order()));
         }
+        List<UUID> optionIds = updatedOptions.stream().map(OptionDetails::optionId).toList();
+        optionsRepository.findTripIdBySectionId(sectionId)
+                .ifPresent(tripId -> tripChangeRecorder.recordUpserts(tripId, TripEntityType.OPTION, optionIds));
     }
 
+    @Transactional(readOnly = true)
     public List<OptionDetails> getOptions(UUID sectionId) {
-        return optionsRepository.findBySectionId(sectionId).stream()
-                .map(this::mapOptionDetails)
-                .sorted(Comparator.comparing(OptionDetails::order))
-                .collect(Collectors.toList());
+        return optionsRepository.findDetailsBySectionId(sectionId).stream()
+                .sorted(Comparator.comparing(OptionDetails::rank))
+                .toList();
     }
 
-    public List<OptionDTO> findAllOptionDTOs(UUID sectionId) {
-        List<Option> options = optionsRepository.findBySectionId(sectionId);
-        List<OptionDTO> optionDTOS = new ArrayList<>();
-
-        for (Option option : options) {
-            List<BaseElementDetails> elements = elementsService.getElementsByIds(option.getOptionId());
-
-            optionDTOS.add(new OptionDTO(
-                    mapOptionDetails(option),
-                    elements
-            ));
-        }
-
-        optionDTOS.sort(Comparator.comparing(o -> o.getOptionDetails().order()));
-        return optionDTOS;
+    private static String effectiveRank(Option option) {
+        return RankKeys.effective(option.getRankKey(), option.getOptionOrder());
     }
 
-    private OptionDetails mapOptionDetails(Option option) {
+    public OptionDetails mapOptionDetails(Option option) {
         return new OptionDetails(
                 option.getOptionId(),
                 option.getOptionName(),
-                option.getOptionOrder()
+                option.getOptionOrder(),
+                option.getRankKey()
         );
     }
+
+    private static String copyName(String optionName) {
+        String copy = optionName + COPY_SUFFIX;
+        return copy.length() <= MAX_OPTION_NAME_LENGTH ? copy : optionName.substring(0, MAX_OPTION_NAME_LENGTH - COPY_SUFFIX.length()) + COPY_SUFFIX;
+    }
 }
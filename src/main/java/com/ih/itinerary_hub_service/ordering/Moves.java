@@ -0,0 +1,31 @@
+package com.ih.itinerary_hub_service.ordering;
+
+import com.ih.itinerary_hub_service.ordering.exceptions.InvalidMove;
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+
+import java.util.UUID;
+
+public final class Moves {
+
+    private Moves() {
+    }
+
+    public static void validate(UUID movedId, MoveBetweenRequest request) {
+        if(movedId.equals(request.afterId()) || movedId.equals(request.beforeId())) {
+            throw new InvalidMove("An item cannot be moved next to itself");
+        }
+
+        if(request.afterId() != null && request.afterId().equals(request.beforeId())) {
+            throw new InvalidMove("afterId and beforeId must be different");
+        }
+    }
+
+    // neighbours out of order mean the client moved against a stale view of the list
+    public static String rankBetween(String lower, String upper) {
+        try {
+            return RankKeys.between(lower, upper);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidMove(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ih.itinerary_hub_service.ordering;
+
+/**
+ * Lexicographic rank keys over base 36 digits (0-9, a-z).
+ * Siblings sort by plain string comparison, and a key strictly between any two others
+ * can always be generated, so moving an item only rewrites that item.
+ * Keys made from integer orders are fixed width, so they sort like the integers they came from.
+ * */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int ORDER_WIDTH = 6;
+    // the all-zero key has nothing below it, so order 0 and below sort just above it instead
+    private static final String FIRST_ORDER_KEY = "0".repeat(ORDER_WIDTH) + DIGITS.charAt(BASE / 2);
+
+    private RankKeys() {
+    }
+
+    public static String fromOrder(Integer order) {
+        if(order == null) {
+            return null;
+        }
+
+        if(order <= 0) {
+            return FIRST_ORDER_KEY;
+        }
+
+        String digits = Long.toString(order, BASE);
+        return "0".repeat(Math.max(0, ORDER_WIDTH - digits.length())) + digits;
+    }
+
+    // rows written before rank keys existed fall back to their integer order
+    public static String effective(String rankKey, Integer order) {
+        return rankKey != null ? rankKey : fromOrder(order);
+    }
+
+    /**
+     * Key strictly between lower and upper; null lower means "first", null upper means "last".
+     * Generated keys never end in '0', so there is always room below them too.
+     * */
+    public static String between(String lower, String upper) {
+        String low = lower == null ? "" : lower;
+
+        if(upper != null && low.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank " + lower + " is not before " + upper);
+        }
+
+        StringBuilder key = new StringBuilder();
+        boolean bounded = upper != null;
+
+        for (int i = 0; ; i++) {
+            if(bounded && i >= upper.length()) {
+                // only possible when upper is lower followed by zeros
+                throw new IllegalArgumentException("No rank between " + lower + " and " + upper);
+            }
+
+            int lo = i < low.length() ? digit(low.charAt(i)) : 0;
+            int hi = bounded ? digit(upper.charAt(i)) : BASE;
+
+            if(lo == hi) {
+                key.append(DIGITS.charAt(lo));
+                continue;
+            }
+
+            int mid = (lo + hi) / 2;
+            if(mid > lo) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+
+            // no digit fits between lo and hi, so take lo and only the lower bound is left
+            key.append(DIGITS.charAt(lo));
+            bounded = false;
+        }
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if(digit < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return digit;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ih.itinerary_hub_service.ordering.exceptions;
+
+public class InvalidMove extends RuntimeException {
+    public InvalidMove(String message) {
+        super(message);
+    }
+}
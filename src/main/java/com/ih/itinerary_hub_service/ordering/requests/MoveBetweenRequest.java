@@ -0,0 +1,11 @@
+package com.ih.itinerary_hub_service.ordering.requests;
+
+import java.util.UUID;
+
+// afterId: sibling that should end up right before the moved item, null to move it first
+// beforeId: sibling that should end up right after the moved item, null to move it last
+public record MoveBetweenRequest(
+        UUID afterId,
+        UUID beforeId
+) {
+}
@@ -0,0 +1,9 @@
+package com.ih.itinerary_hub_service.ordering.responses;
+
+import java.util.UUID;
+
+public record RankDetails(
+        UUID id,
+        String rank
+) {
+}
@@ -0,0 +1,130 @@
+package com.ih.itinerary_hub_service.ordering.service;
+
+import com.ih.itinerary_hub_service.elements.persistence.repository.AccommodationEventRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.ActivityRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.TransportRepository;
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+import com.ih.itinerary_hub_service.sections.persistence.repository.SectionsRepository;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Rewrites the ranks of one group of siblings as fixed width keys 1..n, keeping their current order.
+ * Moves make keys longer, and rows from before rank keys existed have none, this brings both back to short keys.
+ * Integer orders are set to the same 1..n, only rows whose rank or order actually changes are written.
+ * The trip is locked before the siblings are read, moves take the same lock, so a move is never overwritten.
+ * */
+@Service
+@Slf4j
+public class RankCompactor {
+
+    private final SectionsRepository sectionsRepository;
+    private final OptionsRepository optionsRepository;
+    private final TransportRepository transportRepository;
+    private final ActivityRepository activityRepository;
+    private final AccommodationEventRepository accommodationEventRepository;
+    private final TripChangeRecorder tripChangeRecorder;
+
+    public RankCompactor(SectionsRepository sectionsRepository, OptionsRepository optionsRepository, TransportRepository transportRepository, ActivityRepository activityRepository, AccommodationEventRepository accommodationEventRepository, TripChangeRecorder tripChangeRecorder) {
+        this.sectionsRepository = sectionsRepository;
+        this.optionsRepository = optionsRepository;
+        this.transportRepository = transportRepository;
+        this.activityRepository = activityRepository;
+        this.accommodationEventRepository = accommodationEventRepository;
+        this.tripChangeRecorder = tripChangeRecorder;
+    }
+
+    @Transactional
+    public int compactSections(UUID tripId) {
+        tripChangeRecorder.lockTrip(tripId);
+
+        List<Row> rows = sectionsRepository.findByTripId(tripId).stream()
+                .map(section -> new Row(section.getSectionId(), section.getSectionId(), section.getRankKey(), section.getSectionOrder(), section::setSectionOrder))
+                .toList();
+
+        List<UUID> changed = compact(rows);
+        if(!changed.isEmpty()) {
+            tripChangeRecorder.recordUpserts(tripId, TripEntityType.SECTION, changed);
+        }
+        return changed.size();
+    }
+
+    @Transactional
+    public int compactOptions(UUID sectionId) {
+        Optional<UUID> tripId = optionsRepository.findTripIdBySectionId(sectionId);
+        if(tripId.isEmpty()) {
+            return 0;
+        }
+        tripChangeRecorder.lockTrip(tripId.get());
+
+        List<Row> rows = optionsRepository.findBySectionId(sectionId).stream()
+                .map(option -> new Row(option.getOptionId(), option.getOptionId(), option.getRankKey(), option.getOptionOrder(), option::setOptionOrder))
+                .toList();
+
+        List<UUID> changed = compact(rows);
+        if(!changed.isEmpty()) {
+            tripChangeRecorder.recordUpserts(tripId.get(), TripEntityType.OPTION, changed);
+        }
+        return changed.size();
+    }
+
+    // elements of every type share one ordering within an option
+    @Transactional
+    public int compactElements(UUID optionId) {
+        Optional<UUID> tripId = optionsRepository.findTripIdByOptionId(optionId);
+        if(tripId.isEmpty()) {
+            return 0;
+        }
+        tripChangeRecorder.lockTrip(tripId.get());
+
+        List<Row> rows = new ArrayList<>();
+        transportRepository.getTransportElementsByOptionId(optionId).forEach(element ->
+                rows.add(new Row(element.getElementId(), element.getBaseElement().getBaseElementId(), element.getRankKey(), element.getElementOrder(), element::setElementOrder)));
+        activityRepository.getActivityElementsByOptionId(optionId).forEach(element ->
+                rows.add(new Row(element.getElementId(), element.getBaseElement().getBaseElementId(), element.getRankKey(), element.getElementOrder(), element::setElementOrder)));
+        accommodationEventRepository.getAccommodationEventsByOptionId(optionId).forEach(event ->
+                rows.add(new Row(event.getEventId(), event.getAccommodationElement().getBaseElement().getBaseElementId(), event.getRankKey(), event.getElementOrder(), event::setElementOrder)));
+
+        List<UUID> changed = compact(rows).stream().distinct().toList();
+        if(!changed.isEmpty()) {
+            tripChangeRecorder.recordUpserts(tripId.get(), TripEntityType.ELEMENT, changed);
+        }
+        return changed.size();
+    }
+
+    // returns the change ids of the rows that were rewritten
+    private static List<UUID> compact(List<Row> rows) {
+        List<Row> sorted = rows.stream()
+                .sorted(Comparator.comparing((Row row) -> RankKeys.effective(row.rankKey(), row.order()), Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Row::id))
+                .toList();
+
+        List<UUID> changed = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            Row row = sorted.get(i);
+            int order = i + 1;
+
+            if(!Objects.equals(row.order(), order) || !Objects.equals(row.rankKey(), RankKeys.fromOrder(order))) {
+                row.reorder().accept(order);
+                changed.add(row.changeId());
+            }
+        }
+        return changed;
+    }
+
+    // changeId is what the trip change log knows the row by, the base element id for elements
+    private record Row(UUID id, UUID changeId, String rankKey, Integer order, IntConsumer reorder) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.ih.itinerary_hub_service.ordering.service;
+
+import com.ih.itinerary_hub_service.elements.persistence.repository.AccommodationEventRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.ActivityRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.TransportRepository;
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.properties.RankingProperties;
+import com.ih.itinerary_hub_service.sections.persistence.repository.SectionsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+// each group is compacted in its own transaction, so one failing group doesn't hold back the rest
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "ranking", name = "rebalance-enabled", havingValue = "true", matchIfMissing = true)
+public class RankRebalancer {
+
+    private final RankCompactor rankCompactor;
+    private final RankingProperties rankingProperties;
+    private final SectionsRepository sectionsRepository;
+    private final OptionsRepository optionsRepository;
+    private final TransportRepository transportRepository;
+    private final ActivityRepository activityRepository;
+    private final AccommodationEventRepository accommodationEventRepository;
+
+    public RankRebalancer(RankCompactor rankCompactor, RankingProperties rankingProperties, SectionsRepository sectionsRepository, OptionsRepository optionsRepository, TransportRepository transportRepository, ActivityRepository activityRepository, AccommodationEventRepository accommodationEventRepository) {
+        this.rankCompactor = rankCompactor;
+        this.rankingProperties = rankingProperties;
+        this.sectionsRepository = sectionsRepository;
+        this.optionsRepository = optionsRepository;
+        this.transportRepository = transportRepository;
+        this.activityRepository = activityRepository;
+        this.accommodationEventRepository = accommodationEventRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.rebalance-interval:PT10M}", initialDelayString = "${ranking.rebalance-interval:PT10M}")
+    public void rebalance() {
+        int maxLength = rankingProperties.getMaxKeyLength();
+
+        int sections = compactEach(sectionsRepository.findTripIdsWithUncompactedRanks(maxLength), rankCompactor::compactSections);
+        int options = compactEach(optionsRepository.findSectionIdsWithUncompactedRanks(maxLength), rankCompactor::compactOptions);
+
+        Set<UUID> optionIds = new LinkedHashSet<>(transportRepository.findOptionIdsWithUncompactedRanks(maxLength));
+        optionIds.addAll(activityRepository.findOptionIdsWithUncompactedRanks(maxLength));
+        optionIds.addAll(accommodationEventRepository.findOptionIdsWithUncompactedRanks(maxLength));
+        int elements = compactEach(optionIds, rankCompactor::compactElements);
+
+        if(sections + options + elements > 0) {
+            log.info("Ranks compacted: {} sections, {} options, {} elements", sections, options, elements);
+        }
+    }
+
+    private int compactEach(Iterable<UUID> parentIds, ToIntFunction<UUID> compaction) {
+        int compacted = 0;
+        for (UUID parentId : parentIds) {
+            try {
+                compacted += compaction.applyAsInt(parentId);
+            } catch (Exception e) {
+                log.error("Failed to compact ranks under {}: {}", parentId, e.getMessage());
+            }
+        }
+        return compacted;
+    }
+}
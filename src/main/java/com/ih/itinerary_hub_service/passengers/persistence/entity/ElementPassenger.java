@@ -1,6 +1,7 @@
 package com.ih.itinerary_hub_service.passengers.persistence.entity;
 
 import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
+import com.ih.itinerary_hub_service.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,21 +12,34 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "element_passengers", schema = "dev")
+@NamedEntityGraph(
+        name = "ElementPassenger.ownership",
+        attributeNodes = @NamedAttributeNode(value = "baseElement", subgraph = "baseElement"),
+        subgraphs = {
+                @NamedSubgraph(name = "baseElement", attributeNodes = @NamedAttributeNode(value = "option", subgraph = "option")),
+                @NamedSubgraph(name = "option", attributeNodes = @NamedAttributeNode("section"))
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class ElementPassenger {
+public class ElementPassenger extends AssignedIdEntity {
 
     @Id
     @Column(name = "id", nullable = false)
     private UUID elementPassengerId;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "passenger_id", nullable = false)
     private Passenger passenger;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "base_element_id", nullable = false)
     private BaseElement baseElement;
+
+    @Override
+    public UUID getId() {
+        return elementPassengerId;
+    }
 }
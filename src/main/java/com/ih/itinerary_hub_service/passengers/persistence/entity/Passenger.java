@@ -30,7 +30,7 @@ public class Passenger {
     @Column(name = "avatar", nullable = false)
     private String avatar = "default";
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 }
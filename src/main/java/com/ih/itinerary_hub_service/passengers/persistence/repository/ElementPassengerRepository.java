@@ -2,10 +2,12 @@ package com.ih.itinerary_hub_service.passengers.persistence.repository;
 
 import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
 import com.ih.itinerary_hub_service.passengers.persistence.entity.ElementPassenger;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +20,14 @@ public interface ElementPassengerRepository extends JpaRepository<ElementPasseng
     @Query("SELECT ep.passenger.passengerId FROM ElementPassenger ep WHERE ep.baseElement.baseElementId = :elementId")
     List<UUID> findPassengersIdsByElementId(@Param("elementId") UUID elementId);
 
+    @EntityGraph("ElementPassenger.ownership")
     @Query("SELECT t from ElementPassenger t WHERE t.baseElement.baseElementId = :elementId AND t.passenger.passengerId = :passengerId")
     Optional<ElementPassenger> findByPassengerAndElementId(@Param("passengerId") UUID passengerId, @Param("elementId") UUID elementId);
+
+    @EntityGraph("BaseElement.ownership")
+    @Query("SELECT b FROM BaseElement b WHERE b.baseElementId IN (SELECT t.baseElement.baseElementId FROM ElementPassenger t WHERE t.passenger.passengerId = :passengerId)")
+    List<BaseElement> findElementsByPassengerId(@Param("passengerId") UUID passengerId);
+
+    @Query("SELECT t FROM ElementPassenger t JOIN FETCH t.passenger WHERE t.baseElement.baseElementId IN :elementIds")
+    List<ElementPassenger> findByElementIds(@Param("elementIds") Collection<UUID> elementIds);
 }
@@ -10,9 +10,12 @@ import com.ih.itinerary_hub_service.passengers.persistence.repository.Passengers
 import com.ih.itinerary_hub_service.passengers.requests.CreatePassengerRequest;
 import com.ih.itinerary_hub_service.passengers.requests.PassengerRequest;
 import com.ih.itinerary_hub_service.passengers.responses.PassengerDetails;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
 import com.ih.itinerary_hub_service.users.persistence.entity.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -23,10 +26,12 @@ public class GlobalPassengersService {
 
     private final PassengersRepository passengersRepository;
     private final ElementPassengerRepository elementPassengerRepository;
+    private final TripChangeRecorder tripChangeRecorder;
 
-    public GlobalPassengersService(PassengersRepository passengersRepository, ElementPassengerRepository elementPassengerRepository) {
+    public GlobalPassengersService(PassengersRepository passengersRepository, ElementPassengerRepository elementPassengerRepository, TripChangeRecorder tripChangeRecorder) {
         this.passengersRepository = passengersRepository;
         this.elementPassengerRepository = elementPassengerRepository;
+        this.tripChangeRecorder = tripChangeRecorder;
     }
 
     public List<PassengerDetails> getAllPassengersInAccount(UUID userId) {
@@ -62,6 +67,7 @@ public class GlobalPassengersService {
         }
     }
 
+    @Transactional
     public void updatePassenger(UUID passengerId, PassengerRequest request) {
         Passenger passenger = getPassenger(passengerId);
 
@@ -79,6 +85,7 @@ public class GlobalPassengersService {
 
         try {
             passengersRepository.save(passenger);
+            tripChangeRecorder.recordElementUpserts(elementPassengerRepository.findElementsByPassengerId(passengerId));
             log.info("Passenger updated: {}", passengerId);
         } catch (Exception e) {
             log.error("Error updating passenger", e);
@@ -86,11 +93,14 @@ public class GlobalPassengersService {
         }
     }
 
+    @Transactional
     public void deletePassenger(UUID passengerId) {
         Passenger passenger = getPassenger(passengerId);
+        List<BaseElement> assignedElements = elementPassengerRepository.findElementsByPassengerId(passengerId);
 
         try {
             passengersRepository.delete(passenger);
+            tripChangeRecorder.recordElementUpserts(assignedElements);
             log.info("Passenger deleted: {}", passengerId);
         } catch (Exception e) {
             log.error("Error deleting passenger", e);
@@ -99,14 +109,36 @@ public class GlobalPassengersService {
     }
 
     public List<PassengerDetails> getAllPassengersInElement(BaseElement baseElement) {
-        List<ElementPassenger> elementPassengerList = elementPassengerRepository.findByBaseElement(baseElement);
+        return getPassengersForElements(List.of(baseElement))
+                .getOrDefault(baseElement.getBaseElementId(), Collections.emptyList());
+    }
 
-        return elementPassengerList
-                .stream()
-                .map(elementPassenger -> getPassengerDetails(elementPassenger.getPassenger().getPassengerId()))
-                .collect(Collectors.toList());
+    // one join query for the whole set; a passenger on several elements maps to the same PassengerDetails
+    public Map<UUID, List<PassengerDetails>> getPassengersForElements(Collection<BaseElement> baseElements) {
+        if(baseElements.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<UUID> baseElementIds = baseElements.stream()
+                .map(BaseElement::getBaseElementId)
+                .toList();
+
+        Map<UUID, PassengerDetails> passengerDetailsById = new HashMap<>();
+        Map<UUID, List<PassengerDetails>> passengersByElement = new HashMap<>();
+
+        for(ElementPassenger elementPassenger : elementPassengerRepository.findByElementIds(baseElementIds)) {
+            Passenger passenger = elementPassenger.getPassenger();
+            PassengerDetails passengerDetails = passengerDetailsById.computeIfAbsent(passenger.getPassengerId(), id -> maptoPassengerDetails(passenger));
+
+            passengersByElement
+                    .computeIfAbsent(elementPassenger.getBaseElement().getBaseElementId(), id -> new ArrayList<>())
+                    .add(passengerDetails);
+        }
+
+        return passengersByElement;
     }
 
+    @Transactional
     public void assignPassengerToElement(UUID passengerId, BaseElement baseElement) {
         Passenger passenger = getPassenger(passengerId);
 
@@ -118,6 +150,7 @@ public class GlobalPassengersService {
 
         try {
             elementPassengerRepository.save(elementPassenger);
+            recordElementUpsert(baseElement);
             log.info("Passenger assigned: {}", passengerId);
         } catch (Exception e) {
             log.error("Error assigning passenger", e);
@@ -125,19 +158,61 @@ public class GlobalPassengersService {
         }
     }
 
-    public void removePassengerFromElement(UUID passengerId, UUID baseElementId) {
-        ElementPassenger el = elementPassengerRepository.findByPassengerAndElementId(passengerId, baseElementId)
-                .orElseThrow(() -> new ElementDoesNotExist("Passenger not found"));
+    // one lookup for all passengers and one batched insert, the caller records the element change once
+    public List<PassengerDetails> assignPassengersToElement(Collection<UUID> passengerIds, BaseElement baseElement) {
+        return assignPassengersToElements(Map.of(baseElement, passengerIds))
+                .getOrDefault(baseElement.getBaseElementId(), Collections.emptyList());
+    }
+
+    // same for many elements at once, keyed by base element id; nothing is saved unless every passenger exists
+    public Map<UUID, List<PassengerDetails>> assignPassengersToElements(Map<BaseElement, ? extends Collection<UUID>> passengerIdsByElement) {
+        Set<UUID> allPassengerIds = passengerIdsByElement.values().stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toSet());
+
+        if(allPassengerIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<UUID, Passenger> passengersById = passengersRepository.findAllById(allPassengerIds)
+                .stream()
+                .collect(Collectors.toMap(Passenger::getPassengerId, passenger -> passenger));
+
+        List<UUID> unknownIds = allPassengerIds.stream().filter(id -> !passengersById.containsKey(id)).toList();
+        if(!unknownIds.isEmpty()) {
+            log.error("Passengers with ids {} not found", unknownIds);
+            throw new DbFailure("Passenger not found");
+        }
+
+        List<ElementPassenger> elementPassengers = new ArrayList<>();
+        Map<UUID, List<PassengerDetails>> passengersByElement = new HashMap<>();
+        passengerIdsByElement.forEach((baseElement, passengerIds) -> {
+            List<PassengerDetails> passengerDetails = new ArrayList<>();
+            for(UUID passengerId : passengerIds) {
+                Passenger passenger = passengersById.get(passengerId);
+                elementPassengers.add(new ElementPassenger(UUID.randomUUID(), passenger, baseElement));
+                passengerDetails.add(maptoPassengerDetails(passenger));
+            }
+            passengersByElement.put(baseElement.getBaseElementId(), passengerDetails);
+        });
 
         try {
-            elementPassengerRepository.delete(el);
-            log.info("Element passenger removed: {}", el);
+            elementPassengerRepository.saveAll(elementPassengers);
+            log.info("Passengers assigned: {}", allPassengerIds);
+            return passengersByElement;
         } catch (Exception e) {
-            log.error("Error deleting passenger", e);
-            throw new DbFailure("Failed to delete passenger");
+            log.error("Error assigning passengers", e);
+            throw new DbFailure("Failed to assign passengers");
         }
     }
 
+    @Transactional
+    public void removePassengerFromElement(UUID passengerId, UUID baseElementId) {
+        ElementPassenger el = unlinkPassenger(passengerId, baseElementId);
+        recordElementUpsert(el.getBaseElement());
+    }
+
+    // part of an element update, the caller records the element change once
     public List<PassengerDetails> updateAllPassengersInElement(List<UUID> passengersToUpdate, BaseElement baseElement) {
         List<UUID> existingPassengerList = elementPassengerRepository.findPassengersIdsByElementId(baseElement.getBaseElementId());
 
@@ -154,13 +229,14 @@ public class GlobalPassengersService {
         Set<UUID> toRemove = new HashSet<>(existingSet);
         toRemove.removeAll(requestedSet);
 
-        toAdd.forEach(passengerId -> assignPassengerToElement(passengerId, baseElement));
+        assignPassengersToElement(toAdd, baseElement);
 
-        toRemove.forEach(passengerId -> removePassengerFromElement(passengerId, baseElement.getBaseElementId()));
+        toRemove.forEach(passengerId -> unlinkPassenger(passengerId, baseElement.getBaseElementId()));
 
         return getAllPassengersInElement(baseElement);
     }
 
+    // part of an element delete, the caller records the delete
     public void deleteByElement(BaseElement baseElement) {
         try {
             elementPassengerRepository.deleteByBaseElement(baseElement);
@@ -171,6 +247,24 @@ public class GlobalPassengersService {
         }
     }
 
+    private ElementPassenger unlinkPassenger(UUID passengerId, UUID baseElementId) {
+        ElementPassenger el = elementPassengerRepository.findByPassengerAndElementId(passengerId, baseElementId)
+                .orElseThrow(() -> new ElementDoesNotExist("Passenger not found"));
+
+        try {
+            elementPassengerRepository.delete(el);
+            log.info("Element passenger removed: {}", el);
+            return el;
+        } catch (Exception e) {
+            log.error("Error deleting passenger", e);
+            throw new DbFailure("Failed to delete passenger");
+        }
+    }
+
+    private void recordElementUpsert(BaseElement baseElement) {
+        tripChangeRecorder.recordUpsert(baseElement.getOption().getSection().getTrip().getTripId(), TripEntityType.ELEMENT, baseElement.getBaseElementId());
+    }
+
     private Passenger getPassenger(UUID passengerId) {
         return passengersRepository.findById(passengerId)
                 .orElseThrow(() -> {
@@ -0,0 +1,32 @@
+package com.ih.itinerary_hub_service.persistence;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+/**
+ * For entities whose UUID is assigned before saving. Spring Data treats any entity with an id as existing
+ * and merges it, which costs a SELECT per new row; this tells it the entity is new until it's stored or loaded,
+ * so save() persists and the INSERT can join a JDBC batch.
+ * */
+@MappedSuperclass
+public abstract class AssignedIdEntity implements Persistable<UUID> {
+
+    @Transient
+    private boolean stored;
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,146 @@
+package com.ih.itinerary_hub_service.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deep copies of a trip's sections or an option's elements, one INSERT ... SELECT per table.
+ * New ids are generated by the database; parents that children point at get theirs through cloned_ids first,
+ * so the children can join on it. Leaf rows take a fresh id straight in the INSERT.
+ * The number of statements depends on the number of tables, not on how many rows are copied.
+ * Has to run inside the caller's transaction.
+ * */
+@Repository
+public class CloneRepository {
+
+    private final EntityManager entityManager;
+    private final String randomUuid;
+
+    public CloneRepository(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        // gen_random_uuid() is built into Postgres from 13
+        this.randomUuid = dialect instanceof H2Dialect ? "RANDOM_UUID()" : "gen_random_uuid()";
+    }
+
+    // sections, options and their elements, the target trip has to exist already
+    public void cloneTripContents(UUID sourceTripId, UUID targetTripId) {
+        UUID cloneId = UUID.randomUUID();
+        entityManager.flush();
+
+        execute("INSERT INTO dev.cloned_ids (clone_id, old_id, new_id) " +
+                "SELECT :cloneId, s.section_id, " + randomUuid + " FROM dev.sections s WHERE s.trip_id = :tripId",
+                cloneId, "tripId", sourceTripId);
+
+        execute("INSERT INTO dev.sections (section_id, trip_id, section_name, section_order, rank_key) " +
+                "SELECT m.new_id, :tripId, s.section_name, s.section_order, s.rank_key " +
+                "FROM dev.sections s JOIN dev.cloned_ids m ON m.clone_id = :cloneId AND m.old_id = s.section_id",
+                cloneId, "tripId", targetTripId);
+
+        execute("INSERT INTO dev.cloned_ids (clone_id, old_id, new_id) " +
+                "SELECT :cloneId, o.option_id, " + randomUuid + " " +
+                "FROM dev.options o JOIN dev.cloned_ids ms ON ms.clone_id = :cloneId AND ms.old_id = o.section_id",
+                cloneId);
+
+        execute("INSERT INTO dev.options (option_id, section_id, option_name, option_order, rank_key) " +
+                "SELECT m.new_id, ms.new_id, o.option_name, o.option_order, o.rank_key " +
+                "FROM dev.options o " +
+                "JOIN dev.cloned_ids m ON m.clone_id = :cloneId AND m.old_id = o.option_id " +
+                "JOIN dev.cloned_ids ms ON ms.clone_id = :cloneId AND ms.old_id = o.section_id",
+                cloneId);
+
+        cloneElements(cloneId);
+    }
+
+    // returns the new base element ids, the target option has to exist already
+    public List<UUID> cloneOptionContents(UUID sourceOptionId, UUID targetOptionId) {
+        UUID cloneId = UUID.randomUUID();
+        entityManager.flush();
+
+        entityManager.createNativeQuery("INSERT INTO dev.cloned_ids (clone_id, old_id, new_id) VALUES (:cloneId, :oldId, :newId)")
+                .setParameter("cloneId", cloneId)
+                .setParameter("oldId", sourceOptionId)
+                .setParameter("newId", targetOptionId)
+                .executeUpdate();
+
+        return cloneElements(cloneId);
+    }
+
+    // copies the elements of every option already in cloned_ids for this clone, then drops the mapping
+    private List<UUID> cloneElements(UUID cloneId) {
+        execute("INSERT INTO dev.cloned_ids (clone_id, old_id, new_id) " +
+                "SELECT :cloneId, b.base_element_id, " + randomUuid + " " +
+                "FROM dev.base_elements b JOIN dev.cloned_ids mo ON mo.clone_id = :cloneId AND mo.old_id = b.option_id",
+                cloneId);
+
+        execute("INSERT INTO dev.base_elements (base_element_id, option_id, last_updated_at, element_type, element_category, link, price, notes, element_status) " +
+                "SELECT m.new_id, mo.new_id, :now, b.element_type, b.element_category, b.link, b.price, b.notes, b.element_status " +
+                "FROM dev.base_elements b " +
+                "JOIN dev.cloned_ids m ON m.clone_id = :cloneId AND m.old_id = b.base_element_id " +
+                "JOIN dev.cloned_ids mo ON mo.clone_id = :cloneId AND mo.old_id = b.option_id",
+                cloneId, "now", LocalDateTime.now());
+
+        execute("INSERT INTO dev.transport_elements (element_id, base_element_id, origin_place, origin_datetime, destination_place, destination_datetime, provider, element_order, rank_key) " +
+                "SELECT " + randomUuid + ", m.new_id, t.origin_place, t.origin_datetime, t.destination_place, t.destination_datetime, t.provider, t.element_order, t.rank_key " +
+                "FROM dev.transport_elements t JOIN dev.cloned_ids m ON m.clone_id = :cloneId AND m.old_id = t.base_element_id",
+                cloneId);
+
+        execute("INSERT INTO dev.activity_elements (element_id, base_element_id, activity_name, location, starts_at, duration, element_order, rank_key) " +
+                "SELECT " + randomUuid + ", m.new_id, a.activity_name, a.location, a.starts_at, a.duration, a.element_order, a.rank_key " +
+                "FROM dev.activity_elements a JOIN dev.cloned_ids m ON m.clone_id = :cloneId AND m.old_id = a.base_element_id",
+                cloneId);
+
+        execute("INSERT INTO dev.cloned_ids (clone_id, old_id, new_id) " +
+                "SELECT :cloneId, a.element_id, " + randomUuid + " " +
+                "FROM dev.accommodation_elements a JOIN dev.cloned_ids m ON m.clone_id = :cloneId AND m.old_id = a.base_element_id",
+                cloneId);
+
+        execute("INSERT INTO dev.accommodation_elements (element_id, base_element_id, place, location) " +
+                "SELECT ma.new_id, m.new_id, a.place, a.location " +
+                "FROM dev.accommodation_elements a " +
+                "JOIN dev.cloned_ids ma ON ma.clone_id = :cloneId AND ma.old_id = a.element_id " +
+                "JOIN dev.cloned_ids m ON m.clone_id = :cloneId AND m.old_id = a.base_element_id",
+                cloneId);
+
+        execute("INSERT INTO dev.accommodation_events (event_id, accommodation_id, type, datetime, element_order, rank_key) " +
+                "SELECT " + randomUuid + ", ma.new_id, e.type, e.datetime, e.element_order, e.rank_key " +
+                "FROM dev.accommodation_events e JOIN dev.cloned_ids ma ON ma.clone_id = :cloneId AND ma.old_id = e.accommodation_id",
+                cloneId);
+
+        execute("INSERT INTO dev.element_passengers (id, passenger_id, base_element_id) " +
+                "SELECT " + randomUuid + ", p.passenger_id, m.new_id " +
+                "FROM dev.element_passengers p JOIN dev.cloned_ids m ON m.clone_id = :cloneId AND m.old_id = p.base_element_id",
+                cloneId);
+
+        @SuppressWarnings("unchecked")
+        List<UUID> baseElementIds = entityManager.createNativeQuery(
+                        "SELECT m.new_id FROM dev.cloned_ids m JOIN dev.base_elements b ON b.base_element_id = m.new_id WHERE m.clone_id = :cloneId", UUID.class)
+                .setParameter("cloneId", cloneId)
+                .getResultList();
+
+        execute("DELETE FROM dev.cloned_ids WHERE clone_id = :cloneId", cloneId);
+        return baseElementIds;
+    }
+
+    private void execute(String sql, UUID cloneId) {
+        entityManager.createNativeQuery(sql)
+                .setParameter("cloneId", cloneId)
+                .executeUpdate();
+    }
+
+    private void execute(String sql, UUID cloneId, String name, Object value) {
+        entityManager.createNativeQuery(sql)
+                .setParameter("cloneId", cloneId)
+                .setParameter(name, value)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ih.itinerary_hub_service.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Old id to new id pairs for one clone, only written and read by CloneRepository's native statements.
+ * Mapped as an entity so the table is created with the rest of the schema.
+ * */
+@Entity
+@Table(
+        name = "cloned_ids",
+        schema = "dev",
+        indexes = @Index(name = "idx_cloned_ids_clone_old", columnList = "clone_id, old_id")
+)
+@Getter
+@NoArgsConstructor
+public class ClonedId {
+
+    @Id
+    @Column(name = "new_id", nullable = false)
+    private UUID newId;
+
+    @Column(name = "clone_id", nullable = false)
+    private UUID cloneId;
+
+    @Column(name = "old_id", nullable = false)
+    private UUID oldId;
+}
@@ -0,0 +1,28 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "bulkheads")
+public class BulkheadProperties {
+
+    // bulkhead of each class RouteClassifier puts routes in
+    // caps and queue waits live under resilience4j.bulkhead.instances.<name>
+    private Map<String, String> classes = new HashMap<>(Map.of(
+            "traversal", "traversal",
+            "bulk-write", "writes",
+            "read", "lightweight-reads",
+            "write", "writes"
+    ));
+
+    // for classes not listed above
+    private String defaultBulkhead = "writes";
+}
@@ -0,0 +1,56 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // sent back as Retry-After with a 503
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    // route classes without a limit of their own, plain reads and writes, share this one
+    private String defaultClass = "default";
+
+    // keyed by the class RouteClassifier puts the route in
+    private Map<String, EndpointClass> classes = new HashMap<>(Map.of(
+            "traversal", new EndpointClass(4, 1, 32, Duration.ofMillis(300)),
+            "bulk-write", new EndpointClass(4, 1, 16, Duration.ofMillis(300)),
+            "default", new EndpointClass(20, 4, 200, Duration.ofMillis(200))
+    ));
+
+    @Setter
+    @Getter
+    public static class EndpointClass {
+
+        private int initialLimit = 10;
+        private int minLimit = 1;
+        private int maxLimit = 100;
+
+        // each request slower than this shrinks the limit by backoffRatio, faster ones grow it by one
+        private Duration latencyThreshold = Duration.ofMillis(250);
+
+        private double backoffRatio = 0.9;
+
+        public EndpointClass() {
+        }
+
+        public EndpointClass(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = latencyThreshold;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "google-oauth")
+public class GoogleOAuthProperties {
+
+    private String revokeUrl = "https://oauth2.googleapis.com/revoke";
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // a revocation that takes longer than this is given up and retried by the job queue
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    // thresholds live under resilience4j.circuitbreaker.instances.<name>
+    private String circuitBreaker = "google-oauth";
+}
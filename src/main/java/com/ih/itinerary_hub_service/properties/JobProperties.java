@@ -0,0 +1,36 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "jobs")
+public class JobProperties {
+
+    // read by JobWorker's condition, jobs are still queued when this is false but nothing on this instance runs them
+    private boolean enabled = true;
+
+    // threads per instance, a poll never claims more jobs than there are idle threads
+    private int workers = 4;
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    // how long a claimed job belongs to its worker, a job still running after this can be taken over by another instance
+    private Duration visibilityTimeout = Duration.ofMinutes(5);
+
+    private int maxAttempts = 5;
+
+    // the delay before a retry doubles with each failed attempt, up to backoffMax
+    private Duration backoffBase = Duration.ofSeconds(10);
+
+    private Duration backoffMax = Duration.ofMinutes(10);
+
+    // how long shutdown waits for running jobs, unfinished ones are retried once their lock lapses
+    private Duration shutdownTimeout = Duration.ofSeconds(20);
+}
@@ -0,0 +1,29 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "purge")
+public class PurgeProperties {
+
+    // read by Purger's condition, the scheduled bean is only created when this is true
+    private boolean enabled = true;
+
+    // how often the purger picks up deleted trips and users
+    private Duration interval = Duration.ofSeconds(30);
+
+    // rows removed per statement, each batch commits on its own so locks are held briefly
+    private int batchSize = 500;
+
+    // caps the work done in one run, whatever is left is picked up by the next one
+    private int maxBatchesPerRun = 200;
+
+    private int maxTasksPerRun = 20;
+}
@@ -0,0 +1,24 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "ranking")
+public class RankingProperties {
+
+    // groups with a rank key longer than this are compacted by the rebalancer
+    private int maxKeyLength = 12;
+
+    // read by RankRebalancer's condition, the scheduled bean is only created when this is true
+    private boolean rebalanceEnabled = true;
+
+    // how often the rebalancer looks for groups to compact
+    private Duration rebalanceInterval = Duration.ofMinutes(10);
+}
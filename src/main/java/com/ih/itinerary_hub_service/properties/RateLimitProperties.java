@@ -0,0 +1,39 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // tokens a single user or IP can spend in a burst
+    private int capacity = 40;
+
+    // tokens given back per second once the burst is spent
+    private double refillPerSecond = 10;
+
+    // one bucket per key, the least recently used are dropped past this
+    private long maxKeys = 100_000;
+
+    // a bucket idle for longer than a full refill is full anyway, so dropping it loses nothing
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private int defaultCost = 1;
+
+    // keyed by the class RouteClassifier puts the route in, anything else costs defaultCost
+    private Map<String, Integer> classCosts = new HashMap<>(Map.of(
+            "traversal", 5,
+            "bulk-write", 3
+    ));
+}
@@ -0,0 +1,29 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "route-classes")
+public class RouteClassProperties {
+
+    // keyed by "METHOD /route/{pattern}" as mapped by the controllers, other routes are plain reads or writes
+    private Map<String, String> routes = new HashMap<>(Map.of(
+            "GET /v1/trips/{tripId}", "traversal",
+            "GET /v1/trips/{tripId}/changes", "traversal",
+            "GET /v1/options/{optionId}/elements", "traversal",
+            "PUT /v1/trips/{tripId}/sections", "bulk-write",
+            "PUT /v1/sections/{sectionId}/options", "bulk-write",
+            "PUT /v1/elements", "bulk-write",
+            "POST /v1/sections/{sectionId}/options/{optionId}/elements:batch", "bulk-write",
+            "POST /v1/trips/{tripId}:clone", "bulk-write",
+            "POST /v1/sections/{sectionId}/options/{optionId}:clone", "bulk-write"
+    ));
+}
@@ -0,0 +1,20 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "auth.token-epochs")
+public class TokenEpochCacheProperties {
+
+    // revocations made on another instance are picked up after at most this long
+    private Duration ttl = Duration.ofSeconds(30);
+
+    private long maxUsers = 100_000;
+}
@@ -0,0 +1,16 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "trips.cache")
+public class TripCacheProperties {
+
+    // total number of elements across all cached trips, roughly 1 KB of heap each
+    private long maxElements = 50_000;
+}
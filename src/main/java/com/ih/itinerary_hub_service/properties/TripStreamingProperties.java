@@ -0,0 +1,19 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "trips.streaming")
+public class TripStreamingProperties {
+
+    // trips with at least this many elements are written straight to the response instead of being cached
+    private long minElements = 2_000;
+
+    // how many options' elements are held in memory at once while streaming
+    private int optionsPerBatch = 10;
+}
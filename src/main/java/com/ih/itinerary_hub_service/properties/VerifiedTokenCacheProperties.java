@@ -0,0 +1,16 @@
+package com.ih.itinerary_hub_service.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "auth.verified-tokens")
+public class VerifiedTokenCacheProperties {
+
+    // one entry per signed-in browser, each a few hundred bytes of claims
+    private long maxSize = 10_000;
+}
@@ -0,0 +1,61 @@
+package com.ih.itinerary_hub_service.purge.persistence.entity;
+
+import com.ih.itinerary_hub_service.purge.types.PurgeTarget;
+import com.ih.itinerary_hub_service.persistence.AssignedIdEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A soft-deleted trip or user whose rows are still being removed.
+ * step is the index of the table being purged, so a restarted purger carries on where it stopped.
+ * */
+@Entity
+@Table(
+        name = "purge_tasks",
+        schema = "dev",
+        indexes = @Index(name = "idx_purge_tasks_pending", columnList = "completed_at, requested_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeTask extends AssignedIdEntity {
+
+    @Id
+    @Column(name = "purge_task_id", nullable = false)
+    private UUID purgeTaskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target", nullable = false)
+    private PurgeTarget target;
+
+    @Column(name = "target_id", nullable = false)
+    private UUID targetId;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "step", nullable = false)
+    private int step;
+
+    @Column(name = "purged_rows", nullable = false)
+    private long purgedRows;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public PurgeTask(PurgeTarget target, UUID targetId, LocalDateTime requestedAt) {
+        this(UUID.randomUUID(), target, targetId, requestedAt, 0, 0, null);
+    }
+
+    @Override
+    public UUID getId() {
+        return purgeTaskId;
+    }
+}
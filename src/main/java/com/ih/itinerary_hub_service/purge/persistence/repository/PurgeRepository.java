@@ -0,0 +1,63 @@
+package com.ih.itinerary_hub_service.purge.persistence.repository;
+
+import com.ih.itinerary_hub_service.purge.types.PurgeTarget;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Removes what a deleted trip or user owned, children before parents, at most limit rows per statement.
+ * DELETE ... WHERE id IN (SELECT ... LIMIT n) runs on both Postgres and H2.
+ * A step is done once a batch comes back short; the last step removes the root row itself.
+ * */
+@Repository
+public class PurgeRepository {
+
+    private static final String TRIP_OPTIONS = "JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = :id";
+
+    private static final Map<PurgeTarget, List<String>> STEPS = Map.of(
+            PurgeTarget.TRIP, List.of(
+                    "DELETE FROM dev.element_passengers WHERE id IN (SELECT p.id FROM dev.element_passengers p JOIN dev.base_elements b ON b.base_element_id = p.base_element_id " + TRIP_OPTIONS + " LIMIT :limit)",
+                    "DELETE FROM dev.accommodation_events WHERE event_id IN (SELECT e.event_id FROM dev.accommodation_events e JOIN dev.accommodation_elements a ON a.element_id = e.accommodation_id JOIN dev.base_elements b ON b.base_element_id = a.base_element_id " + TRIP_OPTIONS + " LIMIT :limit)",
+                    "DELETE FROM dev.accommodation_elements WHERE element_id IN (SELECT a.element_id FROM dev.accommodation_elements a JOIN dev.base_elements b ON b.base_element_id = a.base_element_id " + TRIP_OPTIONS + " LIMIT :limit)",
+                    "DELETE FROM dev.transport_elements WHERE element_id IN (SELECT t.element_id FROM dev.transport_elements t JOIN dev.base_elements b ON b.base_element_id = t.base_element_id " + TRIP_OPTIONS + " LIMIT :limit)",
+                    "DELETE FROM dev.activity_elements WHERE element_id IN (SELECT a.element_id FROM dev.activity_elements a JOIN dev.base_elements b ON b.base_element_id = a.base_element_id " + TRIP_OPTIONS + " LIMIT :limit)",
+                    "DELETE FROM dev.base_elements WHERE base_element_id IN (SELECT b.base_element_id FROM dev.base_elements b " + TRIP_OPTIONS + " LIMIT :limit)",
+                    "DELETE FROM dev.options WHERE option_id IN (SELECT o.option_id FROM dev.options o JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = :id LIMIT :limit)",
+                    "DELETE FROM dev.sections WHERE section_id IN (SELECT s.section_id FROM dev.sections s WHERE s.trip_id = :id LIMIT :limit)",
+                    "DELETE FROM dev.trip_changes WHERE change_id IN (SELECT c.change_id FROM dev.trip_changes c WHERE c.trip_id = :id LIMIT :limit)",
+                    "DELETE FROM dev.trips WHERE trip_id = :id AND deleted_at IS NOT NULL"
+            ),
+            PurgeTarget.USER, List.of(
+                    // links from the user's passengers into trips are gone with the trips, this catches any left over
+                    "DELETE FROM dev.element_passengers WHERE id IN (SELECT ep.id FROM dev.element_passengers ep JOIN dev.passengers p ON p.passenger_id = ep.passenger_id WHERE p.user_id = :id LIMIT :limit)",
+                    "DELETE FROM dev.passengers WHERE passenger_id IN (SELECT p.passenger_id FROM dev.passengers p WHERE p.user_id = :id LIMIT :limit)",
+                    "DELETE FROM dev.jobs WHERE job_id IN (SELECT j.job_id FROM dev.jobs j WHERE j.user_id = :id LIMIT :limit)",
+                    "DELETE FROM dev.users WHERE user_id = :id AND deleted_at IS NOT NULL"
+            )
+    );
+
+    private final EntityManager entityManager;
+
+    public PurgeRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public int stepCount(PurgeTarget target) {
+        return STEPS.get(target).size();
+    }
+
+    public int deleteBatch(PurgeTarget target, int step, UUID id, int limit) {
+        String sql = STEPS.get(target).get(step);
+
+        Query query = entityManager.createNativeQuery(sql).setParameter("id", id);
+        if(sql.contains(":limit")) {
+            query.setParameter("limit", limit);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,23 @@
+package com.ih.itinerary_hub_service.purge.persistence.repository;
+
+import com.ih.itinerary_hub_service.purge.persistence.entity.PurgeTask;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PurgeTaskRepository extends JpaRepository<PurgeTask, UUID> {
+
+    // trips are queued before the user that owned them, so they go first
+    @Query("SELECT t FROM PurgeTask t WHERE t.completedAt IS NULL ORDER BY t.requestedAt, t.target")
+    List<PurgeTask> findPending(Limit limit);
+
+    // another instance working on the same task holds the row, so it's skipped instead of deleted twice
+    @Query(value = "SELECT t.* FROM dev.purge_tasks t WHERE t.purge_task_id = :purgeTaskId AND t.completed_at IS NULL FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<PurgeTask> claimPending(UUID purgeTaskId);
+}
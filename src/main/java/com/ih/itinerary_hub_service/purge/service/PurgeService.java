@@ -0,0 +1,116 @@
+package com.ih.itinerary_hub_service.purge.service;
+
+import com.ih.itinerary_hub_service.jobs.persistence.repository.JobRepository;
+import com.ih.itinerary_hub_service.purge.persistence.entity.PurgeTask;
+import com.ih.itinerary_hub_service.purge.persistence.repository.PurgeRepository;
+import com.ih.itinerary_hub_service.purge.persistence.repository.PurgeTaskRepository;
+import com.ih.itinerary_hub_service.purge.types.PurgeTarget;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripsRepository;
+import com.ih.itinerary_hub_service.users.persistence.entity.User;
+import com.ih.itinerary_hub_service.users.persistence.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// deleting only marks the root and queues it, the rows under it are removed a batch at a time by the Purger
+@Service
+@Slf4j
+public class PurgeService {
+
+    private final PurgeTaskRepository purgeTaskRepository;
+    private final PurgeRepository purgeRepository;
+    private final TripsRepository tripsRepository;
+    private final UserRepository userRepository;
+    private final JobRepository jobRepository;
+    private final MeterRegistry meterRegistry;
+
+    public PurgeService(PurgeTaskRepository purgeTaskRepository, PurgeRepository purgeRepository, TripsRepository tripsRepository, UserRepository userRepository, JobRepository jobRepository, MeterRegistry meterRegistry) {
+        this.purgeTaskRepository = purgeTaskRepository;
+        this.purgeRepository = purgeRepository;
+        this.tripsRepository = tripsRepository;
+        this.userRepository = userRepository;
+        this.jobRepository = jobRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Transactional
+    public void deleteTrip(UUID tripId) {
+        LocalDateTime now = LocalDateTime.now();
+
+        tripsRepository.markDeleted(List.of(tripId), now);
+        purgeTaskRepository.save(new PurgeTask(PurgeTarget.TRIP, tripId, now));
+        log.info("Trip {} marked deleted and queued for purging", tripId);
+    }
+
+    // the user, their trips and the queued purges are written together, so a deleted user never has live trips
+    @Transactional
+    public void deleteUser(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        UUID userId = user.getUserId();
+
+        user.setDeletedAt(now);
+        userRepository.save(user);
+
+        List<UUID> tripIds = tripsRepository.findIdsByUserId(userId);
+
+        List<PurgeTask> tasks = new ArrayList<>();
+        if(!tripIds.isEmpty()) {
+            tripsRepository.markDeleted(tripIds, now);
+            tripIds.forEach(tripId -> tasks.add(new PurgeTask(PurgeTarget.TRIP, tripId, now)));
+        }
+        tasks.add(new PurgeTask(PurgeTarget.USER, userId, now));
+
+        purgeTaskRepository.saveAll(tasks);
+        log.info("User {} and {} trips queued for purging", userId, tripIds.size());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PurgeTask> getPendingTasks(int limit) {
+        return purgeTaskRepository.findPending(Limit.of(limit));
+    }
+
+    /**
+     * Deletes one batch of the task's current step and records how far it got, in one transaction.
+     * The task row stays locked until the batch commits, so instances running the Purger never work on the same task at once.
+     * Returns false when there is nothing more to do for now: the task is complete or claimed by another instance,
+     * or it's a user whose trips haven't been purged yet or whose jobs, like revoking their Google token, haven't finished.
+     * */
+    @Transactional
+    public boolean purgeBatch(UUID purgeTaskId, int batchSize) {
+        PurgeTask task = purgeTaskRepository.claimPending(purgeTaskId).orElse(null);
+        if(task == null) {
+            return false;
+        }
+
+        if(task.getTarget() == PurgeTarget.USER && userHasPendingWork(task.getTargetId())) {
+            return false;
+        }
+
+        int deleted = purgeRepository.deleteBatch(task.getTarget(), task.getStep(), task.getTargetId(), batchSize);
+        task.setPurgedRows(task.getPurgedRows() + deleted);
+        meterRegistry.counter("purge.rows.deleted", "target", task.getTarget().name()).increment(deleted);
+
+        if(deleted < batchSize) {
+            task.setStep(task.getStep() + 1);
+        }
+
+        if(task.getStep() >= purgeRepository.stepCount(task.getTarget())) {
+            task.setCompletedAt(LocalDateTime.now());
+            log.info("{} {} purged, {} rows", task.getTarget(), task.getTargetId(), task.getPurgedRows());
+        }
+
+        purgeTaskRepository.save(task);
+        return task.getCompletedAt() == null;
+    }
+
+    private boolean userHasPendingWork(UUID userId) {
+        return tripsRepository.countAllByUserId(userId) > 0 || jobRepository.existsByUserIdAndCompletedAtIsNull(userId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ih.itinerary_hub_service.purge.service;
+
+import com.ih.itinerary_hub_service.properties.PurgeProperties;
+import com.ih.itinerary_hub_service.purge.persistence.entity.PurgeTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// every batch commits on its own, a run stops after maxBatchesPerRun and the next run resumes from the recorded step
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class Purger {
+
+    private final PurgeService purgeService;
+    private final PurgeProperties purgeProperties;
+
+    public Purger(PurgeService purgeService, PurgeProperties purgeProperties) {
+        this.purgeService = purgeService;
+        this.purgeProperties = purgeProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${purge.interval:PT30S}", initialDelayString = "${purge.interval:PT30S}")
+    public void purge() {
+        int batches = 0;
+
+        for (PurgeTask task : purgeService.getPendingTasks(purgeProperties.getMaxTasksPerRun())) {
+            try {
+                boolean more = true;
+                while (more && batches < purgeProperties.getMaxBatchesPerRun()) {
+                    more = purgeService.purgeBatch(task.getPurgeTaskId(), purgeProperties.getBatchSize());
+                    batches++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to purge {} {}: {}", task.getTarget(), task.getTargetId(), e.getMessage());
+            }
+
+            if(batches >= purgeProperties.getMaxBatchesPerRun()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.ih.itinerary_hub_service.purge.types;
+
+public enum PurgeTarget {
+    TRIP,
+    USER
+}
@@ -0,0 +1,69 @@
+package com.ih.itinerary_hub_service.ratelimit;
+
+import com.ih.itinerary_hub_service.properties.ConcurrencyLimitProperties.EndpointClass;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD limit on in-flight requests for one endpoint class.
+ * A request that finishes under the latency threshold adds one to the limit, as long as the limit
+ * is actually being used; a slower one multiplies it by the backoff ratio. Both counters are CAS-updated.
+ * */
+public class AdaptiveConcurrencyLimit {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimit(String name, EndpointClass endpointClass) {
+        if (endpointClass.getMinLimit() < 1 || endpointClass.getMaxLimit() < endpointClass.getMinLimit()) {
+            throw new IllegalArgumentException("Invalid concurrency limits for " + name);
+        }
+
+        this.name = name;
+        this.minLimit = endpointClass.getMinLimit();
+        this.maxLimit = endpointClass.getMaxLimit();
+        this.latencyThresholdNanos = endpointClass.getLatencyThreshold().toNanos();
+        this.backoffRatio = endpointClass.getBackoffRatio();
+        this.limit = new AtomicInteger(Math.min(maxLimit, Math.max(minLimit, endpointClass.getInitialLimit())));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        if (latencyNanos > latencyThresholdNanos) {
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        } else {
+            // a limit that's never reached tells nothing about capacity, so don't let it drift up
+            limit.updateAndGet(current -> inFlightBefore * 2 >= current ? Math.min(maxLimit, current + 1) : current);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ih.itinerary_hub_service.ratelimit;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Runs each request inside its endpoint class's bulkhead, waiting at most the bulkhead's max-wait-duration for a slot.
+ * A full bulkhead throws BulkheadFullException, which GlobalExceptionHandler turns into a 503.
+ * */
+@Component
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String BULKHEAD_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".bulkhead";
+
+    private final EndpointBulkheads endpointBulkheads;
+    private final RouteClassifier routeClassifier;
+
+    public BulkheadInterceptor(EndpointBulkheads endpointBulkheads, RouteClassifier routeClassifier) {
+        this.endpointBulkheads = endpointBulkheads;
+        this.routeClassifier = routeClassifier;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Bulkhead bulkhead = endpointBulkheads.bulkheadFor(routeClassifier.classify(request));
+
+        if (bulkhead != null) {
+            bulkhead.acquirePermission();
+            request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(BULKHEAD_ATTRIBUTE) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(BULKHEAD_ATTRIBUTE);
+            bulkhead.onComplete();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ih.itinerary_hub_service.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Holds a concurrency permit for the whole request, released with its latency once the response is done.
+ * Rejections are thrown so GlobalExceptionHandler turns them into a 503.
+ * */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final RouteClassifier routeClassifier;
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimiter concurrencyLimiter, RouteClassifier routeClassifier) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.routeClassifier = routeClassifier;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire(routeClassifier.classify(request));
+
+        if (permit != null) {
+            request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof ConcurrencyLimiter.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            concurrencyLimiter.release(permit);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ih.itinerary_hub_service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ih.itinerary_hub_service.properties.ConcurrencyLimitProperties;
+import com.ih.itinerary_hub_service.ratelimit.exceptions.ServiceOverloaded;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sheds load once an endpoint class has as many requests in flight as its adaptive limit allows,
+ * so slow trip traversals fail fast with a 503 instead of queueing for Tomcat threads and connections.
+ * */
+@Component
+@Slf4j
+public class ConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final Ticker ticker;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new HashMap<>();
+    private final Map<String, Counter> rejections = new HashMap<>();
+
+    @Autowired
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+
+        properties.getClasses().forEach((name, endpointClass) -> {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(name, endpointClass);
+            limits.put(name, limit);
+
+            Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("class", name)
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("class", name)
+                    .register(meterRegistry);
+            rejections.put(name, Counter.builder("http.concurrency.rejected")
+                    .tag("class", name)
+                    .register(meterRegistry));
+        });
+
+        if (!limits.containsKey(properties.getDefaultClass())) {
+            throw new IllegalArgumentException("No concurrency limit configured for default class " + properties.getDefaultClass());
+        }
+    }
+
+    /**
+     * Admits the request or throws {@link ServiceOverloaded}.
+     * The returned permit must be released when the request completes; null means the request isn't limited.
+     * */
+    public Permit acquire(String routeClass) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+
+        AdaptiveConcurrencyLimit limit = limitFor(routeClass);
+        if (!limit.tryAcquire()) {
+            rejections.get(limit.getName()).increment();
+            log.warn("Shedding a {} request, {} requests in flight for {}", routeClass, limit.getInFlight(), limit.getName());
+            throw new ServiceOverloaded("Service is busy, try again later", properties.getRetryAfter().toSeconds());
+        }
+        return new Permit(limit, ticker.read());
+    }
+
+    public void release(Permit permit) {
+        permit.limit().release(ticker.read() - permit.startNanos());
+    }
+
+    public AdaptiveConcurrencyLimit limitFor(String routeClass) {
+        return limits.getOrDefault(routeClass, limits.get(properties.getDefaultClass()));
+    }
+
+    public record Permit(AdaptiveConcurrencyLimit limit, long startNanos) {
+    }
+}
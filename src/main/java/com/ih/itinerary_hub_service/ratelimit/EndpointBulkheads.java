@@ -0,0 +1,35 @@
+package com.ih.itinerary_hub_service.ratelimit;
+
+import com.ih.itinerary_hub_service.properties.BulkheadProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the resilience4j bulkhead for a route class: trip traversals, writes or lightweight reads,
+ * so a burst of heavy reads can only fill its own bulkhead and never the threads and connections the others need.
+ * Bulkheads come from the registry, so their metrics are published by the resilience4j auto-configuration.
+ * <p>
+ * The ConcurrencyLimiter works on the same route classes but answers a different question.
+ * Its limits follow latency and only shrink once requests are already slow, then it sheds immediately.
+ * Plain reads and writes share its default limit. The bulkheads are fixed caps that hold even while everything is fast,
+ * keep reads and writes apart, and let a request wait briefly for a slot instead of failing.
+ * */
+@Component
+public class EndpointBulkheads {
+
+    private final BulkheadProperties properties;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public EndpointBulkheads(BulkheadProperties properties, BulkheadRegistry bulkheadRegistry) {
+        this.properties = properties;
+        this.bulkheadRegistry = bulkheadRegistry;
+
+        properties.getClasses().values().forEach(bulkheadRegistry::bulkhead);
+        bulkheadRegistry.bulkhead(properties.getDefaultBulkhead());
+    }
+
+    public Bulkhead bulkheadFor(String routeClass) {
+        return bulkheadRegistry.bulkhead(properties.getClasses().getOrDefault(routeClass, properties.getDefaultBulkhead()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.ih.itinerary_hub_service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ih.itinerary_hub_service.properties.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One token bucket per user or client IP, so a busy caller only throttles itself.
+ * Each bucket is a single AtomicLong holding the time at which it would be full again
+ * (the generic cell rate algorithm), so taking tokens is one CAS and allocates nothing.
+ * Buckets live in a size-bounded Caffeine map whose hash bins and buffers are striped,
+ * idle buckets are evicted after {@link RateLimitProperties#getIdleTimeout()}.
+ * */
+@Component
+public class KeyedRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+    private final long nanosPerToken;
+    private final long burstNanos;
+
+    @Autowired
+    public KeyedRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public KeyedRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        if (properties.getCapacity() < 1 || properties.getRefillPerSecond() <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+
+        this.properties = properties;
+        this.ticker = ticker;
+        this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRefillPerSecond()));
+        this.burstNanos = nanosPerToken * properties.getCapacity();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+    }
+
+    /**
+     * Takes the route class's cost from the key's bucket.
+     * Returns 0 when the request may go ahead, otherwise how many nanoseconds until it would.
+     * */
+    public long tryAcquire(String key, String routeClass) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        return tryAcquire(key, costOf(routeClass));
+    }
+
+    public long tryAcquire(String key, int cost) {
+        // a cost above the capacity could never be paid, charge the whole bucket instead
+        long costNanos = nanosPerToken * Math.min(Math.max(cost, 0), properties.getCapacity());
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = ticker.read();
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + costNanos;
+            long waitNanos = next - burstNanos - now;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int costOf(String routeClass) {
+        return properties.getClassCosts().getOrDefault(routeClass, properties.getDefaultCost());
+    }
+
+    public void reset() {
+        buckets.invalidateAll();
+    }
+}
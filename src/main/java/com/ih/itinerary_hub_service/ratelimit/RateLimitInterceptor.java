@@ -0,0 +1,53 @@
+package com.ih.itinerary_hub_service.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits by the authenticated user, or by client IP for public paths.
+ * The remote address is already the original client's when server.forward-headers-strategy is set.
+ * Runs after handler mapping, so routes are costed by the class of their pattern rather than the raw path.
+ * */
+@Component
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final KeyedRateLimiter rateLimiter;
+    private final RouteClassifier routeClassifier;
+
+    public RateLimitInterceptor(KeyedRateLimiter rateLimiter, RouteClassifier routeClassifier) {
+        this.rateLimiter = rateLimiter;
+        this.routeClassifier = routeClassifier;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        long waitNanos = rateLimiter.tryAcquire(keyOf(request), routeClassifier.classify(request));
+
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        log.warn("Rate limit exceeded for {} {}", request.getMethod(), request.getRequestURI());
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
+        return false;
+    }
+
+    static String keyOf(HttpServletRequest request) {
+        if (request.getAttribute("userId") instanceof UUID userId) {
+            return "user:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
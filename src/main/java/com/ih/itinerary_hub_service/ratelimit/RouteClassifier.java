@@ -0,0 +1,44 @@
+package com.ih.itinerary_hub_service.ratelimit;
+
+import com.ih.itinerary_hub_service.properties.RouteClassProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Sorts a request into the class the rate limiter, the concurrency limiter and the bulkheads are configured by.
+ * Classified once per request, the result is kept on the request for the next interceptor.
+ * */
+@Component
+public class RouteClassifier {
+
+    public static final String READ = "read";
+    public static final String WRITE = "write";
+
+    private static final String ROUTE_CLASS_ATTRIBUTE = RouteClassifier.class.getName() + ".routeClass";
+
+    private final RouteClassProperties properties;
+
+    public RouteClassifier(RouteClassProperties properties) {
+        this.properties = properties;
+    }
+
+    public String classify(HttpServletRequest request) {
+        if (request.getAttribute(ROUTE_CLASS_ATTRIBUTE) instanceof String routeClass) {
+            return routeClass;
+        }
+
+        String route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String routeClass = classify(request.getMethod(), route);
+        request.setAttribute(ROUTE_CLASS_ATTRIBUTE, routeClass);
+        return routeClass;
+    }
+
+    public String classify(String method, String route) {
+        String routeClass = route == null ? null : properties.getRoutes().get(method + " " + route);
+        if (routeClass != null) {
+            return routeClass;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? READ : WRITE;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ih.itinerary_hub_service.ratelimit.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceOverloaded extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloaded(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
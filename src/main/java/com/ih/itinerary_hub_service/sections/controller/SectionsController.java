@@ -1,5 +1,7 @@
 package com.ih.itinerary_hub_service.sections.controller;
 
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+import com.ih.itinerary_hub_service.ordering.responses.RankDetails;
 import com.ih.itinerary_hub_service.sections.requests.CreateSectionRequest;
 import com.ih.itinerary_hub_service.sections.requests.UpdateSectionRequest;
 import com.ih.itinerary_hub_service.sections.responses.SectionDetails;
@@ -87,6 +89,17 @@ public class SectionsController {
         sectionService.updateSection(sectionId, tripId, request);
     }
 
+    @PutMapping("/trips/{tripId}/sections/{sectionId}/position")
+    @Operation(summary = "${sections.moveSection.summary}")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Section moved")})
+    public RankDetails moveSection(
+            @PathVariable UUID tripId,
+            @PathVariable UUID sectionId,
+            @RequestBody MoveBetweenRequest request
+    ) {
+        return sectionService.moveSection(sectionId, tripId, request);
+    }
+
     @DeleteMapping("/trips/{tripId}/sections/{sectionId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "${sections.deleteSection.summary}")
@@ -1,5 +1,6 @@
 package com.ih.itinerary_hub_service.sections.persistence.entity;
 
+import com.ih.itinerary_hub_service.ordering.RankKeys;
 import com.ih.itinerary_hub_service.trips.persistence.entity.Trip;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -21,7 +22,7 @@ public class Section {
     @Column(name = "section_id", nullable = false)
     private UUID sectionId;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "trip_id", nullable = false)
     private Trip trip;
 
@@ -30,4 +31,18 @@ public class Section {
 
     @Column(name = "section_order", nullable = false)
     private Integer sectionOrder;
+
+    // see RankKeys, null only for rows written before ranks existed
+    @Column(name = "rank_key", length = 64)
+    private String rankKey;
+
+    public Section(UUID sectionId, Trip trip, String sectionName, Integer sectionOrder) {
+        this(sectionId, trip, sectionName, sectionOrder, RankKeys.fromOrder(sectionOrder));
+    }
+
+    // an integer order from the client replaces the rank, so both ways of ordering stay consistent
+    public void setSectionOrder(Integer sectionOrder) {
+        this.sectionOrder = sectionOrder;
+        this.rankKey = RankKeys.fromOrder(sectionOrder);
+    }
 }
@@ -1,6 +1,7 @@
 package com.ih.itinerary_hub_service.sections.persistence.repository;
 
 import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
+import com.ih.itinerary_hub_service.sections.responses.SectionDetails;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -14,13 +15,19 @@ import java.util.UUID;
 @Repository
 public interface SectionsRepository extends JpaRepository<Section, UUID> {
 
-    @Query("SELECT t FROM Section t WHERE t.sectionId = :sectionId AND t.trip.tripId = :tripId")
+    @Query("SELECT t FROM Section t WHERE t.sectionId = :sectionId AND t.trip.tripId = :tripId AND t.trip.deletedAt IS NULL")
     Optional<Section> findBySectionIdAndTripId(@Param("sectionId") UUID sectionId, @Param("tripId") UUID tripId);
 
-    @Query("SELECT t FROM Section t WHERE t.trip.tripId = :tripId")
+    @Query("SELECT t FROM Section t WHERE t.trip.tripId = :tripId AND t.trip.deletedAt IS NULL")
     List<Section> findByTripId(@Param("tripId") UUID tripId);
 
+    @Query("SELECT new com.ih.itinerary_hub_service.sections.responses.SectionDetails(t.sectionId, t.sectionName, t.sectionOrder, t.rankKey) FROM Section t WHERE t.trip.tripId = :tripId AND t.trip.deletedAt IS NULL")
+    List<SectionDetails> findDetailsByTripId(@Param("tripId") UUID tripId);
+
     @Modifying
-    @Query("UPDATE Section s SET s.sectionOrder = :newOrder WHERE s.sectionId = :sectionId AND s.trip.tripId = :tripId")
-    void updateOrder(@Param("sectionId") UUID sectionId, @Param("tripId") UUID tripId, @Param("newOrder") int newOrder);
+    @Query("UPDATE Section s SET s.sectionOrder = :newOrder, s.rankKey = :rankKey WHERE s.sectionId = :sectionId AND s.trip.tripId = :tripId")
+    void updateOrder(@Param("sectionId") UUID sectionId, @Param("tripId") UUID tripId, @Param("newOrder") int newOrder, @Param("rankKey") String rankKey);
+
+    @Query("SELECT DISTINCT t.trip.tripId FROM Section t WHERE (t.rankKey IS NULL OR LENGTH(t.rankKey) > :maxLength) AND t.trip.deletedAt IS NULL")
+    List<UUID> findTripIdsWithUncompactedRanks(@Param("maxLength") int maxLength);
 }
@@ -1,10 +1,20 @@
 package com.ih.itinerary_hub_service.sections.responses;
 
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+
 import java.util.UUID;
 
 public record SectionDetails(
         UUID sectionId,
         String sectionName,
-        Integer order
+        Integer order,
+        String rank
 ) {
+    public SectionDetails {
+        rank = RankKeys.effective(rank, order);
+    }
+
+    public SectionDetails(UUID sectionId, String sectionName, Integer order) {
+        this(sectionId, sectionName, order, null);
+    }
 }
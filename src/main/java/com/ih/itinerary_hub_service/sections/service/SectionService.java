@@ -1,9 +1,11 @@
 package com.ih.itinerary_hub_service.sections.service;
 
-import com.ih.itinerary_hub_service.dto.OptionDTO;
-import com.ih.itinerary_hub_service.dto.SectionDTO;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
 import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.ordering.Moves;
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+import com.ih.itinerary_hub_service.ordering.responses.RankDetails;
 import com.ih.itinerary_hub_service.sections.exceptions.CreateSectionInvalidRequest;
 import com.ih.itinerary_hub_service.sections.exceptions.SectionNotFound;
 import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
@@ -12,15 +14,15 @@ import com.ih.itinerary_hub_service.sections.requests.CreateSectionRequest;
 import com.ih.itinerary_hub_service.sections.requests.UpdateSectionRequest;
 import com.ih.itinerary_hub_service.sections.responses.SectionDetails;
 import com.ih.itinerary_hub_service.trips.persistence.entity.Trip;
-import jakarta.transaction.Transactional;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -28,12 +30,15 @@ public class SectionService {
 
     private final SectionsRepository sectionsRepository;
     private final OptionsService optionsService;
+    private final TripChangeRecorder tripChangeRecorder;
 
-    public SectionService(SectionsRepository sectionsRepository, OptionsService optionsService) {
+    public SectionService(SectionsRepository sectionsRepository, OptionsService optionsService, TripChangeRecorder tripChangeRecorder) {
         this.sectionsRepository = sectionsRepository;
         this.optionsService = optionsService;
+        this.tripChangeRecorder = tripChangeRecorder;
     }
 
+    @Transactional
     public SectionDetails createSection(Trip trip, CreateSectionRequest request) {
         if(request.order() == null || request.order() < 0) {
             throw new CreateSectionInvalidRequest("Order cannot be null");
@@ -53,6 +58,7 @@ public class SectionService {
 
         try {
             sectionsRepository.save(newSection);
+            tripChangeRecorder.recordUpsert(trip.getTripId(), TripEntityType.SECTION, sectionId);
             log.info("Section created: {}", sectionId);
 
             optionsService.initializeTripOption(newSection);
@@ -70,6 +76,7 @@ public class SectionService {
         return mapSectionDetails(existingSection);
     }
 
+    @Transactional
     public void updateSection(UUID sectionId, UUID tripId, UpdateSectionRequest request) {
         Section existingSection = getSection(sectionId, tripId);
 
@@ -81,6 +88,7 @@ public class SectionService {
 
         try {
             sectionsRepository.save(existingSection);
+            tripChangeRecorder.recordUpsert(tripId, TripEntityType.SECTION, sectionId);
             log.info("Section updated: {}", sectionId);
         } catch (Exception e) {
             log.error("Failed to update a section: {}", e.getMessage());
@@ -88,11 +96,37 @@ public class SectionService {
         }
     }
 
+    // only the moved section is written, its siblings keep their ranks
+    @Transactional
+    public RankDetails moveSection(UUID sectionId, UUID tripId, MoveBetweenRequest request) {
+        Moves.validate(sectionId, request);
+        tripChangeRecorder.lockTrip(tripId);
+
+        Section existingSection = getSection(sectionId, tripId);
+        String lower = request.afterId() == null ? null : effectiveRank(getSection(request.afterId(), tripId));
+        String upper = request.beforeId() == null ? null : effectiveRank(getSection(request.beforeId(), tripId));
+
+        existingSection.setRankKey(Moves.rankBetween(lower, upper));
+
+        try {
+            sectionsRepository.save(existingSection);
+            tripChangeRecorder.recordUpsert(tripId, TripEntityType.SECTION, sectionId);
+            log.info("Section {} moved to rank {}", sectionId, existingSection.getRankKey());
+        } catch (Exception e) {
+            log.error("Failed to move a section: {}", e.getMessage());
+            throw new DbFailure("Failed to move a section");
+        }
+
+        return new RankDetails(sectionId, existingSection.getRankKey());
+    }
+
+    @Transactional
     public void deleteSection(UUID sectionId, UUID tripId) {
         Section existingSection = getSection(sectionId, tripId);
 
         try {
             sectionsRepository.delete(existingSection);
+            tripChangeRecorder.recordDelete(tripId, TripEntityType.SECTION, sectionId);
             log.info("Section deleted: {}", sectionId);
         } catch (Exception e) {
             log.error("Failed to delete a section: {}", e.getMessage());
@@ -111,38 +145,28 @@ public class SectionService {
     @Transactional
     public void updateSectionOrders(UUID tripId, List<SectionDetails> updatedSections) {
         for(SectionDetails sectionDetails : updatedSections) {
-            sectionsRepository.updateOrder(sectionDetails.sectionId(), tripId, sectionDetails.order());
+            sectionsRepository.updateOrder(sectionDetails.sectionId(), tripId, sectionDetails.order(), RankKeys.fromOrder(sectionDetails.order()));
         }
+        tripChangeRecorder.recordUpserts(tripId, TripEntityType.SECTION, updatedSections.stream().map(SectionDetails::sectionId).toList());
     }
 
+    @Transactional(readOnly = true)
     public List<SectionDetails> getSections(UUID tripId) {
-        return sectionsRepository.findByTripId(tripId).stream()
-                .map(this::mapSectionDetails)
-                .sorted(Comparator.comparing(SectionDetails::order))
-                .collect(Collectors.toList());
+        return sectionsRepository.findDetailsByTripId(tripId).stream()
+                .sorted(Comparator.comparing(SectionDetails::rank))
+                .toList();
     }
 
-    public List<SectionDTO> getAllSectionDTOs(UUID tripId) {
-        List<Section> sections = sectionsRepository.findByTripId(tripId);
-        List<SectionDTO> sectionDTOs = new ArrayList<>();
-
-        for(Section section : sections) {
-            List<OptionDTO> options = optionsService.findAllOptionDTOs(section.getSectionId());
-            sectionDTOs.add(new SectionDTO(
-                    mapSectionDetails(section),
-                    options
-            ));
-        }
-
-        sectionDTOs.sort(Comparator.comparing(o -> o.getSectionDetails().order()));
-        return sectionDTOs;
+    private static String effectiveRank(Section section) {
+        return RankKeys.effective(section.getRankKey(), section.getSectionOrder());
     }
 
-    private SectionDetails mapSectionDetails(Section section) {
+    public SectionDetails mapSectionDetails(Section section) {
         return new SectionDetails(
                 section.getSectionId(),
                 section.getSectionName(),
-                section.getSectionOrder()
+                section.getSectionOrder(),
+                section.getRankKey()
         );
     }
 }
@@ -0,0 +1,90 @@
+package com.ih.itinerary_hub_service.trips.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ih.itinerary_hub_service.dto.TripDTO;
+import com.ih.itinerary_hub_service.properties.TripCacheProperties;
+import com.ih.itinerary_hub_service.trips.model.TripVersion;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of assembled trips, one snapshot per trip tagged with the trip's change version.
+ *
+ * The version is the latest row in trip_changes, which every write path adds through TripChangeRecorder.
+ * It lives in the database, so a write handled by any instance makes every instance's snapshot stale,
+ * and ETags built from it agree across instances and restarts.
+ * */
+@Component
+@Slf4j
+public class TripSnapshotCache {
+
+    private final TripChangeRepository tripChangeRepository;
+    private final Cache<UUID, TripSnapshot> snapshots;
+
+    public TripSnapshotCache(TripCacheProperties properties, MeterRegistry meterRegistry, TripChangeRepository tripChangeRepository) {
+        this.tripChangeRepository = tripChangeRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxElements())
+                .weigher(TripSnapshotCache::weigh)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "tripSnapshots");
+    }
+
+    public TripDTO get(UUID tripId, Supplier<TripDTO> loader) {
+        // read the version before loading, a write committing meanwhile can only make this snapshot older than its tag
+        TripVersion version = currentVersion(tripId);
+
+        TripSnapshot cached = snapshots.getIfPresent(tripId);
+        if (cached != null && cached.version().equals(version)) {
+            return cached.trip();
+        }
+
+        TripDTO trip = loader.get();
+        // a slower reader holding an older version must not replace a newer snapshot
+        snapshots.asMap().merge(tripId, new TripSnapshot(version, trip),
+                (existing, loaded) -> existing.version().version() > loaded.version().version() ? existing : loaded);
+        return trip;
+    }
+
+    // asMap() so the check isn't counted as a cache miss
+    public boolean isCached(UUID tripId) {
+        TripSnapshot cached = snapshots.asMap().get(tripId);
+        return cached != null && cached.version().equals(currentVersion(tripId));
+    }
+
+    public TripVersion currentVersion(UUID tripId) {
+        return tripChangeRepository.findCurrentVersion(tripId);
+    }
+
+    public String versionTag(UUID tripId) {
+        return currentVersion(tripId).tag();
+    }
+
+    // only frees memory, a stale snapshot is never served because its version no longer matches
+    public void evict(UUID tripId) {
+        snapshots.invalidate(tripId);
+        log.debug("Trip snapshot evicted: {}", tripId);
+    }
+
+    private static int weigh(UUID tripId, TripSnapshot snapshot) {
+        int elements = snapshot.trip().getSections().stream()
+                .flatMap(section -> section.getOptions().stream())
+                .mapToInt(option -> option.getBaseElementDetails().size())
+                .sum();
+
+        return elements + 1;
+    }
+
+    private record TripSnapshot(TripVersion version, TripDTO trip) {
+    }
+}
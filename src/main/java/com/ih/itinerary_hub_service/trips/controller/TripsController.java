@@ -1,19 +1,33 @@
 package com.ih.itinerary_hub_service.trips.controller;
 
 import com.ih.itinerary_hub_service.dto.TripDTO;
+import com.ih.itinerary_hub_service.jobs.responses.JobDetails;
+import com.ih.itinerary_hub_service.trips.model.TripPage;
 import com.ih.itinerary_hub_service.trips.requests.CreateTripRequest;
 import com.ih.itinerary_hub_service.trips.requests.UpdateTripRequest;
+import com.ih.itinerary_hub_service.trips.responses.TripChanges;
 import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import com.ih.itinerary_hub_service.trips.responses.TripListItem;
+import com.ih.itinerary_hub_service.trips.service.TripChangesService;
 import com.ih.itinerary_hub_service.trips.service.TripsService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,17 +39,37 @@ public class TripsController {
     private static final String TRIPS_PATH = "/trips";
 
     private final TripsService tripsService;
+    private final TripChangesService tripChangesService;
 
     @Autowired
-    public TripsController(TripsService tripsService) {
+    public TripsController(TripsService tripsService, TripChangesService tripChangesService) {
         this.tripsService = tripsService;
+        this.tripChangesService = tripChangesService;
     }
 
     @GetMapping(TRIPS_PATH)
     @Operation(summary = "${trips.getAllTrips.summary}")
-    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "All trips retrieved")})
-    public List<TripDetails> getTrips(@RequestAttribute("userId") UUID userId) {
-        return tripsService.getTrips(userId);
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trips retrieved, a Link header with rel=\"next\" points to the next page"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or cursor")
+    })
+    public List<TripListItem> getTrips(
+            @RequestAttribute("userId") UUID userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean summary,
+            HttpServletResponse response
+    ) {
+        TripPage page = tripsService.getTripPage(userId, limit, after, summary);
+
+        // the body stays a plain array, so clients that don't page are unaffected
+        if (page.nextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.nextCursor())
+                    .toUriString();
+            response.setHeader(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return page.trips();
     }
 
     @PostMapping(TRIPS_PATH)
@@ -46,10 +80,41 @@ public class TripsController {
         tripsService.createTrip(userId, request);
     }
 
+    @PostMapping(TRIPS_PATH + "/{tripId}:clone")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "${trips.cloneTrip.summary}")
+    @ApiResponses(value = { @ApiResponse(responseCode = "201", description = "Trip cloned")})
+    public TripDetails cloneTrip(@RequestAttribute("userId") UUID userId, @PathVariable UUID tripId) {
+        return tripsService.cloneTrip(userId, tripId);
+    }
+
+    @PostMapping(value = TRIPS_PATH + "/{tripId}:clone", params = "async=true")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "${trips.cloneTripAsync.summary}")
+    @Parameter(name = "async", in = ParameterIn.QUERY, description = "Set to true to clone in the background", schema = @Schema(type = "boolean"))
+    @ApiResponses(value = { @ApiResponse(responseCode = "202", description = "Trip clone queued, poll the job for the new trip ID")})
+    public JobDetails cloneTripAsync(@RequestAttribute("userId") UUID userId, @PathVariable UUID tripId) {
+        return tripsService.cloneTripAsync(userId, tripId);
+    }
+
     @GetMapping(TRIPS_PATH + "/{tripId}")
     @Operation(summary = "${trips.getTripById.summary}")
-    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Trip retrieved")})
-    public TripDTO getTripById(@RequestAttribute("userId") UUID userId, @PathVariable UUID tripId) {
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trip retrieved. Large trips are streamed and are not a consistent snapshot, " +
+                    "one written to while streaming ends with \"consistent\": false and should be fetched again"),
+            @ApiResponse(responseCode = "304", description = "Trip not modified")
+    })
+    public TripDTO getTripById(@RequestAttribute("userId") UUID userId, @PathVariable UUID tripId, WebRequest webRequest, HttpServletResponse response) throws IOException {
+        if (webRequest.checkNotModified(tripsService.getTripVersionTag(userId, tripId))) {
+            return null;
+        }
+
+        if (tripsService.shouldStreamTrip(tripId)) {
+            // the body is already written, returning null tells Spring the response is handled
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            tripsService.streamTrip(userId, tripId, response.getOutputStream());
+            return null;
+        }
         return tripsService.traverseTrip(userId, tripId);
     }
 
@@ -60,6 +125,13 @@ public class TripsController {
         return tripsService.getTripById(userId, tripId);
     }
 
+    @GetMapping(TRIPS_PATH + "/{tripId}/changes")
+    @Operation(summary = "${trips.getTripChanges.summary}")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Trip changes retrieved")})
+    public TripChanges getTripChanges(@RequestAttribute("userId") UUID userId, @PathVariable UUID tripId, @RequestParam(defaultValue = "0") long since) {
+        return tripChangesService.getChangesSince(userId, tripId, since);
+    }
+
     @PutMapping(TRIPS_PATH  + "/{tripId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "${trips.updateTrip.summary}")
@@ -69,9 +141,9 @@ public class TripsController {
     }
 
     @DeleteMapping(TRIPS_PATH  + "/{tripId}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @Operation(summary = "${trips.deleteTrip.summary}")
-    @ApiResponses(value = { @ApiResponse(responseCode = "204", description = "Trip deleted")})
+    @ApiResponses(value = { @ApiResponse(responseCode = "202", description = "Trip deleted, its contents are purged in the background")})
     public void deleteTrip(@RequestAttribute("userId") UUID userId, @PathVariable UUID tripId) {
         tripsService.deleteTrip(userId, tripId);
     }
@@ -0,0 +1,7 @@
+package com.ih.itinerary_hub_service.trips.exceptions;
+
+public class InvalidTripListRequest extends RuntimeException {
+    public InvalidTripListRequest(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ih.itinerary_hub_service.trips.model;
+
+import com.ih.itinerary_hub_service.trips.exceptions.InvalidTripListRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the trip list, which is ordered by createdAt then tripId, newest first.
+ * Opaque to clients; the next page starts strictly after it, so trips created or deleted
+ * between requests don't shift pages the way an offset would.
+ * */
+public record TripCursor(LocalDateTime createdAt, UUID tripId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + tripId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TripCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new TripCursor(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidTripListRequest("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ih.itinerary_hub_service.trips.model;
+
+import com.ih.itinerary_hub_service.trips.responses.TripListItem;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record TripPage(List<TripListItem> trips, String nextCursor) {
+}
@@ -0,0 +1,16 @@
+package com.ih.itinerary_hub_service.trips.model;
+
+import java.util.UUID;
+
+/**
+ * Latest recorded change of a trip. The version alone can be handed out twice when a write rolls back,
+ * the change id of the row that carries it can't, so together they identify one committed state.
+ * */
+public record TripVersion(long version, UUID changeId) {
+
+    public static final TripVersion INITIAL = new TripVersion(0, null);
+
+    public String tag() {
+        return changeId == null ? Long.toString(version) : version + "-" + changeId;
+    }
+}
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "trips", schema = "dev")
+@Table(
+        name = "trips",
+        schema = "dev",
+        indexes = @Index(name = "idx_trips_user_created", columnList = "user_id, created_at, trip_id")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,7 +26,7 @@ public class Trip {
     @Column(name = "trip_id", nullable = false)
     private UUID tripId;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -40,4 +44,12 @@ public class Trip {
 
     @Column(name = "image_ref", nullable = false)
     private String imageRef = "default";
+
+    // set when the trip is deleted, everything under it is purged in the background and readers skip it meanwhile
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    public Trip(UUID tripId, User user, String tripName, LocalDateTime createdAt, LocalDateTime startDate, LocalDateTime endDate, String imageRef) {
+        this(tripId, user, tripName, createdAt, startDate, endDate, imageRef, null);
+    }
 }
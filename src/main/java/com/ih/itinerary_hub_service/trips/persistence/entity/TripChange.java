@@ -0,0 +1,66 @@
+package com.ih.itinerary_hub_service.trips.persistence.entity;
+
+import com.ih.itinerary_hub_service.trips.types.TripChangeType;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Latest change to one entity of a trip. Only the newest row per entity is kept,
+ * deletions stay behind as tombstones until the trip itself is deleted.
+ * */
+@Entity
+@Table(
+        name = "trip_changes",
+        schema = "dev",
+        indexes = @Index(name = "idx_trip_changes_trip_version", columnList = "trip_id, version")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripChange implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "change_id", nullable = false)
+    private UUID changeId;
+
+    // no foreign key, tombstones outlive the rows they describe
+    @Column(name = "trip_id", nullable = false)
+    private UUID tripId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private TripEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private TripChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Override
+    public UUID getId() {
+        return changeId;
+    }
+
+    // rows are only ever inserted, so save() can persist without selecting by the assigned id first
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ih.itinerary_hub_service.trips.persistence.repository;
+
+import com.ih.itinerary_hub_service.trips.model.TripVersion;
+import com.ih.itinerary_hub_service.trips.persistence.entity.TripChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TripChangeRepository extends JpaRepository<TripChange, UUID> {
+
+    @Query("SELECT COALESCE(MAX(t.version), 0) FROM TripChange t WHERE t.tripId = :tripId")
+    long findLatestVersion(@Param("tripId") UUID tripId);
+
+    // several rows can share the latest version, ordering by id picks the same one every time
+    @Query("SELECT new com.ih.itinerary_hub_service.trips.model.TripVersion(t.version, t.changeId) FROM TripChange t WHERE t.tripId = :tripId ORDER BY t.version DESC, t.changeId")
+    List<TripVersion> findLatest(@Param("tripId") UUID tripId, Limit limit);
+
+    default TripVersion findCurrentVersion(UUID tripId) {
+        return findLatest(tripId, Limit.of(1)).stream()
+                .findFirst()
+                .orElse(TripVersion.INITIAL);
+    }
+
+    @Query("SELECT t FROM TripChange t WHERE t.tripId = :tripId AND t.version > :since ORDER BY t.version")
+    List<TripChange> findByTripIdSince(@Param("tripId") UUID tripId, @Param("since") long since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TripChange t WHERE t.tripId = :tripId AND t.entityId IN :entityIds")
+    void deleteByTripIdAndEntityIds(@Param("tripId") UUID tripId, @Param("entityIds") Collection<UUID> entityIds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TripChange t WHERE t.tripId = :tripId")
+    void deleteByTripId(@Param("tripId") UUID tripId);
+}
@@ -0,0 +1,74 @@
+package com.ih.itinerary_hub_service.trips.persistence.repository;
+
+import com.ih.itinerary_hub_service.trips.responses.TripSummary;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Counts, total price and next upcoming element for a page of trips in one statement.
+ * Each aggregate is grouped by trip in its own derived table and joined back, so counts aren't multiplied
+ * by joining sections, options and elements together.
+ * */
+@Repository
+public class TripSummaryRepository {
+
+    private static final String IN_TRIPS = "JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id IN (:tripIds)";
+
+    private static final String SUMMARIES = "SELECT t.trip_id AS trip_id, COALESCE(sc.section_count, 0) AS section_count, COALESCE(oc.option_count, 0) AS option_count, " +
+            "COALESCE(ec.element_count, 0) AS element_count, ec.total_price AS total_price, nx.next_at AS next_at " +
+            "FROM dev.trips t " +
+            "LEFT JOIN (SELECT s.trip_id, COUNT(*) AS section_count FROM dev.sections s WHERE s.trip_id IN (:tripIds) GROUP BY s.trip_id) sc ON sc.trip_id = t.trip_id " +
+            "LEFT JOIN (SELECT s.trip_id, COUNT(*) AS option_count FROM dev.options o JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id IN (:tripIds) GROUP BY s.trip_id) oc ON oc.trip_id = t.trip_id " +
+            "LEFT JOIN (SELECT s.trip_id, COUNT(*) AS element_count, SUM(b.price) AS total_price FROM dev.base_elements b " + IN_TRIPS + " GROUP BY s.trip_id) ec ON ec.trip_id = t.trip_id " +
+            "LEFT JOIN (SELECT d.trip_id, MIN(d.due_at) AS next_at FROM (" +
+            "SELECT s.trip_id, e.origin_datetime AS due_at FROM dev.transport_elements e JOIN dev.base_elements b ON b.base_element_id = e.base_element_id " + IN_TRIPS + " AND e.origin_datetime > :now " +
+            "UNION ALL SELECT s.trip_id, e.starts_at FROM dev.activity_elements e JOIN dev.base_elements b ON b.base_element_id = e.base_element_id " + IN_TRIPS + " AND e.starts_at > :now " +
+            "UNION ALL SELECT s.trip_id, v.datetime FROM dev.accommodation_events v JOIN dev.accommodation_elements e ON e.element_id = v.accommodation_id JOIN dev.base_elements b ON b.base_element_id = e.base_element_id " + IN_TRIPS + " AND v.datetime > :now" +
+            ") d GROUP BY d.trip_id) nx ON nx.trip_id = t.trip_id " +
+            "WHERE t.trip_id IN (:tripIds)";
+
+    private final EntityManager entityManager;
+
+    public TripSummaryRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<TripSummary> findSummaries(Collection<UUID> tripIds, LocalDateTime now) {
+        if(tripIds.isEmpty()) {
+            return List.of();
+        }
+
+        // typed scalars, drivers disagree on how a native UUID or timestamp column comes back
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(SUMMARIES)
+                .unwrap(NativeQuery.class)
+                .addScalar("trip_id", StandardBasicTypes.UUID)
+                .addScalar("section_count", StandardBasicTypes.LONG)
+                .addScalar("option_count", StandardBasicTypes.LONG)
+                .addScalar("element_count", StandardBasicTypes.LONG)
+                .addScalar("total_price", StandardBasicTypes.BIG_DECIMAL)
+                .addScalar("next_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .setParameter("tripIds", tripIds)
+                .setParameter("now", now)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new TripSummary(
+                        (UUID) row[0],
+                        (Long) row[1],
+                        (Long) row[2],
+                        (Long) row[3],
+                        (BigDecimal) row[4],
+                        (LocalDateTime) row[5]
+                ))
+                .toList();
+    }
+}
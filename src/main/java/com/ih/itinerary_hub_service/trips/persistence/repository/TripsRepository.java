@@ -1,13 +1,18 @@
 package com.ih.itinerary_hub_service.trips.persistence.repository;
 
 import com.ih.itinerary_hub_service.trips.persistence.entity.Trip;
+import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,15 +20,37 @@ import java.util.UUID;
 @Repository
 public interface TripsRepository extends JpaRepository<Trip, UUID> {
 
-    @Query("SELECT t FROM Trip t WHERE t.user.userId = :userId")
+    @Query("SELECT t FROM Trip t WHERE t.user.userId = :userId AND t.deletedAt IS NULL")
     List<Trip> findByUserId(@Param("userId") UUID userId);
 
-    @Query("SELECT t FROM Trip t WHERE t.tripId = :tripId AND t.user.userId = :userId")
+    @Query("SELECT t FROM Trip t WHERE t.tripId = :tripId AND t.user.userId = :userId AND t.deletedAt IS NULL")
     Optional<Trip> findByTripIdAndUserId(@Param("tripId") UUID tripId, @Param("userId") UUID userId);
 
+    // keyset pages, newest first; tripId breaks ties between trips created in the same instant
+    @Query("SELECT new com.ih.itinerary_hub_service.trips.responses.TripDetails(t.tripId, t.tripName, t.createdAt, t.imageRef, t.startDate, t.endDate) FROM Trip t WHERE t.user.userId = :userId AND t.deletedAt IS NULL ORDER BY t.createdAt DESC, t.tripId DESC")
+    List<TripDetails> findFirstPageByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query("SELECT new com.ih.itinerary_hub_service.trips.responses.TripDetails(t.tripId, t.tripName, t.createdAt, t.imageRef, t.startDate, t.endDate) FROM Trip t WHERE t.user.userId = :userId AND t.deletedAt IS NULL " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.tripId < :tripId)) ORDER BY t.createdAt DESC, t.tripId DESC")
+    List<TripDetails> findPageByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt, @Param("tripId") UUID tripId, Limit limit);
+
+    @Query("SELECT new com.ih.itinerary_hub_service.trips.responses.TripDetails(t.tripId, t.tripName, t.createdAt, t.imageRef, t.startDate, t.endDate) FROM Trip t WHERE t.tripId = :tripId AND t.user.userId = :userId AND t.deletedAt IS NULL")
+    Optional<TripDetails> findDetailsByTripIdAndUserId(@Param("tripId") UUID tripId, @Param("userId") UUID userId);
+
+    // the deletedAt check is evaluated in SQL under the lock, so a delete that committed first is always seen
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Trip t WHERE t.tripId = :tripId AND t.deletedAt IS NULL")
+    Optional<Trip> lockById(@Param("tripId") UUID tripId);
+
+    @Query("SELECT t.tripId FROM Trip t WHERE t.user.userId = :userId AND t.deletedAt IS NULL")
+    List<UUID> findIdsByUserId(@Param("userId") UUID userId);
+
+    // soft-deleted trips included, they still hold rows until purged
+    @Query("SELECT COUNT(t) FROM Trip t WHERE t.user.userId = :userId")
+    long countAllByUserId(@Param("userId") UUID userId);
+
     @Modifying
-    @Transactional
-    @Query(value = "DELETE FROM dev.trips WHERE trip_id = :tripId", nativeQuery = true)
-    void deleteTripById(@Param("tripId") UUID tripId);
+    @Query("UPDATE Trip t SET t.deletedAt = :deletedAt WHERE t.tripId IN :tripIds AND t.deletedAt IS NULL")
+    int markDeleted(@Param("tripIds") Collection<UUID> tripIds, @Param("deletedAt") LocalDateTime deletedAt);
 
 }
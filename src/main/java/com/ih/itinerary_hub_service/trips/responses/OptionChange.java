@@ -0,0 +1,11 @@
+package com.ih.itinerary_hub_service.trips.responses;
+
+import com.ih.itinerary_hub_service.options.responses.OptionDetails;
+
+import java.util.UUID;
+
+public record OptionChange(
+        UUID sectionId,
+        OptionDetails optionDetails
+) {
+}
@@ -0,0 +1,16 @@
+package com.ih.itinerary_hub_service.trips.responses;
+
+import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
+import com.ih.itinerary_hub_service.sections.responses.SectionDetails;
+
+import java.util.List;
+
+public record TripChanges(
+        long version,
+        TripDetails tripDetails,
+        List<SectionDetails> sections,
+        List<OptionChange> options,
+        List<BaseElementDetails> elements,
+        List<TripTombstone> deleted
+) {
+}
@@ -0,0 +1,24 @@
+package com.ih.itinerary_hub_service.trips.responses;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// same fields as TripDetails, summary is only filled in when asked for
+public record TripListItem(
+        UUID tripId,
+        String tripName,
+        LocalDateTime createdAt,
+        String imageRef,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonIgnoreProperties("tripId")
+        TripSummary summary
+) {
+    public static TripListItem of(TripDetails trip, TripSummary summary) {
+        return new TripListItem(trip.tripId(), trip.tripName(), trip.createdAt(), trip.imageRef(), trip.startDate(), trip.endDate(), summary);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ih.itinerary_hub_service.trips.responses;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TripSummary(
+        UUID tripId,
+        long sectionCount,
+        long optionCount,
+        long elementCount,
+        BigDecimal totalPrice,
+        LocalDateTime nextElementAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.ih.itinerary_hub_service.trips.responses;
+
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
+
+import java.util.UUID;
+
+public record TripTombstone(
+        TripEntityType entityType,
+        UUID entityId,
+        long version
+) {
+}
@@ -0,0 +1,107 @@
+package com.ih.itinerary_hub_service.trips.service;
+
+import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
+import com.ih.itinerary_hub_service.trips.cache.TripSnapshotCache;
+import com.ih.itinerary_hub_service.trips.exceptions.TripNotFound;
+import com.ih.itinerary_hub_service.trips.persistence.entity.TripChange;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripsRepository;
+import com.ih.itinerary_hub_service.trips.types.TripChangeType;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Called by every write path of a trip. Gives the change the next version of the trip's
+ * change sequence, which is also what cached snapshots and ETags are tagged with.
+ *
+ * The trip row is locked until the surrounding transaction ends, so versions of one trip
+ * become visible in the order they were handed out and a client reading "changes since N"
+ * cannot skip a change that commits late.
+ *
+ * Callers are expected to be transactional themselves, so the write and its change commit together.
+ * Without one, the write has already committed by the time a change is recorded and is not undone if recording fails.
+ * */
+@Service
+@Slf4j
+public class TripChangeRecorder {
+
+    private final TripsRepository tripsRepository;
+    private final TripChangeRepository tripChangeRepository;
+    private final TripSnapshotCache tripSnapshotCache;
+
+    public TripChangeRecorder(TripsRepository tripsRepository, TripChangeRepository tripChangeRepository, TripSnapshotCache tripSnapshotCache) {
+        this.tripsRepository = tripsRepository;
+        this.tripChangeRepository = tripChangeRepository;
+        this.tripSnapshotCache = tripSnapshotCache;
+    }
+
+    @Transactional
+    public void recordUpsert(UUID tripId, TripEntityType entityType, UUID entityId) {
+        record(tripId, entityType, List.of(entityId), TripChangeType.UPSERT);
+    }
+
+    @Transactional
+    public void recordUpserts(UUID tripId, TripEntityType entityType, Collection<UUID> entityIds) {
+        record(tripId, entityType, entityIds, TripChangeType.UPSERT);
+    }
+
+    @Transactional
+    public void recordDelete(UUID tripId, TripEntityType entityType, UUID entityId) {
+        record(tripId, entityType, List.of(entityId), TripChangeType.DELETE);
+    }
+
+    @Transactional
+    public void recordElementUpserts(Collection<BaseElement> baseElements) {
+        Map<UUID, Set<UUID>> elementIdsByTrip = baseElements.stream()
+                .collect(Collectors.groupingBy(
+                        baseElement -> baseElement.getOption().getSection().getTrip().getTripId(),
+                        Collectors.mapping(BaseElement::getBaseElementId, Collectors.toSet())
+                ));
+
+        elementIdsByTrip.forEach((tripId, elementIds) -> record(tripId, TripEntityType.ELEMENT, elementIds, TripChangeType.UPSERT));
+    }
+
+    // nobody can sync a deleted trip, so its history goes with it
+    @Transactional
+    public void clearTrip(UUID tripId) {
+        tripChangeRepository.deleteByTripId(tripId);
+        tripSnapshotCache.evict(tripId);
+    }
+
+    /**
+     * Takes the trip lock up front, for writes that read sibling rows and must not interleave
+     * with another write of the same trip. Recording a change later in the same transaction reuses it.
+     * */
+    @Transactional
+    public void lockTrip(UUID tripId) {
+        if(tripsRepository.lockById(tripId).isEmpty()) {
+            log.warn("Trip {} no longer exists, write rejected", tripId);
+            tripSnapshotCache.evict(tripId);
+            throw new TripNotFound("Trip not found");
+        }
+    }
+
+    private void record(UUID tripId, TripEntityType entityType, Collection<UUID> entityIds, TripChangeType changeType) {
+        if(entityIds.isEmpty()) {
+            return;
+        }
+
+        // the trip was deleted while this write was running, failing here rolls back the caller's transaction
+        // instead of leaving rows behind a purge that may already have passed their table
+        lockTrip(tripId);
+
+        long version = tripChangeRepository.findLatestVersion(tripId) + 1;
+        LocalDateTime changedAt = LocalDateTime.now();
+
+        tripChangeRepository.deleteByTripIdAndEntityIds(tripId, entityIds);
+        tripChangeRepository.saveAll(entityIds.stream()
+                .map(entityId -> new TripChange(UUID.randomUUID(), tripId, version, entityType, entityId, changeType, changedAt))
+                .toList());
+    }
+}
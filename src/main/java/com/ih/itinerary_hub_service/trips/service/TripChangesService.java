@@ -0,0 +1,108 @@
+package com.ih.itinerary_hub_service.trips.service;
+
+import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
+import com.ih.itinerary_hub_service.elements.persistence.repository.BaseElementRepository;
+import com.ih.itinerary_hub_service.elements.service.ElementsService;
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.sections.persistence.repository.SectionsRepository;
+import com.ih.itinerary_hub_service.sections.responses.SectionDetails;
+import com.ih.itinerary_hub_service.sections.service.SectionService;
+import com.ih.itinerary_hub_service.trips.persistence.entity.TripChange;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import com.ih.itinerary_hub_service.trips.responses.OptionChange;
+import com.ih.itinerary_hub_service.trips.responses.TripChanges;
+import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import com.ih.itinerary_hub_service.trips.responses.TripTombstone;
+import com.ih.itinerary_hub_service.trips.types.TripChangeType;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Answers "what changed since version N" from the trip's change log.
+ * Upserts are rendered from the current rows, so an entity changed several times is sent once;
+ * an upserted entity that is gone by now was removed together with a parent, whose tombstone is in the same answer.
+ * */
+@Service
+@Slf4j
+public class TripChangesService {
+
+    private final TripsService tripsService;
+    private final TripChangeRepository tripChangeRepository;
+    private final SectionsRepository sectionsRepository;
+    private final OptionsRepository optionsRepository;
+    private final BaseElementRepository baseElementRepository;
+    private final SectionService sectionService;
+    private final OptionsService optionsService;
+    private final ElementsService elementsService;
+
+    public TripChangesService(
+            TripsService tripsService,
+            TripChangeRepository tripChangeRepository,
+            SectionsRepository sectionsRepository,
+            OptionsRepository optionsRepository,
+            BaseElementRepository baseElementRepository,
+            SectionService sectionService,
+            OptionsService optionsService,
+            ElementsService elementsService
+    ) {
+        this.tripsService = tripsService;
+        this.tripChangeRepository = tripChangeRepository;
+        this.sectionsRepository = sectionsRepository;
+        this.optionsRepository = optionsRepository;
+        this.baseElementRepository = baseElementRepository;
+        this.sectionService = sectionService;
+        this.optionsService = optionsService;
+        this.elementsService = elementsService;
+    }
+
+    @Transactional(readOnly = true)
+    public TripChanges getChangesSince(UUID userId, UUID tripId, long since) {
+        TripDetails tripDetails = tripsService.getTripById(userId, tripId);
+        List<TripChange> changes = tripChangeRepository.findByTripIdSince(tripId, since);
+
+        long version = changes.stream()
+                .mapToLong(TripChange::getVersion)
+                .max()
+                .orElse(since);
+
+        Map<TripEntityType, List<UUID>> upsertedIds = new EnumMap<>(TripEntityType.class);
+        List<TripTombstone> deleted = new ArrayList<>();
+
+        for(TripChange change : changes) {
+            if(change.getChangeType() == TripChangeType.DELETE) {
+                deleted.add(new TripTombstone(change.getEntityType(), change.getEntityId(), change.getVersion()));
+            } else {
+                upsertedIds.computeIfAbsent(change.getEntityType(), type -> new ArrayList<>()).add(change.getEntityId());
+            }
+        }
+
+        List<SectionDetails> sections = sectionsRepository.findAllById(upsertedIds.getOrDefault(TripEntityType.SECTION, List.of())).stream()
+                .map(sectionService::mapSectionDetails)
+                .sorted(Comparator.comparing(SectionDetails::rank))
+                .toList();
+
+        List<OptionChange> options = optionsRepository.findAllById(upsertedIds.getOrDefault(TripEntityType.OPTION, List.of())).stream()
+                .map(option -> new OptionChange(option.getSection().getSectionId(), optionsService.mapOptionDetails(option)))
+                .sorted(Comparator.comparing(option -> option.optionDetails().rank()))
+                .toList();
+
+        List<BaseElementDetails> elements = elementsService.getElementsDetails(
+                baseElementRepository.findAllById(upsertedIds.getOrDefault(TripEntityType.ELEMENT, List.of()))
+        );
+
+        log.info("Trip {} changes since {}: {} upserts, {} tombstones, version {}", tripId, since, changes.size() - deleted.size(), deleted.size(), version);
+        return new TripChanges(
+                version,
+                upsertedIds.containsKey(TripEntityType.TRIP) ? tripDetails : null,
+                sections,
+                options,
+                elements,
+                deleted
+        );
+    }
+}
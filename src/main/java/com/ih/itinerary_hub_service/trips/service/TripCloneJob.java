@@ -0,0 +1,29 @@
+package com.ih.itinerary_hub_service.trips.service;
+
+import com.ih.itinerary_hub_service.jobs.persistence.entity.Job;
+import com.ih.itinerary_hub_service.jobs.service.JobHandler;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// the copy takes the job's ID, which makes a repeated run find it instead of cloning again
+@Component
+public class TripCloneJob implements JobHandler {
+
+    private final TripsService tripsService;
+
+    public TripCloneJob(TripsService tripsService) {
+        this.tripsService = tripsService;
+    }
+
+    @Override
+    public JobType type() {
+        return JobType.TRIP_CLONE;
+    }
+
+    @Override
+    public UUID handle(Job job) {
+        return tripsService.cloneTrip(job.getUserId(), job.getSubjectId(), job.getJobId()).tripId();
+    }
+}
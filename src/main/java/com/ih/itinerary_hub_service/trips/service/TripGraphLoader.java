@@ -0,0 +1,104 @@
+package com.ih.itinerary_hub_service.trips.service;
+
+import com.ih.itinerary_hub_service.dto.OptionDTO;
+import com.ih.itinerary_hub_service.dto.SectionDTO;
+import com.ih.itinerary_hub_service.dto.TripDTO;
+import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
+import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
+import com.ih.itinerary_hub_service.elements.persistence.repository.BaseElementRepository;
+import com.ih.itinerary_hub_service.elements.service.ElementsService;
+import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
+import com.ih.itinerary_hub_service.sections.persistence.repository.SectionsRepository;
+import com.ih.itinerary_hub_service.sections.service.SectionService;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the whole Trip -> Section -> Option -> Element -> Passenger graph
+ * with one query per level (and per element type) instead of one query per row,
+ * then assembles the TripDTO in memory.
+ *
+ * The number of statements depends only on which element types are present,
+ * not on how many sections, options or elements the trip has.
+ * */
+@Service
+@Slf4j
+public class TripGraphLoader {
+
+    private final SectionsRepository sectionsRepository;
+    private final OptionsRepository optionsRepository;
+    private final BaseElementRepository baseElementRepository;
+    private final SectionService sectionService;
+    private final OptionsService optionsService;
+    private final ElementsService elementsService;
+    private final TripChangeRepository tripChangeRepository;
+
+    public TripGraphLoader(
+            SectionsRepository sectionsRepository,
+            OptionsRepository optionsRepository,
+            BaseElementRepository baseElementRepository,
+            SectionService sectionService,
+            OptionsService optionsService,
+            ElementsService elementsService,
+            TripChangeRepository tripChangeRepository
+    ) {
+        this.sectionsRepository = sectionsRepository;
+        this.optionsRepository = optionsRepository;
+        this.baseElementRepository = baseElementRepository;
+        this.sectionService = sectionService;
+        this.optionsService = optionsService;
+        this.elementsService = elementsService;
+        this.tripChangeRepository = tripChangeRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public TripDTO loadTrip(TripDetails tripDetails) {
+        // read before the graph, so a concurrent write can only make the client re-fetch a change it already has
+        long changeVersion = tripChangeRepository.findLatestVersion(tripDetails.tripId());
+
+        List<Section> sections = sectionsRepository.findByTripId(tripDetails.tripId());
+
+        List<UUID> sectionIds = sections.stream().map(Section::getSectionId).toList();
+        List<Option> options = sectionIds.isEmpty()
+                ? List.of()
+                : optionsRepository.findBySectionIds(sectionIds);
+
+        List<UUID> optionIds = options.stream().map(Option::getOptionId).toList();
+        List<BaseElement> baseElements = optionIds.isEmpty()
+                ? List.of()
+                : baseElementRepository.findByOptionIds(optionIds);
+
+        Map<UUID, List<BaseElementDetails>> elementsByOption = elementsService.getElementsDetails(baseElements).stream()
+                .collect(Collectors.groupingBy(BaseElementDetails::getOptionID));
+
+        Map<UUID, List<OptionDTO>> optionsBySection = new HashMap<>();
+        for (Option option : options) {
+            // already sorted by order, groupingBy keeps it
+            List<BaseElementDetails> elements = elementsByOption.getOrDefault(option.getOptionId(), new ArrayList<>());
+
+            optionsBySection.computeIfAbsent(option.getSection().getSectionId(), id -> new ArrayList<>())
+                    .add(new OptionDTO(optionsService.mapOptionDetails(option), elements));
+        }
+
+        List<SectionDTO> sectionDTOs = new ArrayList<>();
+        for (Section section : sections) {
+            List<OptionDTO> sectionOptions = optionsBySection.getOrDefault(section.getSectionId(), new ArrayList<>());
+            sectionOptions.sort(Comparator.comparing(o -> o.getOptionDetails().rank()));
+
+            sectionDTOs.add(new SectionDTO(sectionService.mapSectionDetails(section), sectionOptions));
+        }
+        sectionDTOs.sort(Comparator.comparing(s -> s.getSectionDetails().rank()));
+
+        log.info("Trip graph loaded: {}, sections: {}, options: {}, elements: {}", tripDetails.tripId(), sections.size(), options.size(), baseElements.size());
+        return new TripDTO(tripDetails, sectionDTOs, changeVersion);
+    }
+}
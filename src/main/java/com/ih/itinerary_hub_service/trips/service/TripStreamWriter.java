@@ -0,0 +1,186 @@
+package com.ih.itinerary_hub_service.trips.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.dto.OptionDTO;
+import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
+import com.ih.itinerary_hub_service.elements.persistence.repository.BaseElementRepository;
+import com.ih.itinerary_hub_service.elements.service.ElementsService;
+import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.options.responses.OptionDetails;
+import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+import com.ih.itinerary_hub_service.properties.TripStreamingProperties;
+import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
+import com.ih.itinerary_hub_service.sections.persistence.repository.SectionsRepository;
+import com.ih.itinerary_hub_service.sections.responses.SectionDetails;
+import com.ih.itinerary_hub_service.sections.service.SectionService;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the same JSON as a serialized TripDTO, but option by option.
+ * Sections and options are small and read up front; elements are read for a batch of options,
+ * each read in its own short read-only transaction that is committed before anything is written,
+ * so heap use is bounded by one batch and no connection is held while the client reads the response.
+ *
+ * The reads don't share a snapshot, so a write to the trip while it streams can make an element show up
+ * twice or not at all. changeVersion is the version at the start, the one the ETag was made from;
+ * if the trip changed by the end, the response ends with "consistent": false and should be fetched again.
+ * */
+@Service
+@Slf4j
+public class TripStreamWriter {
+
+    private final SectionsRepository sectionsRepository;
+    private final OptionsRepository optionsRepository;
+    private final BaseElementRepository baseElementRepository;
+    private final TripChangeRepository tripChangeRepository;
+    private final SectionService sectionService;
+    private final OptionsService optionsService;
+    private final ElementsService elementsService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readTransaction;
+    private final ObjectMapper objectMapper;
+    private final TripStreamingProperties properties;
+
+    public TripStreamWriter(
+            SectionsRepository sectionsRepository,
+            OptionsRepository optionsRepository,
+            BaseElementRepository baseElementRepository,
+            TripChangeRepository tripChangeRepository,
+            SectionService sectionService,
+            OptionsService optionsService,
+            ElementsService elementsService,
+            EntityManagerFactory entityManagerFactory,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            TripStreamingProperties properties
+    ) {
+        this.sectionsRepository = sectionsRepository;
+        this.optionsRepository = optionsRepository;
+        this.baseElementRepository = baseElementRepository;
+        this.tripChangeRepository = tripChangeRepository;
+        this.sectionService = sectionService;
+        this.optionsService = optionsService;
+        this.elementsService = elementsService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public void writeTrip(TripDetails tripDetails, OutputStream outputStream) throws IOException {
+        // open-in-view binds one EntityManager to the whole request, set it aside so every read below
+        // gets its own, closed with its transaction; a caller's transaction is joined as is
+        Object requestEntityManager = TransactionSynchronizationManager.isActualTransactionActive()
+                ? null
+                : TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            write(tripDetails, outputStream);
+        } finally {
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+    }
+
+    private void write(TripDetails tripDetails, OutputStream outputStream) throws IOException {
+        TripOutline outline = readTransaction.execute(status -> loadOutline(tripDetails.tripId()));
+
+        int batchSize = Math.max(1, properties.getOptionsPerBatch());
+        Map<UUID, List<BaseElementDetails>> batchElements = Map.of();
+        int written = 0;
+
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeObjectField("tripDetails", tripDetails);
+            generator.writeArrayFieldStart("sections");
+
+            for (SectionOutline section : outline.sections()) {
+                generator.writeStartObject();
+                generator.writeObjectField("sectionDetails", section.sectionDetails());
+                generator.writeArrayFieldStart("options");
+
+                for (OptionDetails option : section.options()) {
+                    if (written % batchSize == 0) {
+                        generator.flush();
+                        List<UUID> batch = outline.optionIds().subList(written, Math.min(written + batchSize, outline.optionIds().size()));
+                        batchElements = readTransaction.execute(status -> loadElements(batch));
+                    }
+
+                    List<BaseElementDetails> elements = batchElements.getOrDefault(option.optionId(), List.of());
+                    generator.writeObject(new OptionDTO(option, elements));
+                    written++;
+                }
+
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+
+            generator.writeEndArray();
+            generator.writeNumberField("changeVersion", outline.changeVersion());
+
+            // headers and most of the body are already sent, so a marker is all that can be added
+            Long endVersion = readTransaction.execute(status -> tripChangeRepository.findLatestVersion(tripDetails.tripId()));
+            if (!Objects.equals(endVersion, outline.changeVersion())) {
+                log.warn("Trip {} changed while streaming, version {} to {}", tripDetails.tripId(), outline.changeVersion(), endVersion);
+                generator.writeBooleanField("consistent", false);
+            }
+            generator.writeEndObject();
+        }
+
+        log.info("Trip streamed: {}, sections: {}, options: {}", tripDetails.tripId(), outline.sections().size(), outline.optionIds().size());
+    }
+
+    private TripOutline loadOutline(UUID tripId) {
+        long changeVersion = tripChangeRepository.findLatestVersion(tripId);
+
+        List<Section> sections = new ArrayList<>(sectionsRepository.findByTripId(tripId));
+        sections.sort(Comparator.comparing(section -> RankKeys.effective(section.getRankKey(), section.getSectionOrder())));
+
+        List<UUID> sectionIds = sections.stream().map(Section::getSectionId).toList();
+        Map<UUID, List<Option>> optionsBySection = (sectionIds.isEmpty() ? List.<Option>of() : optionsRepository.findBySectionIds(sectionIds)).stream()
+                .sorted(Comparator.comparing(option -> RankKeys.effective(option.getRankKey(), option.getOptionOrder())))
+                .collect(Collectors.groupingBy(option -> option.getSection().getSectionId()));
+
+        List<SectionOutline> sectionOutlines = sections.stream()
+                .map(section -> new SectionOutline(
+                        sectionService.mapSectionDetails(section),
+                        optionsBySection.getOrDefault(section.getSectionId(), List.of()).stream().map(optionsService::mapOptionDetails).toList()
+                ))
+                .toList();
+
+        // trip order, so batches are consecutive options of the response
+        List<UUID> optionIds = sectionOutlines.stream()
+                .flatMap(section -> section.options().stream())
+                .map(OptionDetails::optionId)
+                .toList();
+
+        return new TripOutline(changeVersion, sectionOutlines, optionIds);
+    }
+
+    private Map<UUID, List<BaseElementDetails>> loadElements(List<UUID> optionIds) {
+        return elementsService.getElementsDetails(baseElementRepository.findByOptionIds(optionIds)).stream()
+                .collect(Collectors.groupingBy(BaseElementDetails::getOptionID));
+    }
+
+    private record SectionOutline(SectionDetails sectionDetails, List<OptionDetails> options) {
+    }
+
+    private record TripOutline(long changeVersion, List<SectionOutline> sections, List<UUID> optionIds) {
+    }
+}
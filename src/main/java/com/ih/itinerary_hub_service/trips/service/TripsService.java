@@ -1,60 +1,140 @@
 package com.ih.itinerary_hub_service.trips.service;
 
-import com.ih.itinerary_hub_service.dto.SectionDTO;
 import com.ih.itinerary_hub_service.dto.TripDTO;
+import com.ih.itinerary_hub_service.elements.persistence.repository.BaseElementRepository;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
+import com.ih.itinerary_hub_service.jobs.responses.JobDetails;
+import com.ih.itinerary_hub_service.jobs.service.JobService;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+import com.ih.itinerary_hub_service.persistence.CloneRepository;
+import com.ih.itinerary_hub_service.properties.TripStreamingProperties;
+import com.ih.itinerary_hub_service.purge.service.PurgeService;
 import com.ih.itinerary_hub_service.sections.requests.CreateSectionRequest;
 import com.ih.itinerary_hub_service.sections.service.SectionService;
+import com.ih.itinerary_hub_service.trips.cache.TripSnapshotCache;
+import com.ih.itinerary_hub_service.trips.exceptions.InvalidTripListRequest;
 import com.ih.itinerary_hub_service.trips.exceptions.TripNotFound;
+import com.ih.itinerary_hub_service.trips.model.TripCursor;
+import com.ih.itinerary_hub_service.trips.model.TripPage;
 import com.ih.itinerary_hub_service.trips.persistence.entity.Trip;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripSummaryRepository;
 import com.ih.itinerary_hub_service.trips.persistence.repository.TripsRepository;
 import com.ih.itinerary_hub_service.trips.requests.CreateTripRequest;
 import com.ih.itinerary_hub_service.trips.requests.UpdateTripRequest;
 import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import com.ih.itinerary_hub_service.trips.responses.TripListItem;
+import com.ih.itinerary_hub_service.trips.responses.TripSummary;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
 import com.ih.itinerary_hub_service.users.exceptions.UserNotFoundException;
 import com.ih.itinerary_hub_service.users.persistence.entity.User;
 import com.ih.itinerary_hub_service.users.persistence.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class TripsService {
 
+    private static final String COPY_SUFFIX = " (copy)";
+    private static final int MAX_TRIP_NAME_LENGTH = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TripsRepository tripsRepository;
     private final UserRepository userRepository;
     private final SectionService sectionService;
+    private final TripGraphLoader tripGraphLoader;
+    private final TripSnapshotCache tripSnapshotCache;
+    private final TripChangeRecorder tripChangeRecorder;
+    private final TripStreamWriter tripStreamWriter;
+    private final BaseElementRepository baseElementRepository;
+    private final TripStreamingProperties tripStreamingProperties;
+    private final CloneRepository cloneRepository;
+    private final PurgeService purgeService;
+    private final JobService jobService;
+    private final TripSummaryRepository tripSummaryRepository;
 
-    public TripsService(TripsRepository tripsRepository, UserRepository userRepository, SectionService sectionService) {
+    public TripsService(
+            TripsRepository tripsRepository,
+            UserRepository userRepository,
+            SectionService sectionService,
+            TripGraphLoader tripGraphLoader,
+            TripSnapshotCache tripSnapshotCache,
+            TripChangeRecorder tripChangeRecorder,
+            TripStreamWriter tripStreamWriter,
+            BaseElementRepository baseElementRepository,
+            TripStreamingProperties tripStreamingProperties,
+            CloneRepository cloneRepository,
+            PurgeService purgeService,
+            JobService jobService,
+            TripSummaryRepository tripSummaryRepository
+    ) {
         this.tripsRepository = tripsRepository;
         this.userRepository = userRepository;
         this.sectionService = sectionService;
+        this.tripGraphLoader = tripGraphLoader;
+        this.tripSnapshotCache = tripSnapshotCache;
+        this.tripChangeRecorder = tripChangeRecorder;
+        this.tripStreamWriter = tripStreamWriter;
+        this.baseElementRepository = baseElementRepository;
+        this.tripStreamingProperties = tripStreamingProperties;
+        this.cloneRepository = cloneRepository;
+        this.purgeService = purgeService;
+        this.jobService = jobService;
+        this.tripSummaryRepository = tripSummaryRepository;
     }
 
-    public List<TripDetails> getTrips(UUID userId) {
-        List<Trip> trips = tripsRepository.findByUserId(userId);
-        List<TripDetails> tripDetailsList = new ArrayList<>();
-
-        trips.forEach(trip -> {
-            TripDetails tripDetails = new TripDetails(
-                    trip.getTripId(),
-                    trip.getTripName(),
-                    trip.getCreatedAt(),
-                    trip.getImageRef(),
-                    trip.getStartDate(),
-                    trip.getEndDate()
-            );
-            tripDetailsList.add(tripDetails);
-        });
-
-        return tripDetailsList;
+    /**
+     * One page of trips, newest first. Without a limit every trip comes back in one page, as before paging existed.
+     * Summaries for the whole page come from a single aggregate query rather than a lookup per trip.
+     * */
+    @Transactional(readOnly = true)
+    public TripPage getTripPage(UUID userId, Integer limit, String after, boolean withSummary) {
+        if(limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new InvalidTripListRequest("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // one extra row tells whether there is a next page without a count query
+        Limit fetchLimit = limit == null ? Limit.unlimited() : Limit.of(limit + 1);
+        List<TripDetails> trips;
+        if(after == null) {
+            trips = tripsRepository.findFirstPageByUserId(userId, fetchLimit);
+        } else {
+            TripCursor cursor = TripCursor.decode(after);
+            trips = tripsRepository.findPageByUserIdAfter(userId, cursor.createdAt(), cursor.tripId(), fetchLimit);
+        }
+
+        String nextCursor = null;
+        if(limit != null && trips.size() > limit) {
+            trips = trips.subList(0, limit);
+            TripDetails last = trips.get(limit - 1);
+            nextCursor = new TripCursor(last.createdAt(), last.tripId()).encode();
+        }
+
+        Map<UUID, TripSummary> summaries = withSummary
+                ? tripSummaryRepository.findSummaries(trips.stream().map(TripDetails::tripId).toList(), LocalDateTime.now()).stream()
+                        .collect(Collectors.toMap(TripSummary::tripId, Function.identity()))
+                : Map.of();
+
+        List<TripListItem> items = trips.stream()
+                .map(trip -> TripListItem.of(trip, summaries.get(trip.tripId())))
+                .toList();
+
+        return new TripPage(items, nextCursor);
     }
 
+    @Transactional
     public void createTrip(UUID userId, CreateTripRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> {
@@ -80,6 +160,7 @@ public class TripsService {
 
         try {
             tripsRepository.save(newTrip);
+            tripChangeRecorder.recordUpsert(tripId, TripEntityType.TRIP, tripId);
             log.info("Trip created: {}", tripId);
         } catch (Exception e) {
             log.error("Failed to create a trip: {}", e.getMessage());
@@ -90,6 +171,7 @@ public class TripsService {
         sectionService.createSection(newTrip, sectionRequest);
     }
 
+    @Transactional
     public void updateTrip(UUID userId, UUID tripId, UpdateTripRequest request) {
         Trip existingTrip = getTrip(userId, tripId);
 
@@ -106,6 +188,7 @@ public class TripsService {
 
         try {
             tripsRepository.save(existingTrip);
+            tripChangeRecorder.recordUpsert(existingTrip.getTripId(), TripEntityType.TRIP, existingTrip.getTripId());
             log.info("Trip details updated for trip ID: {}", existingTrip.getTripId());
         } catch (Exception e) {
             log.error("Failed to update trip details: {}", e.getMessage());
@@ -118,7 +201,9 @@ public class TripsService {
         Trip existingTrip = getTrip(userId, tripId);
 
         try {
-            tripsRepository.deleteTripById(existingTrip.getTripId());
+            // readers stop seeing the trip now, its sections, options, elements and changes are purged in the background
+            purgeService.deleteTrip(existingTrip.getTripId());
+            tripSnapshotCache.evict(existingTrip.getTripId());
             log.info("Trip deleted, ID: {}", existingTrip.getTripId());
         } catch (Exception e) {
             log.error("Failed to delete the trip: {}", e.getMessage());
@@ -126,6 +211,52 @@ public class TripsService {
         }
     }
 
+    // the copy and everything in it is written in one transaction, a fixed number of statements whatever the trip size
+    @Transactional
+    public TripDetails cloneTrip(UUID userId, UUID tripId) {
+        return cloneTrip(userId, tripId, UUID.randomUUID());
+    }
+
+    // a retried clone job passes the same newTripId, so a copy that already committed is returned instead of made twice
+    @Transactional
+    public TripDetails cloneTrip(UUID userId, UUID tripId, UUID newTripId) {
+        Optional<TripDetails> existingCopy = tripsRepository.findDetailsByTripIdAndUserId(newTripId, userId);
+        if(existingCopy.isPresent()) {
+            return existingCopy.get();
+        }
+
+        Trip existingTrip = getTrip(userId, tripId);
+
+        Trip newTrip = new Trip(
+                newTripId,
+                existingTrip.getUser(),
+                copyName(existingTrip.getTripName()),
+                LocalDateTime.now(),
+                existingTrip.getStartDate(),
+                existingTrip.getEndDate(),
+                existingTrip.getImageRef()
+        );
+
+        try {
+            tripsRepository.save(newTrip);
+            cloneRepository.cloneTripContents(tripId, newTripId);
+            tripChangeRecorder.recordUpsert(newTripId, TripEntityType.TRIP, newTripId);
+            log.info("Trip {} cloned into {}", tripId, newTripId);
+        } catch (Exception e) {
+            log.error("Failed to clone the trip: {}", e.getMessage());
+            throw new DbFailure("Failed to clone the trip");
+        }
+
+        return new TripDetails(newTripId, newTrip.getTripName(), newTrip.getCreatedAt(), newTrip.getImageRef(), newTrip.getStartDate(), newTrip.getEndDate());
+    }
+
+    @Transactional
+    public JobDetails cloneTripAsync(UUID userId, UUID tripId) {
+        Trip existingTrip = getTrip(userId, tripId);
+
+        return jobService.enqueue(JobType.TRIP_CLONE, userId, existingTrip.getTripId());
+    }
+
     public Trip getTrip(UUID userId, UUID tripId) {
         return tripsRepository.findByTripIdAndUserId(tripId, userId)
                 .orElseThrow(() -> {
@@ -134,27 +265,40 @@ public class TripsService {
                 });
     }
 
+    @Transactional(readOnly = true)
     public TripDTO traverseTrip(UUID userId, UUID tripId) {
         TripDetails existingTrip = getTripById(userId, tripId);
-        List<SectionDTO> sections = sectionService.getAllSectionDTOs(existingTrip.tripId());
 
-        return new TripDTO(
-                existingTrip,
-                sections
-        );
+        return tripSnapshotCache.get(existingTrip.tripId(), () -> tripGraphLoader.loadTrip(existingTrip));
     }
 
-    public TripDetails getTripById(UUID userId, UUID tripId) {
+    // large trips are written straight to the response instead of being assembled and cached
+    public boolean shouldStreamTrip(UUID tripId) {
+        return !tripSnapshotCache.isCached(tripId)
+                && baseElementRepository.countByTripId(tripId) >= tripStreamingProperties.getMinElements();
+    }
+
+    public void streamTrip(UUID userId, UUID tripId, OutputStream outputStream) throws IOException {
+        tripStreamWriter.writeTrip(getTripById(userId, tripId), outputStream);
+    }
+
+    public String getTripVersionTag(UUID userId, UUID tripId) {
         Trip trip = getTrip(userId, tripId);
 
-        return new TripDetails(
-                trip.getTripId(),
-                trip.getTripName(),
-                trip.getCreatedAt(),
-                trip.getImageRef(),
-                trip.getStartDate(),
-                trip.getEndDate()
-        );
+        return tripSnapshotCache.versionTag(trip.getTripId());
     }
 
+    @Transactional(readOnly = true)
+    public TripDetails getTripById(UUID userId, UUID tripId) {
+        return tripsRepository.findDetailsByTripIdAndUserId(tripId, userId)
+                .orElseThrow(() -> {
+                    log.error("Trip not found with ID: {} and userId: {}", tripId, userId);
+                    return new TripNotFound("Trip not found");
+                });
+    }
+
+    private static String copyName(String tripName) {
+        String copy = tripName + COPY_SUFFIX;
+        return copy.length() <= MAX_TRIP_NAME_LENGTH ? copy : tripName.substring(0, MAX_TRIP_NAME_LENGTH - COPY_SUFFIX.length()) + COPY_SUFFIX;
+    }
 }
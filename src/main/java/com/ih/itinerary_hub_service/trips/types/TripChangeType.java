@@ -0,0 +1,6 @@
+package com.ih.itinerary_hub_service.trips.types;
+
+public enum TripChangeType {
+    UPSERT,
+    DELETE
+}
@@ -0,0 +1,8 @@
+package com.ih.itinerary_hub_service.trips.types;
+
+public enum TripEntityType {
+    TRIP,
+    SECTION,
+    OPTION,
+    ELEMENT
+}
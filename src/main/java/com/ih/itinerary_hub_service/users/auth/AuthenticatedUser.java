@@ -0,0 +1,10 @@
+package com.ih.itinerary_hub_service.users.auth;
+
+import java.util.UUID;
+
+// principal built from verified token claims, nothing is loaded from the database to create it
+public record AuthenticatedUser(
+        UUID userId,
+        String subject
+) {
+}
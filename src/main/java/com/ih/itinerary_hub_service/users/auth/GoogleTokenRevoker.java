@@ -0,0 +1,68 @@
+package com.ih.itinerary_hub_service.users.auth;
+
+import com.ih.itinerary_hub_service.properties.GoogleOAuthProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+
+/**
+ * Revokes Google access tokens through one shared client, so connections to Google are pooled and reused.
+ * Calls are bounded by the connect and read timeouts and go through a circuit breaker,
+ * which fails them straight away while Google keeps erroring; the job queue retries them later.
+ * */
+@Component
+@Slf4j
+public class GoogleTokenRevoker {
+
+    private final RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+    private final String revokeUrl;
+
+    public GoogleTokenRevoker(GoogleOAuthProperties properties, CircuitBreakerRegistry circuitBreakerRegistry) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(properties.getCircuitBreaker());
+        this.revokeUrl = properties.getRevokeUrl();
+    }
+
+    public void revoke(String token) {
+        circuitBreaker.executeRunnable(() -> send(token));
+    }
+
+    // the token goes in the body so it never shows up in URLs or access logs
+    private void send(String token) {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("token", token);
+
+        ResponseEntity<Void> response = restClient.post()
+                .uri(revokeUrl)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(form)
+                .retrieve()
+                // Google answers 400 for tokens that already expired or were revoked, there is nothing left to do
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.BAD_REQUEST), (request, badRequest) -> {})
+                .toBodilessEntity();
+
+        if(response.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)) {
+            log.info("Google token was already invalid");
+        } else {
+            log.info("Google token revoked");
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.ih.itinerary_hub_service.users.auth;
 
+import com.ih.itinerary_hub_service.config.AuthWhitelist;
 import com.ih.itinerary_hub_service.config.CookieMaker;
 import com.ih.itinerary_hub_service.users.exceptions.UserNotFoundException;
-import com.ih.itinerary_hub_service.users.persistence.entity.User;
-import com.ih.itinerary_hub_service.users.service.UserService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,8 +14,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
-import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -28,25 +25,18 @@ import java.util.UUID;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private static final String[] WHITELIST = {
-            "/v1/health",
-            "/v1/users/guest",
-            "/oauth2/authorization/**",
-            "/v3/api-docs/**",
-            "/swagger-ui/**",
-            "/login/oauth2/code/**"
-    };
-
     private static final String TOKEN_COOKIE_NAME = "access_token";
     private static final String USER_COOKIE_NAME = "user_id";
     private final JwtService jwtService;
-    private final UserService userService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenEpochCache tokenEpochCache;
     private final CookieMaker cookieMaker;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtService jwtService, UserService userService, CookieMaker cookieMaker) {
+    public JwtAuthenticationFilter(JwtService jwtService, VerifiedTokenCache verifiedTokenCache, TokenEpochCache tokenEpochCache, CookieMaker cookieMaker) {
         this.jwtService = jwtService;
-        this.userService = userService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenEpochCache = tokenEpochCache;
         this.cookieMaker = cookieMaker;
     }
 
@@ -54,7 +44,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        if (isWhitelisted(request)) {
+        if (AuthWhitelist.PUBLIC_PATHS.matches(request)) {
             log.info("Request is whitelisted, {}", request.getRequestURI());
             filterChain.doFilter(request, response);
             return;
@@ -70,14 +60,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            validateToken(token);
+            Claims claims = verifiedTokenCache.verify(token);
+            UUID requestUserId = UUID.fromString(claims.get("userId", String.class));
+
+            // checked before any lookup, so a forged user_id cookie never reaches the epoch cache
+            if (!requestUserId.equals(UUID.fromString(userId))) {
+                log.error("Token was issued for another user, {}", request.getRequestURI());
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
+                return;
+            }
 
-            User user = userService.getUserById(UUID.fromString(userId));
+            TokenEpoch tokenEpoch = tokenEpochCache.get(requestUserId)
+                    .orElseThrow(() -> {
+                        log.error("User not found with ID: {}", requestUserId);
+                        return new UserNotFoundException("User not found with ID: " + requestUserId);
+                    });
+
+            if (!tokenEpoch.accepts(claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant())) {
+                log.error("Token has been revoked, {}", request.getRequestURI());
+                cookieMaker.removeDefaultCookies(response);
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token revoked");
+                return;
+            }
 
-            request.setAttribute("userId", UUID.fromString(userId));
+            request.setAttribute("userId", requestUserId);
 
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList());
+                    new UsernamePasswordAuthenticationToken(new AuthenticatedUser(requestUserId, claims.getSubject()), null, Collections.emptyList());
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
         } catch (ExpiredJwtException e) {
@@ -100,23 +109,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-
-    private void validateToken(String token) {
-        Jwts.parser()
-                .verifyWith(jwtService.getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private static boolean isWhitelisted(HttpServletRequest request) {
-        for(String whitelisted : WHITELIST) {
-            RequestMatcher requestMatcher = new AntPathRequestMatcher(whitelisted);
-            if (requestMatcher.matches(request)) {
-                return true;
-            }
-
-        }
-        return false;
-    }
 }
@@ -1,5 +1,7 @@
 package com.ih.itinerary_hub_service.users.auth;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -25,9 +27,15 @@ public class JwtService {
 
     private SecretKey key;
 
+    // parsers are immutable and thread safe, so one is built up front instead of one per request
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
     }
 
     public String generateAccessToken(String subject, UUID userId) {
@@ -45,6 +53,10 @@ public class JwtService {
                 .compact();
     }
 
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     public String getValueFromCookies(HttpServletRequest request, String cookieName) {
         Cookie[] cookies = request.getCookies();
 
@@ -0,0 +1,14 @@
+package com.ih.itinerary_hub_service.users.auth;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record TokenEpoch(
+        UUID userId,
+        Instant tokensValidAfter
+) {
+    // JWT issue times only have whole seconds, so tokens issued in the same second as a revocation stay valid
+    public boolean accepts(Instant issuedAt) {
+        return tokensValidAfter == null || (issuedAt != null && !issuedAt.isBefore(tokensValidAfter));
+    }
+}
@@ -0,0 +1,57 @@
+package com.ih.itinerary_hub_service.users.auth;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.ih.itinerary_hub_service.properties.TokenEpochCacheProperties;
+import com.ih.itinerary_hub_service.users.persistence.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-user token epochs, so authenticating a request doesn't need a user query.
+ * An empty epoch means the user no longer exists. Writes on this instance invalidate
+ * their entry straight away, other instances see them once the entry expires.
+ * */
+@Component
+public class TokenEpochCache {
+
+    private final LoadingCache<UUID, Optional<TokenEpoch>> epochs;
+
+    public TokenEpochCache(UserRepository userRepository, TokenEpochCacheProperties properties, MeterRegistry meterRegistry) {
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build(userRepository::findTokenEpochByUserId);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, epochs, "tokenEpochs");
+    }
+
+    public Optional<TokenEpoch> get(UUID userId) {
+        return epochs.get(userId);
+    }
+
+    public void invalidate(UUID userId) {
+        epochs.invalidate(userId);
+
+        // again once the surrounding transaction ends, a lookup racing the commit would cache the old row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    epochs.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        epochs.invalidateAll();
+    }
+}
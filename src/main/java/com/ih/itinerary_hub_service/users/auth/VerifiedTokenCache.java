@@ -0,0 +1,79 @@
+package com.ih.itinerary_hub_service.users.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ih.itinerary_hub_service.properties.VerifiedTokenCacheProperties;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Claims of tokens that already passed signature verification, keyed by a SHA-256 digest of the token.
+ * A hit skips the HMAC check and the base64/JSON decoding. Entries expire at the token's exp,
+ * so an expired token always misses and is rejected by the parser as before.
+ * */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final Cache<String, Claims> verifiedTokens;
+    private final Timer verificationTimer;
+
+    public VerifiedTokenCache(JwtService jwtService, VerifiedTokenCacheProperties properties, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        this.verificationTimer = Timer.builder("auth.token.verification")
+                .description("Signature verification and parsing of tokens missing from the cache")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+    }
+
+    // throws the parser's JwtException when the token is invalid or expired, nothing is cached then
+    public Claims verify(String token) {
+        return verifiedTokens.get(digest(token), key -> verificationTimer.record(() -> jwtService.parseClaims(token)));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class ExpireAtTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            if (claims.getExpiration() == null) {
+                return 0;
+            }
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, millisLeft) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -27,6 +27,7 @@ public class UserController {
 
     private static final String RESTRICTED_PATH = "/users";
     private static final String CREATE_USER_PATH = "/users/guest";
+    private static final String SESSIONS_PATH = "/users/sessions";
 
     private final UserService userService;
     private final JwtService jwtService;
@@ -83,11 +84,20 @@ public class UserController {
     }
 
     @DeleteMapping(RESTRICTED_PATH)
-    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @Operation(summary = "${users.deleteUser.summary}")
-    @ApiResponses(value = { @ApiResponse(responseCode = "204", description = "User deleted")})
+    @ApiResponses(value = { @ApiResponse(responseCode = "202", description = "User deleted, their trips are purged in the background")})
     public void deleteUser(@RequestAttribute("userId") UUID userId, HttpServletResponse response) {
         userService.deleteUser(userId);
         cookieMaker.removeDefaultCookies(response);
     }
+
+    @DeleteMapping(SESSIONS_PATH)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "${users.revokeSessions.summary}")
+    @ApiResponses(value = { @ApiResponse(responseCode = "204", description = "Sessions revoked")})
+    public void revokeSessions(@RequestAttribute("userId") UUID userId, HttpServletResponse response) {
+        userService.revokeSessions(userId);
+        cookieMaker.removeDefaultCookies(response);
+    }
 }
@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -41,4 +42,16 @@ public class User {
 
     @Column(name = "google_token")
     private String googleToken;
+
+    // access tokens issued before this are rejected, null until the user first signs out everywhere
+    @Column(name = "tokens_valid_after")
+    private Instant tokensValidAfter;
+
+    // set when the account is deleted, the row goes once the purger has removed everything the user owned
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    public User(UUID userId, String firstName, String lastName, LocalDateTime createdAt, boolean isGuest, String googleId, String currency, String googleToken) {
+        this(userId, firstName, lastName, createdAt, isGuest, googleId, currency, googleToken, null, null);
+    }
 }
@@ -1,9 +1,15 @@
 package com.ih.itinerary_hub_service.users.persistence.repository;
 
+import com.ih.itinerary_hub_service.users.auth.TokenEpoch;
 import com.ih.itinerary_hub_service.users.persistence.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +17,12 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findUserByGoogleId(String googleId);
 
+    @Query("SELECT new com.ih.itinerary_hub_service.users.auth.TokenEpoch(u.userId, u.tokensValidAfter) FROM User u WHERE u.userId = :userId AND u.deletedAt IS NULL")
+    Optional<TokenEpoch> findTokenEpochByUserId(@Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.userId = :userId")
+    int updateTokensValidAfter(@Param("userId") UUID userId, @Param("validAfter") Instant validAfter);
+
 }
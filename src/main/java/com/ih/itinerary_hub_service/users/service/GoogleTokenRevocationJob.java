@@ -0,0 +1,31 @@
+package com.ih.itinerary_hub_service.users.service;
+
+import com.ih.itinerary_hub_service.jobs.persistence.entity.Job;
+import com.ih.itinerary_hub_service.jobs.service.JobHandler;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+import com.ih.itinerary_hub_service.users.auth.GoogleTokenRevoker;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// revoking a token twice is harmless, Google answers the second one with 400 and that counts as done
+@Component
+public class GoogleTokenRevocationJob implements JobHandler {
+
+    private final GoogleTokenRevoker googleTokenRevoker;
+
+    public GoogleTokenRevocationJob(GoogleTokenRevoker googleTokenRevoker) {
+        this.googleTokenRevoker = googleTokenRevoker;
+    }
+
+    @Override
+    public JobType type() {
+        return JobType.GOOGLE_TOKEN_REVOKE;
+    }
+
+    @Override
+    public UUID handle(Job job) {
+        googleTokenRevoker.revoke(job.getPayload());
+        return null;
+    }
+}
@@ -1,7 +1,11 @@
 package com.ih.itinerary_hub_service.users.service;
 
+import com.ih.itinerary_hub_service.jobs.service.JobService;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
 import com.ih.itinerary_hub_service.passengers.requests.CreatePassengerRequest;
 import com.ih.itinerary_hub_service.passengers.service.GlobalPassengersService;
+import com.ih.itinerary_hub_service.purge.service.PurgeService;
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
 import com.ih.itinerary_hub_service.users.exceptions.UserAlreadyExists;
 import com.ih.itinerary_hub_service.users.exceptions.UserNotFoundException;
 import com.ih.itinerary_hub_service.users.persistence.entity.User;
@@ -9,9 +13,11 @@ import com.ih.itinerary_hub_service.users.persistence.repository.UserRepository;
 import com.ih.itinerary_hub_service.users.requests.UpdateUserDetailsRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,10 +27,16 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final GlobalPassengersService passengersService;
+    private final TokenEpochCache tokenEpochCache;
+    private final PurgeService purgeService;
+    private final JobService jobService;
 
-    public UserService(UserRepository userRepository, GlobalPassengersService passengersService) {
+    public UserService(UserRepository userRepository, GlobalPassengersService passengersService, TokenEpochCache tokenEpochCache, PurgeService purgeService, JobService jobService) {
         this.userRepository = userRepository;
         this.passengersService = passengersService;
+        this.tokenEpochCache = tokenEpochCache;
+        this.purgeService = purgeService;
+        this.jobService = jobService;
     }
 
     public User createGuestUser(String firstName, String lastName) {
@@ -67,6 +79,7 @@ public class UserService {
 
     public User getUserById(UUID id) {
         return userRepository.findById(id)
+                .filter(user -> user.getDeletedAt() == null)
                 .orElseThrow(() -> {
                     log.error("User not found with ID: {}", id);
                     return new UserNotFoundException("User not found with ID: " + id);
@@ -127,16 +140,25 @@ public class UserService {
 
     }
 
+    // the revocation is queued in the deleting transaction: it's only sent if the deletion commits, and never lost if it does
+    @Transactional
     public void deleteUser(UUID userId) {
         User existingUser = userRepository.findById(userId)
+                .filter(user -> user.getDeletedAt() == null)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
 
-        if(!existingUser.isGuest() && existingUser.getGoogleToken() != null) {
-            revokeGoogleToken(existingUser.getGoogleToken());
-        }
+        String googleToken = existingUser.isGuest() ? null : existingUser.getGoogleToken();
+
+        // the row stays until the purger gets to it, signing in with the same Google account makes a new user
+        existingUser.setGoogleId(null);
+        existingUser.setGoogleToken(null);
 
         try {
-            userRepository.deleteById(userId);
+            purgeService.deleteUser(existingUser);
+            if(googleToken != null) {
+                jobService.enqueue(JobType.GOOGLE_TOKEN_REVOKE, userId, null, googleToken);
+            }
+            tokenEpochCache.invalidate(userId);
             log.info("User account deleted: {}", existingUser.getUserId());
         } catch (Exception e) {
             log.error("Failed delete account: {}", e.getMessage());
@@ -144,11 +166,23 @@ public class UserService {
         }
     }
 
-    private void revokeGoogleToken(String googleAccessToken) {
-        RestTemplate restTemplate = new RestTemplate();
-        String url = "https://accounts.google.com/o/oauth2/revoke?token=" + googleAccessToken;
-        restTemplate.postForEntity(url, null, String.class);
-        log.info("Google token revoked");
+    // every access token issued so far stops working, including the one making this request
+    public void revokeSessions(UUID userId) {
+        int updated;
+
+        try {
+            updated = userRepository.updateTokensValidAfter(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        } catch (Exception e) {
+            log.error("Failed to revoke sessions: {}", e.getMessage());
+            throw new RuntimeException("Failed to revoke sessions", e);
+        }
+
+        if (updated == 0) {
+            throw new UserNotFoundException("User not found with ID: " + userId);
+        }
+
+        tokenEpochCache.invalidate(userId);
+        log.info("Sessions revoked for user: {}", userId);
     }
 
     private void createUserPassenger(User user) {
@@ -1,5 +1,6 @@
 package com.ih.itinerary_hub_service.elements.service;
 
+import com.ih.itinerary_hub_service.elements.exceptions.ElementDoesNotExist;
 import com.ih.itinerary_hub_service.elements.exceptions.InvalidElementRequest;
 import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
 import com.ih.itinerary_hub_service.elements.model.TransportElementDetails;
@@ -11,6 +12,7 @@ import com.ih.itinerary_hub_service.elements.types.ElementStatus;
 import com.ih.itinerary_hub_service.elements.types.ElementType;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
 import com.ih.itinerary_hub_service.passengers.service.GlobalPassengersService;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
 import com.ih.itinerary_hub_service.utils.MockData;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -33,8 +36,7 @@ import java.util.stream.Stream;
 import static com.ih.itinerary_hub_service.utils.MockData.getNewBaseElement;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ElementsServiceTest {
@@ -48,6 +50,9 @@ class ElementsServiceTest {
     @Mock
     private GlobalPassengersService passengersService;
 
+    @Mock
+    private TripChangeRecorder tripChangeRecorder;
+
     @InjectMocks
     private ElementsService elementsService;
 
@@ -328,6 +333,48 @@ class ElementsServiceTest {
         }
     }
 
+    @Nested
+    class BulkUpdateOrder {
+        @Test
+        void shouldUpdateNothing_whenAnyElementIsUnknown() {
+            UUID knownId = UUID.randomUUID();
+            UUID unknownId = UUID.randomUUID();
+
+            when(transportService.getBaseElementsByElementIds(any()))
+                    .thenReturn(Map.of(knownId, getNewBaseElement(elementId, ElementType.TRANSPORT)));
+
+            List<ElementOrderUpdateRequest> request = List.of(
+                    new ElementOrderUpdateRequest(knownId, ElementType.TRANSPORT, 1),
+                    new ElementOrderUpdateRequest(unknownId, ElementType.TRANSPORT, 2)
+            );
+
+            ElementDoesNotExist exception = assertThrows(ElementDoesNotExist.class, () -> elementsService.bulkUpdateOrder(request));
+
+            assertTrue(exception.getMessage().contains(unknownId.toString()));
+            verify(transportService, never()).updateElementOrders(any());
+            verifyNoInteractions(tripChangeRecorder);
+        }
+
+        @Test
+        void shouldUpdateEachTypeOnce() {
+            UUID firstId = UUID.randomUUID();
+            UUID secondId = UUID.randomUUID();
+
+            when(transportService.getBaseElementsByElementIds(any())).thenReturn(Map.of(
+                    firstId, getNewBaseElement(UUID.randomUUID(), ElementType.TRANSPORT),
+                    secondId, getNewBaseElement(UUID.randomUUID(), ElementType.TRANSPORT)
+            ));
+
+            elementsService.bulkUpdateOrder(List.of(
+                    new ElementOrderUpdateRequest(firstId, ElementType.TRANSPORT, 2),
+                    new ElementOrderUpdateRequest(secondId, ElementType.TRANSPORT, 1)
+            ));
+
+            verify(transportService).updateElementOrders(Map.of(firstId, 2, secondId, 1));
+            verify(tripChangeRecorder).recordElementUpserts(any());
+        }
+    }
+
     @Test
     void shouldSortElements() {
         BaseElement baseElement1 = getNewBaseElement(UUID.randomUUID(), ElementType.TRANSPORT);
@@ -344,13 +391,10 @@ class ElementsServiceTest {
         TransportElementDetails tr5 = getNewTransportElementDetails(baseElement5, 2);
 
         when(baseElementRepository.findByOptionId(MockData.optionId)).thenReturn(baseElements);
-        when(passengersService.getAllPassengersInElement(any())).thenReturn(List.of());
+        when(passengersService.getPassengersForElements(baseElements)).thenReturn(Map.of());
 
-        when(transportService.getTransportElementDetails(baseElement1, List.of())).thenReturn(tr1);
-        when(transportService.getTransportElementDetails(baseElement2, List.of())).thenReturn(tr2);
-        when(transportService.getTransportElementDetails(baseElement3, List.of())).thenReturn(tr3);
-        when(transportService.getTransportElementDetails(baseElement4, List.of())).thenReturn(tr4);
-        when(transportService.getTransportElementDetails(baseElement5, List.of())).thenReturn(tr5);
+        List<UUID> baseElementIds = baseElements.stream().map(BaseElement::getBaseElementId).toList();
+        when(transportService.getTransportElementDetails(baseElementIds, Map.of())).thenReturn(List.of(tr1, tr2, tr3, tr4, tr5));
 
         List<BaseElementDetails> result = elementsService.getElementsByIds(MockData.optionId);
 
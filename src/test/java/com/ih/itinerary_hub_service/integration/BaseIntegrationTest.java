@@ -1,11 +1,14 @@
 package com.ih.itinerary_hub_service.integration;
 
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.Cookie;
 import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -74,10 +77,19 @@ public class BaseIntegrationTest {
     private final String expiredAccessToken = generateAnyToken("anySubject", GUEST_USER_ID, new Date(), key);
     protected final Cookie expiredAccessTokenCookie = new Cookie("access_token", expiredAccessToken);
 
+    @Autowired
+    private TokenEpochCache tokenEpochCache;
+
     @BeforeAll
     void setup() {
     }
 
+    // the cache outlives each test's rolled back transaction
+    @AfterEach
+    void clearTokenEpochs() {
+        tokenEpochCache.invalidateAll();
+    }
+
     private Date getAMonthFromNow() {
         Calendar calendar = Calendar.getInstance();
         calendar.add(Calendar.MONTH, 1);
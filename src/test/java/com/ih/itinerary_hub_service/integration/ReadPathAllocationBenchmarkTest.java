@@ -0,0 +1,116 @@
+package com.ih.itinerary_hub_service.integration;
+
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.options.responses.OptionDetails;
+import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.sections.persistence.repository.SectionsRepository;
+import com.ih.itinerary_hub_service.sections.responses.SectionDetails;
+import com.ih.itinerary_hub_service.sections.service.SectionService;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripsRepository;
+import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes allocated per call by the old entity-then-map read path and by the projection path.
+ * Tagged benchmark, so only ./gradlew benchmark runs it. The numbers are logged, the test only checks the direction.
+ * */
+@Tag("benchmark")
+class ReadPathAllocationBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadPathAllocationBenchmarkTest.class);
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TripsRepository tripsRepository;
+
+    @Autowired
+    private SectionsRepository sectionsRepository;
+
+    @Autowired
+    private OptionsRepository optionsRepository;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private OptionsService optionsService;
+
+    @Test
+    void getTrips_projectionAllocatesLessThanEntities() {
+        long entities = allocatedPerCall(() -> tripsRepository.findByUserId(GUEST_USER_ID).stream()
+                .map(trip -> new TripDetails(trip.getTripId(), trip.getTripName(), trip.getCreatedAt(), trip.getImageRef(), trip.getStartDate(), trip.getEndDate()))
+                .toList());
+        long projection = allocatedPerCall(() -> tripsRepository.findFirstPageByUserId(GUEST_USER_ID, Limit.unlimited()));
+
+        report("getTrips", entities, projection);
+        assertTrue(projection < entities);
+    }
+
+    @Test
+    void getSections_projectionAllocatesLessThanEntities() {
+        long entities = allocatedPerCall(() -> sectionsRepository.findByTripId(GUEST_USER_TRIP_ONE).stream()
+                .map(sectionService::mapSectionDetails)
+                .sorted(Comparator.comparing(SectionDetails::order))
+                .toList());
+        long projection = allocatedPerCall(() -> sectionService.getSections(GUEST_USER_TRIP_ONE));
+
+        report("getSections", entities, projection);
+        assertTrue(projection < entities);
+    }
+
+    @Test
+    void getOptions_projectionAllocatesLessThanEntities() {
+        UUID sectionId = UUID.fromString(SECTION_ONE);
+
+        long entities = allocatedPerCall(() -> optionsRepository.findBySectionId(sectionId).stream()
+                .map(optionsService::mapOptionDetails)
+                .sorted(Comparator.comparing(OptionDetails::order))
+                .toList());
+        long projection = allocatedPerCall(() -> optionsService.getOptions(sectionId));
+
+        report("getOptions", entities, projection);
+        assertTrue(projection < entities);
+    }
+
+    private long allocatedPerCall(Runnable call) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP; i++) {
+            runCold(call);
+        }
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            runCold(call);
+        }
+        return (threadBean.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    // every call starts from an empty persistence context, like a new request
+    private void runCold(Runnable call) {
+        entityManager.clear();
+        call.run();
+    }
+
+    private static void report(String endpoint, long entities, long projection) {
+        log.info("{}: entities {} B/call, projection {} B/call ({}% less)", endpoint, entities, projection, 100 - projection * 100 / entities);
+    }
+}
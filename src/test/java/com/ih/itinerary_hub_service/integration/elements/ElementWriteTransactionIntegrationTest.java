@@ -0,0 +1,137 @@
+package com.ih.itinerary_hub_service.integration.elements;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.elements.requests.AccommodationElementRequest;
+import com.ih.itinerary_hub_service.elements.requests.AccommodationEventRequest;
+import com.ih.itinerary_hub_service.elements.requests.BaseElementRequest;
+import com.ih.itinerary_hub_service.elements.requests.TransportElementRequest;
+import com.ih.itinerary_hub_service.elements.types.ElementType;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Element writes commit for real here, so the number of transactions can be counted.
+ * Runs against its own database, seeded once, so the committed rows never reach other tests.
+ * */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:element-write-transactions")
+@Sql(scripts = "/users-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ElementWriteTransactionIntegrationTest extends BaseIntegrationTest {
+
+    private static final String BASE_ELEMENTS_URL = "/v1/sections/{sectionId}/options/{optionId}/elements";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    // used to be 21 transactions and 42 statements: a commit per save, passenger lookup and recorded change
+    @Test
+    void createAccommodation_withFourPassengers_commitsOnce() throws Exception {
+        List<UUID> passengerIds = Stream.of(PASSENGER_ONE, PASSENGER_TWO, PASSENGER_THREE, PASSENGER_FOUR)
+                .map(UUID::fromString)
+                .toList();
+
+        mockMvc.perform(MockMvcRequestBuilders.post(BASE_ELEMENTS_URL + "/accommodation", SECTION_ONE, OPTION_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(accommodationRequest("Unit of work hotel", passengerIds))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].passengerDetailsList.length()").value(4));
+
+        assertEquals(1, statistics.getTransactionCount());
+        // base element, accommodation, 2 events, 4 passenger links and the recorded trip change
+        assertEquals(9, statistics.getEntityInsertCount());
+        // no SELECT before each INSERT, and the events and passenger links go in one batch each
+        assertTrue(statistics.getPrepareStatementCount() <= 12, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(4, countPassengerLinks("Unit of work hotel"));
+    }
+
+    @Test
+    void createAccommodation_whenAPassengerIsMissing_writesNothing() throws Exception {
+        List<UUID> passengerIds = List.of(UUID.fromString(PASSENGER_ONE), UUID.randomUUID());
+
+        mockMvc.perform(MockMvcRequestBuilders.post(BASE_ELEMENTS_URL + "/accommodation", SECTION_ONE, OPTION_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(accommodationRequest("Rolled back hotel", passengerIds))))
+                .andExpect(status().isNotFound());
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dev.base_elements WHERE element_category = 'Rolled back hotel'", Integer.class));
+    }
+
+    @Test
+    void updateTransport_withNewPassengers_commitsOnce() throws Exception {
+        TransportElementRequest request = TransportElementRequest.builder()
+                .baseElementRequest(new BaseElementRequest(ElementType.TRANSPORT, null, null, null, "Window seats", null,
+                        List.of(UUID.fromString(PASSENGER_THREE), UUID.fromString(PASSENGER_FOUR), UUID.fromString(PASSENGER_FIVE))))
+                .build();
+
+        mockMvc.perform(MockMvcRequestBuilders.put(BASE_ELEMENTS_URL + "/{baseElementId}/transport", SECTION_ONE, OPTION_ONE, TRANSPORT_ELEMENT)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.passengerDetailsList.length()").value(3));
+
+        assertEquals(1, statistics.getTransactionCount());
+    }
+
+    private static AccommodationElementRequest accommodationRequest(String category, List<UUID> passengerIds) {
+        return AccommodationElementRequest.builder()
+                .baseElementRequest(new BaseElementRequest(ElementType.ACCOMMODATION, category, null, null, null, null, passengerIds))
+                .place("place")
+                .location("location")
+                .checkIn(new AccommodationEventRequest(LocalDateTime.of(2025, 3, 22, 15, 0), 5))
+                .checkOut(new AccommodationEventRequest(LocalDateTime.of(2025, 3, 25, 11, 0), 6))
+                .build();
+    }
+
+    private int countPassengerLinks(String category) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dev.element_passengers ep JOIN dev.base_elements b ON b.base_element_id = ep.base_element_id WHERE b.element_category = ?",
+                Integer.class, category);
+    }
+}
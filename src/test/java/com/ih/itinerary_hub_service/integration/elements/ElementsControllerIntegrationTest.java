@@ -22,6 +22,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -36,6 +37,7 @@ import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class ElementsControllerIntegrationTest extends BaseIntegrationTest {
@@ -66,6 +68,9 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private ElementPassengerRepository elementPassengerRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static final String BASE_ELEMENTS_URL = "/v1/sections/{sectionId}/options/{optionId}/elements";
     DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
@@ -305,6 +310,101 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
         }
     }
 
+    @Nested
+    class CreateBatch {
+
+        @Test
+        void createElements_withMixedTypes_returnsAllCreatedElementsByRank() throws Exception {
+            ElementBatchRequest request = new ElementBatchRequest(
+                    List.of(TransportElementRequest.builder()
+                            .baseElementRequest(batchBase(ElementType.TRANSPORT, "Batch flight", List.of(PASSENGER_ONE_UUID)))
+                            .originPlace("origin")
+                            .destinationPlace("destination")
+                            .originDateTime(LocalDateTime.of(2025, 3, 22, 8, 0))
+                            .destinationDateTime(LocalDateTime.of(2025, 3, 22, 11, 0))
+                            .order(1)
+                            .build()),
+                    List.of(ActivityElementRequest.builder()
+                            .baseElementRequest(batchBase(ElementType.ACTIVITY, "Batch museum", List.of(PASSENGER_ONE_UUID, PASSENGER_FOUR_UUID)))
+                            .activityName("museum")
+                            .location("location")
+                            .order(3)
+                            .build()),
+                    List.of(AccommodationElementRequest.builder()
+                            .baseElementRequest(batchBase(ElementType.ACCOMMODATION, "Batch hotel", null))
+                            .place("hotel")
+                            .location("location")
+                            .checkIn(new AccommodationEventRequest(LocalDateTime.of(2025, 3, 22, 15, 0), 2))
+                            .checkOut(new AccommodationEventRequest(LocalDateTime.of(2025, 3, 25, 11, 0), 4))
+                            .build())
+            );
+
+            mockMvc.perform(MockMvcRequestBuilders.post(BASE_ELEMENTS_URL + ":batch", SECTION_ONE, OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.length()").value(4))
+                    .andExpect(jsonPath("$[0].elementCategory").value("Batch flight"))
+                    .andExpect(jsonPath("$[0].passengerDetailsList.length()").value(1))
+                    .andExpect(jsonPath("$[1].elementCategory").value("Batch hotel"))
+                    .andExpect(jsonPath("$[1].accommodationType").value("CHECK_IN"))
+                    .andExpect(jsonPath("$[2].elementCategory").value("Batch museum"))
+                    .andExpect(jsonPath("$[2].passengerDetailsList.length()").value(2))
+                    .andExpect(jsonPath("$[3].accommodationType").value("CHECK_OUT"));
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.elementCategory == 'Batch flight')]").exists())
+                    .andExpect(jsonPath("$[?(@.elementCategory == 'Batch museum')]").exists())
+                    .andExpect(jsonPath("$[?(@.elementCategory == 'Batch hotel')]").exists());
+        }
+
+        @Test
+        void createElements_whenAnyRequestIsInvalid_createsNothing() throws Exception {
+            ElementBatchRequest request = new ElementBatchRequest(
+                    List.of(TransportElementRequest.builder()
+                            .baseElementRequest(batchBase(ElementType.TRANSPORT, "Batch flight", null))
+                            .order(1)
+                            .build()),
+                    List.of(ActivityElementRequest.builder()
+                            .baseElementRequest(batchBase(ElementType.ACTIVITY, "Batch museum", null))
+                            .build()),
+                    null
+            );
+
+            mockMvc.perform(MockMvcRequestBuilders.post(BASE_ELEMENTS_URL + ":batch", SECTION_ONE, OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.elementCategory == 'Batch flight')]").doesNotExist());
+        }
+
+        @Test
+        void createElements_whenEmpty_returnsBadRequest() throws Exception {
+            mockMvc.perform(MockMvcRequestBuilders.post(BASE_ELEMENTS_URL + ":batch", SECTION_ONE, OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        private static BaseElementRequest batchBase(ElementType elementType, String category, List<UUID> passengerIds) {
+            return new BaseElementRequest(elementType, category, null, null, null, ElementStatus.PENDING, passengerIds);
+        }
+    }
+
     @Nested
     class GetElement {
 
@@ -323,6 +423,7 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
                           "notes": "Notes",
                           "status": "PENDING",
                           "order": 2,
+                          "rank": "000002",
                           "passengerDetailsList": [
                             {
                               "passengerId": "0e85075f-be86-4b31-96ec-08feea54fb0e",
@@ -384,6 +485,7 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
                          "notes": null,
                          "status": "BOOKED",
                          "order": 1,
+                         "rank": "000001",
                          "passengerDetailsList": [],
                          "activityName": "Escape Room",
                          "location": "Paris, Street 2",
@@ -419,6 +521,7 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
                          "notes": null,
                          "status": null,
                          "order": 1,
+                         "rank": "000001",
                          "passengerDetailsList": [
                            {
                              "passengerId": "d2f9a4d1-33f6-40cf-b46d-9b81f3c0a15f",
@@ -559,6 +662,7 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
                         "notes": null,
                         "status": null,
                         "order": 1,
+                        "rank": "000001",
                         "passengerDetailsList": [
                           {
                             "passengerId": "d2f9a4d1-33f6-40cf-b46d-9b81f3c0a15f",
@@ -590,6 +694,7 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
                         "notes": "Notes",
                         "status": "PENDING",
                         "order": 2,
+                        "rank": "000002",
                         "passengerDetailsList": [
                           {
                             "passengerId": "0e85075f-be86-4b31-96ec-08feea54fb0e",
@@ -634,6 +739,7 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
                         "notes": null,
                         "status": null,
                         "order": 3,
+                        "rank": "000003",
                         "passengerDetailsList": [
                           {
                             "passengerId": "d2f9a4d1-33f6-40cf-b46d-9b81f3c0a15f",
@@ -665,6 +771,71 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(content().json(expectedResponse, JsonCompareMode.STRICT));
         }
+
+        @Test
+        void shouldReturnNotModified_whenETagMatches() throws Exception {
+            String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        void shouldReturnElements_whenElementChangedSinceETag() throws Exception {
+            String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            ElementOrderUpdateRequest transport = new ElementOrderUpdateRequest(
+                    UUID.fromString("674a2a9c-2dc5-4d00-a9ee-e4f051a17194"), ElementType.TRANSPORT, 4
+            );
+
+            mockMvc.perform(MockMvcRequestBuilders.put("/v1/elements")
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(transport))))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(eTag)));
+        }
+
+        @Test
+        void shouldReturnElements_whenChangeRecordedByAnotherInstance() throws Exception {
+            String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // only trip_changes moves, as it would after a write handled by another machine
+            jdbcTemplate.update(
+                    "INSERT INTO dev.trip_changes (change_id, trip_id, version, entity_type, entity_id, change_type, changed_at) " +
+                            "SELECT ?, ?, COALESCE(MAX(version), 0) + 1, 'ELEMENT', ?, 'UPSERT', CURRENT_TIMESTAMP FROM dev.trip_changes WHERE trip_id = ?",
+                    UUID.randomUUID(), GUEST_USER_TRIP_ONE, UUID.fromString(TRANSPORT_ELEMENT), GUEST_USER_TRIP_ONE
+            );
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(eTag)));
+        }
     }
 
     @Nested
@@ -1016,6 +1187,37 @@ class ElementsControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.order").value(3));
         }
 
+        @Test
+        void bulkUpdateElementOrder_whenAnyElementIsUnknown_updatesNothing() throws Exception {
+            UUID randomId = UUID.randomUUID();
+
+            ElementOrderUpdateRequest transport = new ElementOrderUpdateRequest(
+                    UUID.fromString("674a2a9c-2dc5-4d00-a9ee-e4f051a17194"), ElementType.TRANSPORT, 4  // org 2
+            );
+            ElementOrderUpdateRequest unknown = new ElementOrderUpdateRequest(
+                    randomId, ElementType.ACTIVITY, 3
+            );
+
+            mockMvc.perform(MockMvcRequestBuilders.put("/v1/elements")
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(transport, unknown))))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().string("Could not find elements with ids [" + randomId + "]"));
+
+            mockMvc.perform(MockMvcRequestBuilders.get(
+                                    BASE_ELEMENTS_URL + "/{baseElementId}/transport",
+                                    SECTION_ONE,
+                                    OPTION_ONE,
+                                    TRANSPORT_ELEMENT)
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.order").value(2));
+        }
+
         @ParameterizedTest
         @MethodSource("updateOrderRequestArgs")
         void shouldUpdateElementOrder(ElementType elementType, Optional<AccommodationType> accType, String baseElementId, String optionId) throws Exception {
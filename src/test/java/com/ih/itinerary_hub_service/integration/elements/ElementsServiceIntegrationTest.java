@@ -0,0 +1,195 @@
+package com.ih.itinerary_hub_service.integration.elements;
+
+import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
+import com.ih.itinerary_hub_service.elements.persistence.entity.*;
+import com.ih.itinerary_hub_service.elements.persistence.repository.*;
+import com.ih.itinerary_hub_service.elements.requests.ElementOrderUpdateRequest;
+import com.ih.itinerary_hub_service.elements.service.ElementsService;
+import com.ih.itinerary_hub_service.elements.types.AccommodationType;
+import com.ih.itinerary_hub_service.elements.types.ElementStatus;
+import com.ih.itinerary_hub_service.elements.types.ElementType;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.passengers.persistence.entity.ElementPassenger;
+import com.ih.itinerary_hub_service.passengers.persistence.entity.Passenger;
+import com.ih.itinerary_hub_service.passengers.persistence.repository.ElementPassengerRepository;
+import com.ih.itinerary_hub_service.passengers.persistence.repository.PassengersRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ElementsServiceIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ElementsService elementsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OptionsRepository optionsRepository;
+
+    @Autowired
+    private BaseElementRepository elementRepository;
+
+    @Autowired
+    private TransportRepository transportRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private AccommodationElementRepository accommodationElementRepository;
+
+    @Autowired
+    private AccommodationEventRepository accommodationEventRepository;
+
+    @Autowired
+    private PassengersRepository passengersRepository;
+
+    @Autowired
+    private ElementPassengerRepository elementPassengerRepository;
+
+    private Statistics statistics;
+
+    private final UUID optionId = UUID.fromString(OPTION_ONE);
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void getElementsByIds_whenOptionGrows_queryCountStaysConstant() {
+        // the count depends on which element types are present, so start with one of each
+        addElements(1);
+        long smallOptionQueries = countOptionQueries();
+
+        addElements(10);
+        long largeOptionQueries = countOptionQueries();
+
+        assertEquals(smallOptionQueries, largeOptionQueries);
+    }
+
+    @Test
+    void getElementsByIds_whenOptionGrows_returnsSortedElements() {
+        int elementsBefore = elementsService.getElementsByIds(optionId).size();
+
+        addElements(3);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BaseElementDetails> result = elementsService.getElementsByIds(optionId);
+
+        // each round adds a transport, an activity and an accommodation with check-in and check-out events
+        assertEquals(elementsBefore + 3 * 4, result.size());
+        assertEquals(result.stream().sorted(Comparator.comparing(BaseElementDetails::getOrder)).toList(), result);
+    }
+
+    @Test
+    void bulkUpdateOrder_whenMoreElementsMove_statementCountStaysConstant() {
+        addElements(1);
+        long fewElementsStatements = countReorderStatements();
+
+        addElements(10);
+        long manyElementsStatements = countReorderStatements();
+
+        assertEquals(fewElementsStatements, manyElementsStatements);
+    }
+
+    @Test
+    void bulkUpdateOrder_updatesEveryRequestedElement() {
+        addElements(3);
+        List<ElementOrderUpdateRequest> request = reorderAllTransports();
+
+        elementsService.bulkUpdateOrder(request);
+
+        request.forEach(update -> assertEquals(update.order(), transportRepository.findById(update.elementId()).orElseThrow().getElementOrder()));
+    }
+
+    private long countReorderStatements() {
+        List<ElementOrderUpdateRequest> request = reorderAllTransports();
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        elementsService.bulkUpdateOrder(request);
+
+        // the change log still writes one row per moved element
+        return statistics.getPrepareStatementCount() - statistics.getEntityInsertCount();
+    }
+
+    private List<ElementOrderUpdateRequest> reorderAllTransports() {
+        List<TransportElement> transports = transportRepository.findAll();
+
+        return transports.stream()
+                .map(transport -> new ElementOrderUpdateRequest(transport.getElementId(), ElementType.TRANSPORT, 1000 + transports.indexOf(transport)))
+                .toList();
+    }
+
+    private long countOptionQueries() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        elementsService.getElementsByIds(optionId);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addElements(int rounds) {
+        Option option = optionsRepository.findById(optionId).orElseThrow();
+        Passenger passenger = passengersRepository.findById(UUID.fromString(PASSENGER_ONE)).orElseThrow();
+
+        for (int i = 0; i < rounds; i++) {
+            int order = 100 + i * 4;
+
+            BaseElement transport = saveBaseElement(option, ElementType.TRANSPORT);
+            transportRepository.save(new TransportElement(UUID.randomUUID(), transport, "London", LocalDateTime.now(), "Paris", LocalDateTime.now(), "Eurostar", order + 3));
+
+            BaseElement activity = saveBaseElement(option, ElementType.ACTIVITY);
+            activityRepository.save(new ActivityElement(UUID.randomUUID(), activity, "Museum", "Paris", LocalDateTime.now(), 60, order));
+
+            BaseElement accommodation = saveBaseElement(option, ElementType.ACCOMMODATION);
+            AccommodationElement accommodationElement = accommodationElementRepository.save(new AccommodationElement(UUID.randomUUID(), accommodation, "Hotel", "Paris"));
+            accommodationEventRepository.save(new AccommodationEvent(UUID.randomUUID(), accommodationElement, AccommodationType.CHECK_IN, LocalDateTime.now(), order + 1));
+            accommodationEventRepository.save(new AccommodationEvent(UUID.randomUUID(), accommodationElement, AccommodationType.CHECK_OUT, LocalDateTime.now(), order + 2));
+
+            for (BaseElement element : List.of(transport, activity, accommodation)) {
+                elementPassengerRepository.save(new ElementPassenger(UUID.randomUUID(), passenger, element));
+            }
+        }
+    }
+
+    private BaseElement saveBaseElement(Option option, ElementType type) {
+        return elementRepository.save(new BaseElement(
+                UUID.randomUUID(),
+                option,
+                LocalDateTime.now(),
+                type,
+                type.label,
+                null,
+                BigDecimal.TEN,
+                null,
+                ElementStatus.PENDING
+        ));
+    }
+}
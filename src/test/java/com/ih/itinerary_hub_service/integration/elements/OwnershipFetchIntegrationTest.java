@@ -0,0 +1,107 @@
+package com.ih.itinerary_hub_service.integration.elements;
+
+import com.ih.itinerary_hub_service.elements.persistence.entity.AccommodationEvent;
+import com.ih.itinerary_hub_service.elements.persistence.entity.BaseElement;
+import com.ih.itinerary_hub_service.elements.persistence.entity.TransportElement;
+import com.ih.itinerary_hub_service.elements.persistence.repository.AccommodationEventRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.BaseElementRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.TransportRepository;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.passengers.persistence.repository.ElementPassengerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnershipFetchIntegrationTest extends BaseIntegrationTest {
+
+    private static final UUID TRANSPORT_ELEMENT_ID = UUID.fromString("674a2a9c-2dc5-4d00-a9ee-e4f051a17194");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BaseElementRepository baseElementRepository;
+
+    @Autowired
+    private TransportRepository transportRepository;
+
+    @Autowired
+    private AccommodationEventRepository accommodationEventRepository;
+
+    @Autowired
+    private OptionsRepository optionsRepository;
+
+    @Autowired
+    private ElementPassengerRepository elementPassengerRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_doesNotLoadOwnershipChain() {
+        BaseElement baseElement = baseElementRepository.findById(UUID.fromString(TRANSPORT_ELEMENT)).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(baseElement.getOption()));
+        assertEquals(UUID.fromString(OPTION_ONE), baseElement.getOption().getOptionId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByOptionIdAndSectionId_loadsSectionButNotTrip() {
+        Option option = optionsRepository.findByOptionIdAndSectionId(UUID.fromString(OPTION_ONE), UUID.fromString(SECTION_ONE)).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(option.getSection()));
+        assertFalse(Hibernate.isInitialized(option.getSection().getTrip()));
+        assertEquals(GUEST_USER_TRIP_ONE, option.getSection().getTrip().getTripId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getTransportElementsWithOwnershipByIds_resolvesTripInOneQuery() {
+        TransportElement transportElement = transportRepository.getTransportElementsWithOwnershipByIds(List.of(TRANSPORT_ELEMENT_ID)).get(0);
+
+        assertEquals(GUEST_USER_TRIP_ONE, transportElement.getBaseElement().getOption().getSection().getTrip().getTripId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAccommodationEventsWithOwnershipByIds_resolvesTripInOneQuery() {
+        AccommodationEvent event = accommodationEventRepository.getAccommodationEventsWithOwnershipByIds(List.of(UUID.fromString(ACCOMM_EVENT_ID))).get(0);
+
+        assertEquals(GUEST_USER_TRIP_ONE, event.getAccommodationElement().getBaseElement().getOption().getSection().getTrip().getTripId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findElementsByPassengerId_resolvesTripsInOneQuery() {
+        List<BaseElement> elements = elementPassengerRepository.findElementsByPassengerId(UUID.fromString(PASSENGER_FOUR));
+
+        assertEquals(2, elements.size());
+        elements.forEach(element -> assertEquals(GUEST_USER_TRIP_ONE, element.getOption().getSection().getTrip().getTripId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
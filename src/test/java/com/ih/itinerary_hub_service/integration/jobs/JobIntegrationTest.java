@@ -0,0 +1,221 @@
+package com.ih.itinerary_hub_service.integration.jobs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.jobs.persistence.entity.Job;
+import com.ih.itinerary_hub_service.jobs.responses.JobDetails;
+import com.ih.itinerary_hub_service.jobs.service.JobService;
+import com.ih.itinerary_hub_service.jobs.service.JobWorker;
+import com.ih.itinerary_hub_service.jobs.types.JobStatus;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
+import com.ih.itinerary_hub_service.properties.JobProperties;
+import com.ih.itinerary_hub_service.trips.service.TripCloneJob;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JobIntegrationTest extends BaseIntegrationTest {
+
+    private static final String TRIP_COUNT = "SELECT COUNT(*) FROM dev.trips WHERE user_id = ?";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobProperties jobProperties;
+
+    @Autowired
+    private TripCloneJob tripCloneJob;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void cloneTripAsync_queuesAJobThatAWorkerRuns() throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.post("/v1/trips/{tripId}:clone", GUEST_USER_TRIP_ONE)
+                        .param("async", "true")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.type").value("TRIP_CLONE"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn().getResponse().getContentAsString();
+        UUID jobId = UUID.fromString(objectMapper.readTree(response).get("jobId").asText());
+        int trips = jdbcTemplate.queryForObject(TRIP_COUNT, Integer.class, GUEST_USER_ID);
+
+        getJob(jobId).andExpect(jsonPath("$.status").value("QUEUED"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/jobs/{jobId}", jobId)
+                        .cookie(googleUserAccessTokenCookie)
+                        .cookie(googleUserIdCookie))
+                .andExpect(status().isNotFound());
+
+        JobWorker worker = new JobWorker(jobService, jobProperties, List.of(tripCloneJob));
+        List<Job> claimed = jobService.claim(worker.getWorkerId(), 10);
+        assertEquals(List.of(jobId), claimed.stream().map(Job::getJobId).toList());
+
+        // still locked by the first worker
+        assertTrue(jobService.claim("other-worker", 10).isEmpty());
+        getJob(jobId).andExpect(jsonPath("$.status").value("RUNNING"));
+
+        worker.run(claimed.get(0));
+
+        JsonNode job = objectMapper.readTree(getJob(jobId)
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.attempts").value(1))
+                .andReturn().getResponse().getContentAsString());
+        UUID newTripId = UUID.fromString(job.get("resultId").asText());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", newTripId)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+        assertEquals(trips + 1, jdbcTemplate.queryForObject(TRIP_COUNT, Integer.class, GUEST_USER_ID));
+
+        // running it again, as after a crash before the result was stored, finds the copy instead of cloning twice
+        assertEquals(newTripId, tripCloneJob.handle(claimed.get(0)));
+        assertEquals(trips + 1, jdbcTemplate.queryForObject(TRIP_COUNT, Integer.class, GUEST_USER_ID));
+    }
+
+    @Test
+    void failingJob_isRetriedWithBackoffUntilItRunsOutOfAttempts() throws Exception {
+        JobDetails queued = jobService.enqueue(JobType.TRIP_CLONE, GUEST_USER_ID, UUID.randomUUID());
+        JobWorker worker = new JobWorker(jobService, jobProperties, List.of(tripCloneJob));
+
+        for (int attempt = 1; attempt <= queued.maxAttempts(); attempt++) {
+            makeDue(queued.jobId());
+            List<Job> claimed = jobService.claim(worker.getWorkerId(), 10);
+            assertEquals(1, claimed.size());
+
+            worker.run(claimed.get(0));
+
+            if(attempt < queued.maxAttempts()) {
+                getJob(queued.jobId())
+                        .andExpect(jsonPath("$.status").value("QUEUED"))
+                        .andExpect(jsonPath("$.attempts").value(attempt));
+                // backing off, not due yet
+                assertTrue(jobService.claim(worker.getWorkerId(), 10).isEmpty());
+            }
+        }
+
+        getJob(queued.jobId())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.attempts").value(queued.maxAttempts()))
+                .andExpect(jsonPath("$.lastError").value("TripNotFound: Trip not found"));
+    }
+
+    @Test
+    void expiredLock_isTakenOverAndTheOldWorkerCannotFinish() throws Exception {
+        JobDetails queued = jobService.enqueue(JobType.TRIP_CLONE, GUEST_USER_ID, GUEST_USER_TRIP_ONE);
+
+        Job stale = jobService.claim("first-worker", 10).get(0);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE dev.jobs SET locked_until = DATEADD('MINUTE', -1, NOW()) WHERE job_id = ?", queued.jobId());
+
+        Job current = jobService.claim("second-worker", 10).get(0);
+        assertEquals(2, current.getAttempts());
+
+        jobService.complete(stale, "first-worker", UUID.randomUUID());
+        getJob(queued.jobId()).andExpect(jsonPath("$.status").value("RUNNING"));
+
+        jobService.complete(current, "second-worker", GUEST_USER_TRIP_ONE);
+        getJob(queued.jobId())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.resultId").value(GUEST_USER_TRIP_ONE.toString()));
+    }
+
+    // each claim runs in its own committed transaction, like two instances polling at the same time
+    @Test
+    void concurrentClaims_skipRowsLockedByAnotherWorker() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<UUID> jobIds = transaction.execute(status -> IntStream.range(0, 6)
+                .mapToObj(i -> jobService.enqueue(JobType.TRIP_CLONE, GUEST_USER_ID, UUID.randomUUID()).jobId())
+                .toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch firstClaimed = new CountDownLatch(1);
+            CountDownLatch releaseFirst = new CountDownLatch(1);
+
+            Future<List<UUID>> first = executor.submit(() -> transaction.execute(status -> {
+                List<UUID> ids = jobIds(jobService.claim("first-worker", 3));
+                firstClaimed.countDown();
+                awaitQuietly(releaseFirst);
+                return ids;
+            }));
+            assertTrue(firstClaimed.await(10, TimeUnit.SECONDS));
+
+            // the first transaction still holds its rows
+            List<UUID> second = executor.submit(() -> transaction.execute(status -> jobIds(jobService.claim("second-worker", 10))))
+                    .get(10, TimeUnit.SECONDS);
+            releaseFirst.countDown();
+            List<UUID> firstIds = first.get(10, TimeUnit.SECONDS);
+
+            assertEquals(3, firstIds.size());
+            assertEquals(3, second.size());
+
+            Set<UUID> all = new HashSet<>(firstIds);
+            all.addAll(second);
+            assertEquals(new HashSet<>(jobIds), all);
+        } finally {
+            executor.shutdownNow();
+            transaction.executeWithoutResult(status -> jobIds.forEach(jobId -> jdbcTemplate.update("DELETE FROM dev.jobs WHERE job_id = ?", jobId)));
+        }
+    }
+
+    private org.springframework.test.web.servlet.ResultActions getJob(UUID jobId) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/v1/jobs/{jobId}", jobId)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+    }
+
+    private void makeDue(UUID jobId) {
+        jdbcTemplate.update("UPDATE dev.jobs SET run_at = DATEADD('MINUTE', -1, NOW()) WHERE job_id = ?", jobId);
+    }
+
+    private static List<UUID> jobIds(List<Job> jobs) {
+        return new ArrayList<>(jobs.stream().map(Job::getJobId).toList());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.ih.itinerary_hub_service.integration.ordering;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.elements.persistence.entity.AccommodationEvent;
+import com.ih.itinerary_hub_service.elements.persistence.entity.TransportElement;
+import com.ih.itinerary_hub_service.elements.persistence.repository.AccommodationEventRepository;
+import com.ih.itinerary_hub_service.elements.persistence.repository.TransportRepository;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+import com.ih.itinerary_hub_service.ordering.service.RankCompactor;
+import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
+import com.ih.itinerary_hub_service.sections.persistence.repository.SectionsRepository;
+import com.ih.itinerary_hub_service.trips.persistence.entity.Trip;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MoveBetweenIntegrationTest extends BaseIntegrationTest {
+
+    private static final UUID TRANSPORT_ELEMENT_ID = UUID.fromString("674a2a9c-2dc5-4d00-a9ee-e4f051a17194");
+    private static final UUID CHECK_OUT_EVENT_ID = UUID.fromString("f8876598-c138-4bd1-8055-5294bda159be");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SectionsRepository sectionsRepository;
+
+    @Autowired
+    private TransportRepository transportRepository;
+
+    @Autowired
+    private AccommodationEventRepository accommodationEventRepository;
+
+    @Autowired
+    private RankCompactor rankCompactor;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void moveSection_toFirst_updatesOnlyTheMovedSection() throws Exception {
+        MoveBetweenRequest request = new MoveBetweenRequest(null, UUID.fromString(SECTION_ONE));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/trips/{tripId}/sections/{sectionId}/position", GUEST_USER_TRIP_ONE.toString(), SECTION_TWO)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(SECTION_TWO));
+
+        entityManager.flush();
+        assertEquals(1, statistics.getEntityUpdateCount());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}/sections", GUEST_USER_TRIP_ONE.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sectionId").value(SECTION_TWO))
+                .andExpect(jsonPath("$[1].sectionId").value(SECTION_ONE))
+                .andExpect(jsonPath("$[1].order").value(1));
+    }
+
+    @Test
+    void moveSection_whenNeighboursAreOutOfOrder_returnsConflict() throws Exception {
+        Section section = new Section(UUID.randomUUID(), entityManager.getReference(Trip.class, GUEST_USER_TRIP_ONE), "Section 3", 3);
+        sectionsRepository.saveAndFlush(section);
+
+        MoveBetweenRequest request = new MoveBetweenRequest(UUID.fromString(SECTION_TWO), UUID.fromString(SECTION_ONE));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/trips/{tripId}/sections/{sectionId}/position", GUEST_USER_TRIP_ONE.toString(), section.getSectionId().toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void moveElement_betweenElementsOfOtherTypes_writesOnlyTheMovedRow() throws Exception {
+        MoveBetweenRequest request = new MoveBetweenRequest(UUID.fromString(ACCOMM_EVENT_ID), TRANSPORT_ELEMENT_ID);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/sections/{sectionId}/options/{optionId}/elements/{elementId}/position", SECTION_ONE, OPTION_ONE, CHECK_OUT_EVENT_ID.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // seeded rows have no rank yet, so anything written besides the moved row would show up here
+        assertNull(transportRepository.findById(TRANSPORT_ELEMENT_ID).orElseThrow().getRankKey());
+        assertNull(accommodationEventRepository.findById(UUID.fromString(ACCOMM_EVENT_ID)).orElseThrow().getRankKey());
+        assertNotNull(accommodationEventRepository.findById(CHECK_OUT_EVENT_ID).orElseThrow().getRankKey());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/options/{optionId}/elements", OPTION_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].elementID").value(ACCOMM_EVENT_ID))
+                .andExpect(jsonPath("$[1].elementID").value(CHECK_OUT_EVENT_ID.toString()))
+                .andExpect(jsonPath("$[2].elementID").value(TRANSPORT_ELEMENT_ID.toString()));
+    }
+
+    @Test
+    void moveElement_detachesOnlyTheMovedRow() throws Exception {
+        TransportElement transport = transportRepository.findById(TRANSPORT_ELEMENT_ID).orElseThrow();
+        AccommodationEvent checkOut = accommodationEventRepository.findById(CHECK_OUT_EVENT_ID).orElseThrow();
+        MoveBetweenRequest request = new MoveBetweenRequest(UUID.fromString(ACCOMM_EVENT_ID), TRANSPORT_ELEMENT_ID);
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.put("/v1/sections/{sectionId}/options/{optionId}/elements/{elementId}/position", SECTION_ONE, OPTION_ONE, CHECK_OUT_EVENT_ID.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // only the rewritten row is dropped, re-reading it returns the new rank
+        assertTrue(entityManager.contains(transport));
+        assertFalse(entityManager.contains(checkOut));
+        assertEquals(objectMapper.readTree(body).get("rank").asText(), accommodationEventRepository.findById(CHECK_OUT_EVENT_ID).orElseThrow().getRankKey());
+    }
+
+    @Test
+    void moveElement_whenNeighbourIsInAnotherOption_returnsNotFound() throws Exception {
+        MoveBetweenRequest request = new MoveBetweenRequest(UUID.fromString("82c24ee6-075f-4d8c-913d-1d06f325fd43"), null);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/sections/{sectionId}/options/{optionId}/elements/{elementId}/position", SECTION_ONE, OPTION_ONE, TRANSPORT_ELEMENT_ID.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void compactElements_rewritesRanksInCurrentOrder() {
+        accommodationEventRepository.findById(CHECK_OUT_EVENT_ID).orElseThrow().setRankKey("000001i");
+        entityManager.flush();
+        entityManager.clear();
+
+        rankCompactor.compactElements(UUID.fromString(OPTION_ONE));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("000001", accommodationEventRepository.findById(UUID.fromString(ACCOMM_EVENT_ID)).orElseThrow().getRankKey());
+        assertEquals("000002", accommodationEventRepository.findById(CHECK_OUT_EVENT_ID).orElseThrow().getRankKey());
+        assertEquals(2, accommodationEventRepository.findById(CHECK_OUT_EVENT_ID).orElseThrow().getElementOrder());
+        assertEquals("000003", transportRepository.findById(TRANSPORT_ELEMENT_ID).orElseThrow().getRankKey());
+        assertEquals(3, transportRepository.findById(TRANSPORT_ELEMENT_ID).orElseThrow().getElementOrder());
+    }
+}
@@ -0,0 +1,85 @@
+package com.ih.itinerary_hub_service.integration.ordering;
+
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.ordering.requests.MoveBetweenRequest;
+import com.ih.itinerary_hub_service.ordering.service.RankCompactor;
+import com.ih.itinerary_hub_service.sections.service.SectionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A move and a compaction of the same trip commit in their own transactions here.
+ * Runs against its own database, seeded once, so the rewritten ranks never reach other tests.
+ * */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:rank-compaction-locks")
+@Sql(scripts = "/users-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RankCompactionLockIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private RankCompactor rankCompactor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compactSections_waitsForAMoveInProgress_andKeepsIt() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID sectionTwo = UUID.fromString(SECTION_TWO);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch moved = new CountDownLatch(1);
+            CountDownLatch releaseMove = new CountDownLatch(1);
+
+            Future<?> move = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                sectionService.moveSection(sectionTwo, GUEST_USER_TRIP_ONE, new MoveBetweenRequest(null, UUID.fromString(SECTION_ONE)));
+                moved.countDown();
+                awaitQuietly(releaseMove);
+            }));
+            assertTrue(moved.await(10, TimeUnit.SECONDS));
+
+            Future<Integer> compaction = executor.submit(() -> rankCompactor.compactSections(GUEST_USER_TRIP_ONE));
+
+            // the move still holds the trip, so the compaction cannot have read the old ranks yet
+            assertThrows(TimeoutException.class, () -> compaction.get(300, TimeUnit.MILLISECONDS));
+            releaseMove.countDown();
+
+            move.get(10, TimeUnit.SECONDS);
+            assertEquals(2, compaction.get(10, TimeUnit.SECONDS));
+
+            List<String> sectionIds = jdbcTemplate.queryForList(
+                    "SELECT CAST(section_id AS VARCHAR) FROM dev.sections WHERE trip_id = ? ORDER BY rank_key", String.class, GUEST_USER_TRIP_ONE);
+            assertEquals(List.of(SECTION_TWO, SECTION_ONE), sectionIds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
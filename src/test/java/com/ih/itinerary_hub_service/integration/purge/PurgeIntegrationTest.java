@@ -0,0 +1,247 @@
+package com.ih.itinerary_hub_service.integration.purge;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.elements.requests.ActivityElementRequest;
+import com.ih.itinerary_hub_service.elements.requests.BaseElementRequest;
+import com.ih.itinerary_hub_service.elements.requests.ElementOrderUpdateRequest;
+import com.ih.itinerary_hub_service.elements.service.ElementsService;
+import com.ih.itinerary_hub_service.elements.types.ElementStatus;
+import com.ih.itinerary_hub_service.elements.types.ElementType;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.purge.persistence.entity.PurgeTask;
+import com.ih.itinerary_hub_service.purge.persistence.repository.PurgeTaskRepository;
+import com.ih.itinerary_hub_service.purge.service.PurgeService;
+import com.ih.itinerary_hub_service.purge.types.PurgeTarget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PurgeIntegrationTest extends BaseIntegrationTest {
+
+    private static final List<String> TRIP_TABLE_COUNTS = List.of(
+            "SELECT COUNT(*) FROM dev.sections s WHERE s.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.options o JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.trip_changes c WHERE c.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.trips t WHERE t.trip_id = ?"
+    );
+
+    private static final String ELEMENT_COUNT = "SELECT COUNT(*) FROM dev.base_elements b WHERE b.option_id = ?";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PurgeService purgeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OptionsService optionsService;
+
+    @Autowired
+    private ElementsService elementsService;
+
+    @Autowired
+    private PurgeTaskRepository purgeTaskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void deleteTrip_hidesTheTripAndPurgesItInBatches() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/sections/{sectionId}/options/{optionId}/elements", SECTION_ONE, OPTION_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isNotFound());
+
+        // nothing has been removed yet, only marked
+        assertTrue(jdbcTemplate.queryForObject(ELEMENT_COUNT, Integer.class, UUID.fromString(OPTION_ONE)) > 0);
+
+        PurgeTask task = singlePendingTask(PurgeTarget.TRIP, GUEST_USER_TRIP_ONE);
+        int batches = purgeAll(task, 1);
+
+        for (String countQuery : TRIP_TABLE_COUNTS) {
+            assertEquals(0, jdbcTemplate.queryForObject(countQuery, Integer.class, GUEST_USER_TRIP_ONE), countQuery);
+        }
+        assertEquals(0, jdbcTemplate.queryForObject(ELEMENT_COUNT, Integer.class, UUID.fromString(OPTION_ONE)));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dev.trips WHERE trip_id = ?", Integer.class, GUEST_USER_TRIP_TWO));
+
+        assertNotNull(task.getCompletedAt());
+        assertTrue(task.getPurgedRows() > 1);
+        assertTrue(batches > task.getPurgedRows());
+    }
+
+    @Test
+    void deleteTrip_rejectsWritesUnderTheTripSoThePurgeCanFinish() throws Exception {
+        // loaded before the delete, like a write request that is already past its lookups
+        Option inFlightOption = optionsService.getOption(UUID.fromString(OPTION_ONE), UUID.fromString(SECTION_ONE));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/sections/{sectionId}/options/{optionId}/elements/activity", SECTION_ONE, OPTION_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(activityRequest())))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/sections/{sectionId}/options/{optionId}:clone", SECTION_ONE, OPTION_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/elements")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new ElementOrderUpdateRequest(UUID.fromString("674a2a9c-2dc5-4d00-a9ee-e4f051a17194"), ElementType.TRANSPORT, 4)
+                        ))))
+                .andExpect(status().isNotFound());
+
+        // the trip row lock sees the delete, so the in-flight write fails instead of adding rows
+        assertThrows(RuntimeException.class, () -> elementsService.createActivityElement(inFlightOption, activityRequest()));
+
+        purgeAll(singlePendingTask(PurgeTarget.TRIP, GUEST_USER_TRIP_ONE), 100);
+
+        for (String countQuery : TRIP_TABLE_COUNTS) {
+            assertEquals(0, jdbcTemplate.queryForObject(countQuery, Integer.class, GUEST_USER_TRIP_ONE), countQuery);
+        }
+    }
+
+    @Test
+    void deleteUser_purgesTripsBeforeTheUser() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/v1/users")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isNotFound());
+
+        PurgeTask userTask = singlePendingTask(PurgeTarget.USER, GUEST_USER_ID);
+
+        // blocked until every trip of the user is gone
+        assertFalse(purgeService.purgeBatch(userTask.getPurgeTaskId(), 100));
+        assertNull(userTask.getCompletedAt());
+
+        purgeService.getPendingTasks(10).stream()
+                .filter(task -> task.getTarget() == PurgeTarget.TRIP)
+                .forEach(task -> purgeAll(task, 100));
+        purgeAll(userTask, 100);
+
+        assertNotNull(userTask.getCompletedAt());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dev.trips WHERE user_id = ?", Integer.class, GUEST_USER_ID));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dev.passengers WHERE user_id = ?", Integer.class, GUEST_USER_ID));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dev.users WHERE user_id = ?", Integer.class, GUEST_USER_ID));
+        assertTrue(purgeService.getPendingTasks(10).isEmpty());
+    }
+
+    // each batch runs in its own committed transaction, like two instances running the Purger at the same time
+    @Test
+    void purgeBatch_skipsTaskClaimedByAnotherInstance() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        UUID purgeTaskId = transaction.execute(status ->
+                purgeTaskRepository.save(new PurgeTask(PurgeTarget.TRIP, UUID.randomUUID(), LocalDateTime.now())).getPurgeTaskId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch firstClaimed = new CountDownLatch(1);
+            CountDownLatch releaseFirst = new CountDownLatch(1);
+
+            Future<Boolean> first = executor.submit(() -> transaction.execute(status -> {
+                boolean claimed = purgeTaskRepository.claimPending(purgeTaskId).isPresent();
+                firstClaimed.countDown();
+                awaitQuietly(releaseFirst);
+                return claimed;
+            }));
+            assertTrue(firstClaimed.await(10, TimeUnit.SECONDS));
+
+            // the first transaction still holds the task
+            Boolean second = executor.submit(() -> purgeService.purgeBatch(purgeTaskId, 100)).get(10, TimeUnit.SECONDS);
+            releaseFirst.countDown();
+
+            assertTrue(first.get(10, TimeUnit.SECONDS));
+            assertFalse(second);
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT step FROM dev.purge_tasks WHERE purge_task_id = ?", Integer.class, purgeTaskId));
+
+            // once released it's picked up again
+            assertTrue(executor.submit(() -> purgeService.purgeBatch(purgeTaskId, 100)).get(10, TimeUnit.SECONDS));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT step FROM dev.purge_tasks WHERE purge_task_id = ?", Integer.class, purgeTaskId));
+        } finally {
+            executor.shutdownNow();
+            transaction.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM dev.purge_tasks WHERE purge_task_id = ?", purgeTaskId));
+        }
+    }
+
+    private ActivityElementRequest activityRequest() {
+        return ActivityElementRequest.builder()
+                .baseElementRequest(new BaseElementRequest(ElementType.ACTIVITY, "Museum", null, BigDecimal.ONE, null, ElementStatus.PENDING, null))
+                .activityName("Late write")
+                .location("Paris")
+                .order(9)
+                .build();
+    }
+
+    private PurgeTask singlePendingTask(PurgeTarget target, UUID targetId) {
+        List<PurgeTask> tasks = purgeService.getPendingTasks(10).stream()
+                .filter(task -> task.getTarget() == target && task.getTargetId().equals(targetId))
+                .toList();
+        assertEquals(1, tasks.size());
+        return tasks.get(0);
+    }
+
+    private int purgeAll(PurgeTask task, int batchSize) {
+        int batches = 1;
+        while (purgeService.purgeBatch(task.getPurgeTaskId(), batchSize)) {
+            batches++;
+            assertTrue(batches < 1000, "Purge did not finish");
+        }
+        return batches;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ih.itinerary_hub_service.integration.ratelimit;
+
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class BulkheadIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private int heldPermits;
+
+    @AfterEach
+    void releasePermits() {
+        Bulkhead traversal = bulkheadRegistry.bulkhead("traversal");
+        for (; heldPermits > 0; heldPermits--) {
+            traversal.onComplete();
+        }
+    }
+
+    @Test
+    void whenTraversalBulkheadIsFull_onlyTraversalsAreRejected() throws Exception {
+        Bulkhead traversal = bulkheadRegistry.bulkhead("traversal");
+        while (traversal.tryAcquirePermission()) {
+            heldPermits++;
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}/details", GUEST_USER_TRIP_ONE.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenRequestCompletes_releasesItsPermit() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+
+        Bulkhead traversal = bulkheadRegistry.bulkhead("traversal");
+        assertEquals(traversal.getBulkheadConfig().getMaxConcurrentCalls(), traversal.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void bulkheadSaturation_isExportedPerBulkhead() {
+        for (String name : new String[]{"traversal", "writes", "lightweight-reads"}) {
+            assertNotNull(meterRegistry.find("resilience4j.bulkhead.available.concurrent.calls").tag("name", name).gauge(), name);
+            assertNotNull(meterRegistry.find("resilience4j.bulkhead.max.allowed.concurrent.calls").tag("name", name).gauge(), name);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ih.itinerary_hub_service.integration.ratelimit;
+
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class LoadSheddingIntegrationTest extends BaseIntegrationTest {
+
+    private static final String TRAVERSAL = "traversal";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    private final List<ConcurrencyLimiter.Permit> heldPermits = new ArrayList<>();
+
+    @AfterEach
+    void releasePermits() {
+        heldPermits.forEach(concurrencyLimiter::release);
+        heldPermits.clear();
+    }
+
+    @Test
+    void getTrip_whenTraversalsAreSaturated_returns503WithRetryAfter() throws Exception {
+        int limit = concurrencyLimiter.limitFor(TRAVERSAL).getLimit();
+        for (int i = 0; i < limit; i++) {
+            heldPermits.add(concurrencyLimiter.acquire(TRAVERSAL));
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}/details", GUEST_USER_TRIP_ONE.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getTrip_whenAdmitted_releasesItsPermit() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+
+        assertEquals(0, concurrencyLimiter.limitFor(TRAVERSAL).getInFlight());
+    }
+}
@@ -0,0 +1,115 @@
+package com.ih.itinerary_hub_service.integration.trips;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CloneIntegrationTest extends BaseIntegrationTest {
+
+    // rows reachable from a trip, one count per cloned table
+    private static final List<String> TRIP_TABLE_COUNTS = List.of(
+            "SELECT COUNT(*) FROM dev.sections s WHERE s.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.options o JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.base_elements b JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.transport_elements t JOIN dev.base_elements b ON b.base_element_id = t.base_element_id JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.activity_elements a JOIN dev.base_elements b ON b.base_element_id = a.base_element_id JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.accommodation_events e JOIN dev.accommodation_elements a ON a.element_id = e.accommodation_id JOIN dev.base_elements b ON b.base_element_id = a.base_element_id JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?",
+            "SELECT COUNT(*) FROM dev.element_passengers p JOIN dev.base_elements b ON b.base_element_id = p.base_element_id JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?"
+    );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cloneTrip_copiesEveryTableUnderNewIds() throws Exception {
+        JsonNode clone = postJson("/v1/trips/{tripId}:clone", GUEST_USER_TRIP_ONE);
+        UUID newTripId = UUID.fromString(clone.get("tripId").asText());
+
+        assertNotEquals(GUEST_USER_TRIP_ONE, newTripId);
+        assertTrue(clone.get("tripName").asText().endsWith(" (copy)"));
+
+        for (String countQuery : TRIP_TABLE_COUNTS) {
+            int original = jdbcTemplate.queryForObject(countQuery, Integer.class, GUEST_USER_TRIP_ONE);
+            assertTrue(original > 0, countQuery);
+            assertEquals(original, jdbcTemplate.queryForObject(countQuery, Integer.class, newTripId), countQuery);
+        }
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dev.cloned_ids", Integer.class));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", newTripId)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tripDetails.tripId").value(newTripId.toString()));
+    }
+
+    @Test
+    void cloneTrip_whenTripBelongsToSomeoneElse_returnsNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/trips/{tripId}:clone", UUID.randomUUID())
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cloneOption_copiesElementsIntoAnOptionRightAfterTheOriginal() throws Exception {
+        JsonNode original = getJson("/v1/sections/{sectionId}/options/{optionId}", SECTION_ONE, OPTION_ONE);
+        JsonNode clone = postJson("/v1/sections/{sectionId}/options/{optionId}:clone", SECTION_ONE, OPTION_ONE);
+        String newOptionId = clone.get("optionId").asText();
+
+        assertEquals(original.get("optionName").asText() + " (copy)", clone.get("optionName").asText());
+        assertTrue(clone.get("rank").asText().compareTo(original.get("rank").asText()) > 0);
+
+        JsonNode originalElements = getJson("/v1/options/{optionId}/elements", OPTION_ONE);
+        JsonNode clonedElements = getJson("/v1/options/{optionId}/elements", newOptionId);
+
+        assertTrue(originalElements.size() > 0);
+        assertEquals(originalElements.size(), clonedElements.size());
+        for (int i = 0; i < originalElements.size(); i++) {
+            JsonNode originalElement = originalElements.get(i);
+            JsonNode clonedElement = clonedElements.get(i);
+
+            assertNotEquals(originalElement.get("baseElementID"), clonedElement.get("baseElementID"));
+            assertEquals(newOptionId, clonedElement.get("optionID").asText());
+            assertEquals(originalElement.get("elementCategory"), clonedElement.get("elementCategory"));
+            assertEquals(originalElement.get("rank"), clonedElement.get("rank"));
+            assertEquals(originalElement.get("passengerDetailsList"), clonedElement.get("passengerDetailsList"));
+        }
+    }
+
+    private JsonNode postJson(String url, Object... uriVariables) throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.post(url, uriVariables)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private JsonNode getJson(String url, Object... uriVariables) throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.get(url, uriVariables)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
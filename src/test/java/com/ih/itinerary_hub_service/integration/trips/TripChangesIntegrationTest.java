@@ -0,0 +1,119 @@
+package com.ih.itinerary_hub_service.integration.trips;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.elements.requests.ElementOrderUpdateRequest;
+import com.ih.itinerary_hub_service.elements.types.ElementType;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.options.requests.CreateOptionRequest;
+import com.ih.itinerary_hub_service.sections.requests.UpdateSectionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TripChangesIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void getTripChanges_returnsOnlyWhatChangedSinceVersion() throws Exception {
+        long tripVersion = getJson("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE).get("changeVersion").asLong();
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/trips/{tripId}/sections/{sectionId}", GUEST_USER_TRIP_ONE, SECTION_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateSectionRequest(Optional.of("Renamed"), Optional.empty()))))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/elements")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new ElementOrderUpdateRequest(
+                                UUID.fromString("674a2a9c-2dc5-4d00-a9ee-e4f051a17194"), ElementType.TRANSPORT, 4
+                        )))))
+                .andExpect(status().isNoContent());
+
+        String optionId = objectMapper.readTree(mockMvc.perform(MockMvcRequestBuilders.post("/v1/trips/{tripId}/sections/{sectionId}/options", GUEST_USER_TRIP_ONE, SECTION_TWO)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateOptionRequest("Short-lived", 2))))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString()).get("optionId").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/v1/sections/{sectionId}/options/{optionId}", SECTION_TWO, optionId)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().is2xxSuccessful());
+
+        JsonNode changes = getJson("/v1/trips/{tripId}/changes?since=" + tripVersion, GUEST_USER_TRIP_ONE);
+
+        assertTrue(changes.get("version").asLong() > tripVersion);
+        assertTrue(changes.get("tripDetails").isNull());
+        assertEquals(1, changes.get("sections").size());
+        assertEquals("Renamed", changes.get("sections").get(0).get("sectionName").asText());
+        assertEquals(0, changes.get("options").size());
+        assertEquals(1, changes.get("elements").size());
+        assertEquals(TRANSPORT_ELEMENT, changes.get("elements").get(0).get("baseElementID").asText());
+        assertEquals(1, changes.get("deleted").size());
+        assertEquals("OPTION", changes.get("deleted").get(0).get("entityType").asText());
+        assertEquals(optionId, changes.get("deleted").get(0).get("entityId").asText());
+    }
+
+    @Test
+    void getTripChanges_whenUpToDate_returnsNothing() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/v1/trips/{tripId}/sections/{sectionId}", GUEST_USER_TRIP_ONE, SECTION_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateSectionRequest(Optional.of("Renamed"), Optional.empty()))))
+                .andExpect(status().is2xxSuccessful());
+
+        long version = getJson("/v1/trips/{tripId}/changes", GUEST_USER_TRIP_ONE).get("version").asLong();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}/changes", GUEST_USER_TRIP_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie)
+                        .param("since", String.valueOf(version)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version))
+                .andExpect(jsonPath("$.sections").isEmpty())
+                .andExpect(jsonPath("$.elements").isEmpty())
+                .andExpect(jsonPath("$.deleted").isEmpty());
+    }
+
+    @Test
+    void getTripChanges_whenTripBelongsToAnotherUser_returnNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}/changes", GUEST_USER_TRIP_ONE)
+                        .cookie(googleUserAccessTokenCookie)
+                        .cookie(googleUserIdCookie))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode getJson(String path, UUID tripId) throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.get(path, tripId)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(response);
+    }
+}
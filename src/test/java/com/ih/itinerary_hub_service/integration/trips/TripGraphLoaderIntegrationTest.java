@@ -0,0 +1,186 @@
+package com.ih.itinerary_hub_service.integration.trips;
+
+import com.ih.itinerary_hub_service.dto.TripDTO;
+import com.ih.itinerary_hub_service.elements.persistence.entity.*;
+import com.ih.itinerary_hub_service.elements.persistence.repository.*;
+import com.ih.itinerary_hub_service.elements.types.AccommodationType;
+import com.ih.itinerary_hub_service.elements.types.ElementStatus;
+import com.ih.itinerary_hub_service.elements.types.ElementType;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.options.persistence.entity.Option;
+import com.ih.itinerary_hub_service.options.persistence.repository.OptionsRepository;
+import com.ih.itinerary_hub_service.passengers.persistence.entity.ElementPassenger;
+import com.ih.itinerary_hub_service.passengers.persistence.entity.Passenger;
+import com.ih.itinerary_hub_service.passengers.persistence.repository.ElementPassengerRepository;
+import com.ih.itinerary_hub_service.passengers.persistence.repository.PassengersRepository;
+import com.ih.itinerary_hub_service.sections.persistence.entity.Section;
+import com.ih.itinerary_hub_service.sections.persistence.repository.SectionsRepository;
+import com.ih.itinerary_hub_service.trips.cache.TripSnapshotCache;
+import com.ih.itinerary_hub_service.trips.persistence.entity.Trip;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripsRepository;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
+import com.ih.itinerary_hub_service.trips.service.TripsService;
+import com.ih.itinerary_hub_service.trips.types.TripEntityType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TripGraphLoaderIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TripsService tripsService;
+
+    @Autowired
+    private TripChangeRecorder tripChangeRecorder;
+
+    @Autowired
+    private TripSnapshotCache tripSnapshotCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TripsRepository tripsRepository;
+
+    @Autowired
+    private SectionsRepository sectionsRepository;
+
+    @Autowired
+    private OptionsRepository optionsRepository;
+
+    @Autowired
+    private BaseElementRepository elementRepository;
+
+    @Autowired
+    private TransportRepository transportRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private AccommodationElementRepository accommodationElementRepository;
+
+    @Autowired
+    private AccommodationEventRepository accommodationEventRepository;
+
+    @Autowired
+    private PassengersRepository passengersRepository;
+
+    @Autowired
+    private ElementPassengerRepository elementPassengerRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void traverseTrip_whenTripGrows_queryCountStaysConstant() {
+        long smallTripQueries = countTraversalQueries();
+
+        growTrip(5, 4);
+        long largeTripQueries = countTraversalQueries();
+
+        growTrip(10, 6);
+        long largerTripQueries = countTraversalQueries();
+
+        assertEquals(smallTripQueries, largeTripQueries);
+        assertEquals(smallTripQueries, largerTripQueries);
+    }
+
+    @Test
+    void traverseTrip_whenTripGrows_returnsEveryElement() {
+        long elementsBefore = countElements(tripsService.traverseTrip(GUEST_USER_ID, GUEST_USER_TRIP_ONE));
+
+        growTrip(3, 2);
+        entityManager.flush();
+        entityManager.clear();
+
+        TripDTO trip = tripsService.traverseTrip(GUEST_USER_ID, GUEST_USER_TRIP_ONE);
+
+        // each option gets a transport, an activity and an accommodation with check-in and check-out events
+        assertEquals(elementsBefore + 3 * 2 * 4, countElements(trip));
+        assertEquals(sectionsRepository.findByTripId(GUEST_USER_TRIP_ONE).size(), trip.getSections().size());
+    }
+
+    private long countElements(TripDTO trip) {
+        return trip.getSections().stream()
+                .flatMap(section -> section.getOptions().stream())
+                .mapToLong(option -> option.getBaseElementDetails().size())
+                .sum();
+    }
+
+    private long countTraversalQueries() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        // a snapshot cached by an earlier test at the seed version would be served without loading
+        tripSnapshotCache.evict(GUEST_USER_TRIP_ONE);
+
+        tripsService.traverseTrip(GUEST_USER_ID, GUEST_USER_TRIP_ONE);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void growTrip(int sections, int optionsPerSection) {
+        Trip trip = tripsRepository.findById(GUEST_USER_TRIP_ONE).orElseThrow();
+        Passenger passenger = passengersRepository.findById(UUID.fromString(PASSENGER_ONE)).orElseThrow();
+        int sectionOffset = sectionsRepository.findByTripId(GUEST_USER_TRIP_ONE).size();
+
+        for (int s = 0; s < sections; s++) {
+            Section section = sectionsRepository.save(new Section(UUID.randomUUID(), trip, "Section", sectionOffset + s + 1));
+
+            for (int o = 0; o < optionsPerSection; o++) {
+                Option option = optionsRepository.save(new Option(UUID.randomUUID(), section, "Option", o + 1));
+
+                BaseElement transport = saveBaseElement(option, ElementType.TRANSPORT);
+                transportRepository.save(new TransportElement(UUID.randomUUID(), transport, "London", LocalDateTime.now(), "Paris", LocalDateTime.now(), "Eurostar", 1));
+
+                BaseElement activity = saveBaseElement(option, ElementType.ACTIVITY);
+                activityRepository.save(new ActivityElement(UUID.randomUUID(), activity, "Museum", "Paris", LocalDateTime.now(), 60, 2));
+
+                BaseElement accommodation = saveBaseElement(option, ElementType.ACCOMMODATION);
+                AccommodationElement accommodationElement = accommodationElementRepository.save(new AccommodationElement(UUID.randomUUID(), accommodation, "Hotel", "Paris"));
+                accommodationEventRepository.save(new AccommodationEvent(UUID.randomUUID(), accommodationElement, AccommodationType.CHECK_IN, LocalDateTime.now(), 3));
+                accommodationEventRepository.save(new AccommodationEvent(UUID.randomUUID(), accommodationElement, AccommodationType.CHECK_OUT, LocalDateTime.now(), 4));
+
+                for (BaseElement element : List.of(transport, activity, accommodation)) {
+                    elementPassengerRepository.save(new ElementPassenger(UUID.randomUUID(), passenger, element));
+                }
+            }
+        }
+        // rows are written through the repositories, so record a change the way the services do
+        tripChangeRecorder.recordUpsert(GUEST_USER_TRIP_ONE, TripEntityType.TRIP, GUEST_USER_TRIP_ONE);
+    }
+
+    private BaseElement saveBaseElement(Option option, ElementType type) {
+        return elementRepository.save(new BaseElement(
+                UUID.randomUUID(),
+                option,
+                LocalDateTime.now(),
+                type,
+                type.label,
+                null,
+                BigDecimal.TEN,
+                null,
+                ElementStatus.PENDING
+        ));
+    }
+}
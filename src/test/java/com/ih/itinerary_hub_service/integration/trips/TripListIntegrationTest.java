@@ -0,0 +1,111 @@
+package com.ih.itinerary_hub_service.integration.trips;
+
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TripListIntegrationTest extends BaseIntegrationTest {
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>; rel=\"next\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getTrips_withLimit_pagesNewestFirstThroughTheLinkHeader() throws Exception {
+        MvcResult firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips")
+                        .param("limit", "1")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].tripId").value(GUEST_USER_TRIP_ONE.toString()))
+                .andExpect(jsonPath("$[0].summary").doesNotExist())
+                .andReturn();
+
+        Matcher next = NEXT_LINK.matcher(firstPage.getResponse().getHeader(HttpHeaders.LINK));
+        assertTrue(next.matches());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(next.group(1))
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].tripId").value(GUEST_USER_TRIP_TWO.toString()))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    void getTrips_withoutLimit_returnsEverythingWithoutALink() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    void getTrips_withSummary_aggregatesEachTrip() throws Exception {
+        // only the transport element is still ahead
+        jdbcTemplate.update("UPDATE dev.transport_elements SET origin_datetime = TIMESTAMP '2000-01-01 00:00:00'");
+        jdbcTemplate.update("UPDATE dev.activity_elements SET starts_at = TIMESTAMP '2000-01-01 00:00:00'");
+        jdbcTemplate.update("UPDATE dev.accommodation_events SET datetime = TIMESTAMP '2000-01-01 00:00:00'");
+        jdbcTemplate.update("UPDATE dev.transport_elements SET origin_datetime = TIMESTAMP '2099-06-01 10:30:00' WHERE base_element_id = ?", UUID.fromString(TRANSPORT_ELEMENT));
+
+        long sections = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dev.sections s WHERE s.trip_id = ?", Long.class, GUEST_USER_TRIP_ONE);
+        long options = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dev.options o JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?", Long.class, GUEST_USER_TRIP_ONE);
+        long elements = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dev.base_elements b JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?", Long.class, GUEST_USER_TRIP_ONE);
+        BigDecimal totalPrice = jdbcTemplate.queryForObject("SELECT SUM(b.price) FROM dev.base_elements b JOIN dev.options o ON o.option_id = b.option_id JOIN dev.sections s ON s.section_id = o.section_id WHERE s.trip_id = ?", BigDecimal.class, GUEST_USER_TRIP_ONE);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips")
+                        .param("summary", "true")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tripId").value(GUEST_USER_TRIP_ONE.toString()))
+                .andExpect(jsonPath("$[0].summary.tripId").doesNotExist())
+                .andExpect(jsonPath("$[0].summary.sectionCount").value(sections))
+                .andExpect(jsonPath("$[0].summary.optionCount").value(options))
+                .andExpect(jsonPath("$[0].summary.elementCount").value(elements))
+                .andExpect(jsonPath("$[0].summary.totalPrice").value(totalPrice.doubleValue()))
+                .andExpect(jsonPath("$[0].summary.nextElementAt").value("2099-06-01T10:30:00"))
+                .andExpect(jsonPath("$[1].tripId").value(GUEST_USER_TRIP_TWO.toString()))
+                .andExpect(jsonPath("$[1].summary.sectionCount").value(0))
+                .andExpect(jsonPath("$[1].summary.elementCount").value(0))
+                .andExpect(jsonPath("$[1].summary.nextElementAt").doesNotExist());
+    }
+
+    @Test
+    void getTrips_withInvalidCursorOrLimit_returnsBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips")
+                        .param("after", "not-a-cursor")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips")
+                        .param("limit", "0")
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isBadRequest());
+    }
+}
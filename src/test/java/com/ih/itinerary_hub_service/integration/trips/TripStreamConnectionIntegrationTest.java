@@ -0,0 +1,128 @@
+package com.ih.itinerary_hub_service.integration.trips;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.sections.requests.UpdateSectionRequest;
+import com.ih.itinerary_hub_service.sections.service.SectionService;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import com.ih.itinerary_hub_service.trips.service.TripStreamWriter;
+import com.ih.itinerary_hub_service.trips.service.TripsService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams outside a test transaction, like a real request, so the connection pool can be watched while writing
+ * and other writes commit while the trip streams.
+ * Runs against its own database, seeded once, so the committed rows never reach other tests.
+ * */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:trip-stream-connections",
+        "trips.streaming.options-per-batch=1"
+})
+@Sql(scripts = "/users-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TripStreamConnectionIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TripsService tripsService;
+
+    @Autowired
+    private TripStreamWriter tripStreamWriter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private TripChangeRepository tripChangeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writeTrip_holdsNoConnectionWhileWriting() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        TripDetails tripDetails = tripsService.getTripById(GUEST_USER_ID, GUEST_USER_TRIP_ONE);
+
+        List<Integer> activeWhileWriting = new ArrayList<>();
+        OutputStream client = new OutputStream() {
+            @Override
+            public void write(int b) {
+                activeWhileWriting.add(pool.getActiveConnections());
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                activeWhileWriting.add(pool.getActiveConnections());
+            }
+        };
+
+        // stands in for open-in-view, which binds one EntityManager to the whole request
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+        try {
+            tripStreamWriter.writeTrip(tripDetails, client);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+
+        assertTrue(activeWhileWriting.size() > 1);
+        assertTrue(activeWhileWriting.stream().allMatch(active -> active == 0), activeWhileWriting.toString());
+    }
+
+    @Test
+    void writeTrip_whenTripChangesWhileStreaming_marksResponseInconsistent() throws Exception {
+        TripDetails tripDetails = tripsService.getTripById(GUEST_USER_ID, GUEST_USER_TRIP_ONE);
+        long startVersion = tripChangeRepository.findLatestVersion(GUEST_USER_TRIP_ONE);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        AtomicBoolean changed = new AtomicBoolean();
+        OutputStream client = new FilterOutputStream(body) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                // another request renames a section after the first batch went out
+                if (changed.compareAndSet(false, true)) {
+                    sectionService.updateSection(UUID.fromString(SECTION_TWO), GUEST_USER_TRIP_ONE, new UpdateSectionRequest(Optional.of("Renamed"), Optional.empty()));
+                }
+                out.write(b, off, len);
+            }
+        };
+
+        tripStreamWriter.writeTrip(tripDetails, client);
+
+        JsonNode json = objectMapper.readTree(body.toByteArray());
+        assertEquals(startVersion, json.get("changeVersion").asLong());
+        assertFalse(json.get("consistent").asBoolean());
+    }
+}
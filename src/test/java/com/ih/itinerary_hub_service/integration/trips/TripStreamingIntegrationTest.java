@@ -0,0 +1,58 @@
+package com.ih.itinerary_hub_service.integration.trips;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.trips.cache.TripSnapshotCache;
+import com.ih.itinerary_hub_service.trips.service.TripGraphLoader;
+import com.ih.itinerary_hub_service.trips.service.TripsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "trips.streaming.min-elements=1",
+        "trips.streaming.options-per-batch=1"
+})
+class TripStreamingIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TripsService tripsService;
+
+    @Autowired
+    private TripGraphLoader tripGraphLoader;
+
+    @Autowired
+    private TripSnapshotCache tripSnapshotCache;
+
+    @Test
+    void getTripById_whenTripIsLarge_streamsSameJsonWithoutCaching() throws Exception {
+        String expectedJson = objectMapper.writeValueAsString(
+                tripGraphLoader.loadTrip(tripsService.getTripById(GUEST_USER_ID, GUEST_USER_TRIP_ONE))
+        );
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE)
+                        .cookie(guestUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(expectedJson, JsonCompareMode.STRICT));
+
+        assertFalse(tripSnapshotCache.isCached(GUEST_USER_TRIP_ONE));
+    }
+}
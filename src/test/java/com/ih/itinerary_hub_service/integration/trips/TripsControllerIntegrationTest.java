@@ -12,11 +12,11 @@ import com.ih.itinerary_hub_service.trips.persistence.repository.TripsRepository
 import com.ih.itinerary_hub_service.trips.requests.CreateTripRequest;
 import com.ih.itinerary_hub_service.trips.requests.UpdateTripRequest;
 import com.ih.itinerary_hub_service.users.persistence.repository.UserRepository;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -27,6 +27,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -65,6 +67,9 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private AccommodationElementRepository aecRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static final LocalDateTime parisTripCreatedAt = LocalDateTime.of(2025, 3, 22, 0, 0, 0);
     private static final LocalDateTime parisTripStartDate = LocalDateTime.of(2025, 4, 25, 0, 0, 0);
     private static final LocalDateTime parisTripEndDate = LocalDateTime.of(2025, 4, 28, 0, 0, 0);
@@ -242,14 +247,13 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
     @Nested
     class DeleteTrip {
 
-        @Disabled("Disabled until bug #24 has been fixed")
         @Test
         void deleteTrip_whenValidRequest_deleteTrip() throws Exception {
             mockMvc.perform(MockMvcRequestBuilders.delete("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
                             .cookie(guestUserAccessTokenCookie)
                             .cookie(guestUserIdCookie)
                             .contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(status().isNoContent());
+                    .andExpect(status().isAccepted());
 
             mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
                             .cookie(guestUserAccessTokenCookie)
@@ -320,19 +324,22 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
                         "startDate": "2025-04-25T00:00:00",
                         "endDate": "2025-04-28T00:00:00"
                       },
+                      "changeVersion": 0,
                       "sections": [
                         {
                           "sectionDetails": {
                             "sectionId": "a3c84e94-157b-436f-9e77-2b461c7c3bf2",
                             "sectionName": "Section 1",
-                            "order": 1
+                            "order": 1,
+                            "rank": "000001"
                           },
                           "options": [
                             {
                               "optionDetails": {
                                 "optionId": "0d78ebf0-0159-4843-b54b-a696644f26fc",
                                 "optionName": "Option 1",
-                                "order": 1
+                                "order": 1,
+                                "rank": "000001"
                               },
                               "baseElementDetails": [
                                 {
@@ -347,6 +354,7 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
                                   "notes": null,
                                   "status": null,
                                   "order": 1,
+                                  "rank": "000001",
                                   "passengerDetailsList": [
                                     {
                                       "passengerId": "d2f9a4d1-33f6-40cf-b46d-9b81f3c0a15f",
@@ -378,6 +386,7 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
                                   "notes": "Notes",
                                   "status": "PENDING",
                                   "order": 2,
+                                  "rank": "000002",
                                   "passengerDetailsList": [
                                     {
                                       "passengerId": "0e85075f-be86-4b31-96ec-08feea54fb0e",
@@ -422,6 +431,7 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
                                   "notes": null,
                                   "status": null,
                                   "order": 3,
+                                  "rank": "000003",
                                   "passengerDetailsList": [
                                     {
                                       "passengerId": "d2f9a4d1-33f6-40cf-b46d-9b81f3c0a15f",
@@ -447,7 +457,8 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
                               "optionDetails": {
                                 "optionId": "eb7fd861-6dba-4893-a4c8-bac1bd5a47ba",
                                 "optionName": "Option 2",
-                                "order": 2
+                                "order": 2,
+                                "rank": "000002"
                               },
                               "baseElementDetails": [
                                 {
@@ -462,6 +473,7 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
                                   "notes": null,
                                   "status": "BOOKED",
                                   "order": 1,
+                                  "rank": "000001",
                                   "passengerDetailsList": [],
                                   "activityName": "Escape Room",
                                   "location": "Paris, Street 2",
@@ -476,7 +488,8 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
                           "sectionDetails": {
                             "sectionId": "c13dd7ad-8f7d-4f93-8edd-ee3951097592",
                             "sectionName": "Section 2",
-                            "order": 2
+                            "order": 2,
+                            "rank": "000002"
                           },
                           "options": []
                         }
@@ -492,6 +505,78 @@ class TripsControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(MockMvcResultMatchers.content().json(expectedJsonResponse, JsonCompareMode.STRICT));
         }
 
+        @Test
+        void getTripById_whenETagMatches_returnNotModified() throws Exception {
+            String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", eTag))
+                    .andExpect(MockMvcResultMatchers.content().string(""));
+        }
+
+        @Test
+        void getTripById_whenTripChangedSinceETag_returnTrip() throws Exception {
+            String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            UpdateTripRequest request = new UpdateTripRequest(
+                    Optional.of("Renamed Trip"),
+                    Optional.empty(),
+                    Optional.empty(),
+                    Optional.empty()
+            );
+
+            mockMvc.perform(MockMvcRequestBuilders.put("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.tripDetails.tripName").value("Renamed Trip"));
+        }
+
+        @Test
+        void getTripById_whenChangeRecordedByAnotherInstance_returnFreshTrip() throws Exception {
+            String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // written straight to the database, this instance's cache is never told
+            jdbcTemplate.update("UPDATE dev.trips SET trip_name = 'Renamed Elsewhere' WHERE trip_id = ?", GUEST_USER_TRIP_ONE);
+            jdbcTemplate.update(
+                    "INSERT INTO dev.trip_changes (change_id, trip_id, version, entity_type, entity_id, change_type, changed_at) " +
+                            "SELECT ?, ?, COALESCE(MAX(version), 0) + 1, 'TRIP', ?, 'UPSERT', CURRENT_TIMESTAMP FROM dev.trip_changes WHERE trip_id = ?",
+                    UUID.randomUUID(), GUEST_USER_TRIP_ONE, GUEST_USER_TRIP_ONE, GUEST_USER_TRIP_ONE
+            );
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", GUEST_USER_TRIP_ONE.toString())
+                            .cookie(guestUserAccessTokenCookie)
+                            .cookie(guestUserIdCookie)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(eTag)))
+                    .andExpect(jsonPath("$.tripDetails.tripName").value("Renamed Elsewhere"));
+        }
+
         @Test
         void getTripById_whenTripDoesNotExist_returnNotFound() throws Exception {
             mockMvc.perform(MockMvcRequestBuilders.get("/v1/trips/{tripId}", UUID.randomUUID().toString())
@@ -5,10 +5,12 @@ import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
 import com.ih.itinerary_hub_service.users.persistence.repository.UserRepository;
 import com.ih.itinerary_hub_service.users.requests.UpdateUserDetailsRequest;
 import com.ih.itinerary_hub_service.users.requests.UserDetailsRequest;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -17,7 +19,9 @@ import java.util.Optional;
 
 import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,6 +37,12 @@ public class UserControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Nested
     class CreateUser {
         @Test
@@ -188,13 +198,27 @@ public class UserControllerIntegrationTest extends BaseIntegrationTest {
                             .contentType(MediaType.APPLICATION_JSON)
                             .cookie(guestUserAccessTokenCookie)
                             .cookie(guestUserIdCookie))
-                    .andExpect(status().isNoContent())
+                    .andExpect(status().isAccepted())
                     .andExpect(cookie().exists("access_token"))
                     .andExpect(cookie().value("access_token", ""))
                     .andExpect(cookie().exists("user_id"))
                     .andExpect(cookie().value("user_id", ""));
         }
 
+        @Test
+        void deleteUser_whenGoogleUser_queueTokenRevocation() throws Exception {
+            mockMvc.perform(MockMvcRequestBuilders.delete("/v1/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .cookie(googleUserAccessTokenCookie)
+                            .cookie(googleUserIdCookie))
+                    .andExpect(status().isAccepted());
+            entityManager.flush();
+
+            assertEquals("google-token", jdbcTemplate.queryForObject(
+                    "SELECT payload FROM dev.jobs WHERE user_id = ? AND type = 'GOOGLE_TOKEN_REVOKE' AND status = 'QUEUED'", String.class, GOOGLE_USER_ID));
+            assertNull(jdbcTemplate.queryForObject("SELECT google_token FROM dev.users WHERE user_id = ?", String.class, GOOGLE_USER_ID));
+        }
+
         @Test
         void deleteUser_whenUserNotFound_return404() throws Exception {
             mockMvc.perform(MockMvcRequestBuilders.delete("/v1/users")
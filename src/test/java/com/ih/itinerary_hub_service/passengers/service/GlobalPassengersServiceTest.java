@@ -9,6 +9,8 @@ import com.ih.itinerary_hub_service.passengers.persistence.repository.ElementPas
 import com.ih.itinerary_hub_service.passengers.persistence.repository.PassengersRepository;
 import com.ih.itinerary_hub_service.passengers.requests.CreatePassengerRequest;
 import com.ih.itinerary_hub_service.passengers.requests.PassengerRequest;
+import com.ih.itinerary_hub_service.passengers.responses.PassengerDetails;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
 import com.ih.itinerary_hub_service.utils.MockData;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,13 +18,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class GlobalPassengersServiceTest {
@@ -33,6 +36,9 @@ class GlobalPassengersServiceTest {
     @Mock
     private ElementPassengerRepository elementPassengerRepository;
 
+    @Mock
+    private TripChangeRecorder tripChangeRecorder;
+
     @InjectMocks
     private GlobalPassengersService passengersService;
 
@@ -104,4 +110,43 @@ class GlobalPassengersServiceTest {
         doThrow(IllegalArgumentException.class).when(elementPassengerRepository).deleteByBaseElement(baseElement);
         assertThrows(DbFailure.class, () -> passengersService.deleteByElement(baseElement));
     }
-}
\ No newline at end of file
+
+    // the element service records one change for the whole element write
+    @Test
+    void updateAllPassengersInElement_whenPassengerRemoved_recordsNothing() {
+        when(elementPassengerRepository.findPassengersIdsByElementId(baseElement.getBaseElementId())).thenReturn(List.of(passengerId));
+        when(elementPassengerRepository.findByPassengerAndElementId(passengerId, baseElement.getBaseElementId()))
+                .thenReturn(Optional.of(elementPassenger));
+
+        passengersService.updateAllPassengersInElement(List.of(), baseElement);
+        passengersService.deleteByElement(baseElement);
+
+        verify(elementPassengerRepository).delete(elementPassenger);
+        verifyNoInteractions(tripChangeRecorder);
+    }
+
+    @Test
+    void getPassengersForElements_groupsByElementAndSharesDetails() {
+        BaseElement otherElement = MockData.getNewBaseElement(UUID.randomUUID(), ElementType.ACTIVITY);
+        BaseElement emptyElement = MockData.getNewBaseElement(UUID.randomUUID(), ElementType.ACTIVITY);
+        ElementPassenger otherElementPassenger = new ElementPassenger(UUID.randomUUID(), mockPassenger, otherElement);
+
+        when(elementPassengerRepository.findByElementIds(any()))
+                .thenReturn(List.of(elementPassenger, otherElementPassenger));
+
+        Map<UUID, List<PassengerDetails>> result = passengersService.getPassengersForElements(List.of(baseElement, otherElement, emptyElement));
+
+        assertEquals(2, result.size());
+        assertEquals(passengerId, result.get(baseElement.getBaseElementId()).get(0).passengerId());
+        assertSame(result.get(baseElement.getBaseElementId()).get(0), result.get(otherElement.getBaseElementId()).get(0));
+        assertNull(result.get(emptyElement.getBaseElementId()));
+        verify(elementPassengerRepository, times(1)).findByElementIds(any());
+        verifyNoInteractions(passengersRepository);
+    }
+
+    @Test
+    void getPassengersForElements_whenNoElements_skipsQuery() {
+        assertTrue(passengersService.getPassengersForElements(List.of()).isEmpty());
+        verifyNoInteractions(elementPassengerRepository);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ih.itinerary_hub_service.unit.config;
+
+import com.ih.itinerary_hub_service.config.AuthWhitelist;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthWhitelistTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "/v1/health",
+            "/v1/users/guest",
+            "/v3/api-docs/**",
+            "/swagger-ui/**",
+            "/oauth2/authorization/**",
+            "/login/**"
+    );
+
+    private final AuthWhitelist whitelist = new AuthWhitelist(PATTERNS);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/v1/health", "/v1/users/guest", "/v3/api-docs", "/v3/api-docs/swagger-config", "/swagger-ui/index.html",
+            "/oauth2/authorization/google", "/login/oauth2/code/google", "/login", "//v1//health",
+            "/v1/health/", "/v1/users", "/v1/users/guest/1", "/v1/healthcheck", "/v1", "/", "/v3/api-docs-x", "/V1/health"
+    })
+    void matches_agreesWithAntPathMatching(String path) {
+        boolean expected = PATTERNS.stream().anyMatch(pattern -> new AntPathRequestMatcher(pattern).matches(request(path)));
+
+        assertEquals(expected, whitelist.matches(request(path)), path);
+    }
+
+    @Test
+    void matches_protectedPaths_areNotWhitelisted() {
+        assertFalse(AuthWhitelist.PUBLIC_PATHS.matches(request("/v1/trips")));
+        assertFalse(AuthWhitelist.PUBLIC_PATHS.matches(request("/v1/users")));
+        assertTrue(AuthWhitelist.PUBLIC_PATHS.matches(request("/v1/health")));
+    }
+
+    @Test
+    void matches_whenServletPathAndPathInfoAreSplit_matchesTheWholePath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users/guest");
+        request.setServletPath("/v1");
+        request.setPathInfo("/users/guest");
+
+        assertTrue(whitelist.matches(request));
+    }
+
+    @Test
+    void constructor_whenPatternHasInnerWildcard_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new AuthWhitelist(List.of("/v1/*/health")));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
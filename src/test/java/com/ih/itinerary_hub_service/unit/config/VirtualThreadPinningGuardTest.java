@@ -0,0 +1,148 @@
+package com.ih.itinerary_hub_service.unit.config;
+
+import com.ih.itinerary_hub_service.config.AuthWhitelist;
+import com.ih.itinerary_hub_service.config.CookieMaker;
+import com.ih.itinerary_hub_service.ratelimit.AdaptiveConcurrencyLimit;
+import com.ih.itinerary_hub_service.ratelimit.BulkheadInterceptor;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimitInterceptor;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimiter;
+import com.ih.itinerary_hub_service.ratelimit.EndpointBulkheads;
+import com.ih.itinerary_hub_service.ratelimit.KeyedRateLimiter;
+import com.ih.itinerary_hub_service.ratelimit.RateLimitInterceptor;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
+import com.ih.itinerary_hub_service.users.auth.JwtAuthenticationFilter;
+import com.ih.itinerary_hub_service.users.auth.JwtService;
+import com.ih.itinerary_hub_service.users.auth.TokenEpoch;
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
+import com.ih.itinerary_hub_service.users.auth.VerifiedTokenCache;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * On Java 21 a virtual thread that blocks inside a synchronized method or block pins its carrier thread,
+ * so one slow query could stall every request sharing that carrier.
+ * Scans the bytecode of the auth filter path and the JDBC driver path for monitors, including nested classes.
+ * Monitors that were checked and never block are listed in AUDITED, anything new fails until someone looks at it.
+ * */
+class VirtualThreadPinningGuardTest {
+
+    private static final Set<String> AUDITED = Set.of(
+            // in-memory OID sets, no I/O while held
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.addBinaryReceiveOid",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.removeBinaryReceiveOid",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.getBinaryReceiveOids",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.useBinaryForReceive",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.setBinaryReceiveOids",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.addBinarySendOid",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.removeBinarySendOid",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.getBinarySendOids",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.useBinaryForSend",
+            "synchronized block in org.postgresql.core.v3.QueryExecutorImpl.setBinarySendOids",
+            // pool lifecycle and the housekeeping thread, never on a request thread
+            "synchronized com.zaxxer.hikari.pool.HikariPool.shutdown",
+            "synchronized com.zaxxer.hikari.pool.HikariPool.suspendPool",
+            "synchronized com.zaxxer.hikari.pool.HikariPool.resumePool",
+            "synchronized com.zaxxer.hikari.pool.HikariPool.fillPool",
+            "synchronized com.zaxxer.hikari.pool.HikariPool$PoolEntryCreator.shouldContinueCreating",
+            // statement list bookkeeping; pgjdbc defers the close message to the next round trip
+            "synchronized com.zaxxer.hikari.pool.ProxyConnection.untrackStatement",
+            "synchronized com.zaxxer.hikari.pool.ProxyConnection.trackStatement",
+            "synchronized com.zaxxer.hikari.pool.ProxyConnection.closeStatements"
+    );
+
+    @ParameterizedTest
+    @ValueSource(classes = {
+            JwtAuthenticationFilter.class,
+            JwtService.class,
+            VerifiedTokenCache.class,
+            TokenEpochCache.class,
+            TokenEpoch.class,
+            AuthWhitelist.class,
+            CookieMaker.class,
+            RateLimitInterceptor.class,
+            KeyedRateLimiter.class,
+            ConcurrencyLimitInterceptor.class,
+            ConcurrencyLimiter.class,
+            AdaptiveConcurrencyLimit.class,
+            BulkheadInterceptor.class,
+            EndpointBulkheads.class,
+            RouteClassifier.class
+    })
+    void authFilterPath_hasNoMonitors(Class<?> type) throws IOException {
+        assertEquals(List.of(), monitorsIn(type.getName()));
+    }
+
+    // pgjdbc moved its connection and statement monitors to ReentrantLock in 42.6, this fails if an older driver comes back
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "org.postgresql.jdbc.PgConnection",
+            "org.postgresql.jdbc.PgStatement",
+            "org.postgresql.jdbc.PgPreparedStatement",
+            "org.postgresql.jdbc.PgResultSet",
+            "org.postgresql.core.v3.QueryExecutorImpl",
+            "org.postgresql.core.QueryExecutorBase",
+            "org.postgresql.core.PGStream",
+            "com.zaxxer.hikari.pool.HikariPool",
+            "com.zaxxer.hikari.pool.ProxyConnection",
+            "com.zaxxer.hikari.util.ConcurrentBag"
+    })
+    void jdbcDriverPath_hasNoUnauditedMonitors(String className) throws IOException {
+        List<String> monitors = monitorsIn(className);
+        monitors.removeAll(AUDITED);
+
+        assertEquals(List.of(), monitors);
+    }
+
+    private static List<String> monitorsIn(String className) throws IOException {
+        List<String> monitors = new ArrayList<>();
+        List<String> nestedClasses = new ArrayList<>();
+
+        try (InputStream bytecode = ClassLoader.getSystemResourceAsStream(className.replace('.', '/') + ".class")) {
+            assertNotNull(bytecode, "Class not found: " + className);
+
+            new ClassReader(bytecode).accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInnerClass(String name, String outerName, String innerName, int access) {
+                    if (name.startsWith(className.replace('.', '/') + "$")) {
+                        nestedClasses.add(name.replace('/', '.'));
+                    }
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                    String method = className + "." + name;
+                    if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                        monitors.add("synchronized " + method);
+                    }
+                    return new MethodVisitor(Opcodes.ASM9) {
+                        @Override
+                        public void visitInsn(int opcode) {
+                            if (opcode == Opcodes.MONITORENTER) {
+                                monitors.add("synchronized block in " + method);
+                            }
+                        }
+                    };
+                }
+            }, ClassReader.SKIP_DEBUG);
+        }
+
+        for (String nestedClass : nestedClasses) {
+            if (!nestedClass.equals(className)) {
+                monitors.addAll(monitorsIn(nestedClass));
+            }
+        }
+        return monitors;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ih.itinerary_hub_service.unit.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput and tail latency of a burst of blocking requests on Tomcat's default 200 platform threads
+ * against one virtual thread per request, with the same 10-connection Hikari pool.
+ * A request waits 3 ms without a connection (reading the body, writing the response) and holds one for a query
+ * plus 2 ms of simulated Postgres round trip. Needs Java 21, so it's skipped on older runtimes.
+ * Runs under ./gradlew benchmark, not the normal suite; the numbers are logged, the test only checks the direction.
+ * */
+@Tag("benchmark")
+class VirtualThreadThroughputBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadThroughputBenchmarkTest.class);
+
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int WARMUP = 500;
+    private static final int REQUESTS = 4_000;
+
+    @Test
+    void virtualThreads_keepUpWithPlatformThreadsAtTheSamePoolSize() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+        try (HikariDataSource dataSource = dataSource()) {
+            double[] platform = measure(dataSource, Executors.newFixedThreadPool(PLATFORM_THREADS));
+            double[] virtual = measure(dataSource, (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+
+            log.info("{} requests, pool of {}: platform threads {} req/s p50 {} ms p99 {} ms, virtual threads {} req/s p50 {} ms p99 {} ms",
+                    REQUESTS, POOL_SIZE, Math.round(platform[0]), Math.round(platform[1]), Math.round(platform[2]),
+                    Math.round(virtual[0]), Math.round(virtual[1]), Math.round(virtual[2]));
+            // both are bound by the pool, virtual threads must not cost throughput
+            assertTrue(virtual[0] >= platform[0] * 0.8);
+        }
+    }
+
+    // requests per second, p50 and p99 latency in milliseconds
+    private static double[] measure(HikariDataSource dataSource, ExecutorService executor) throws Exception {
+        try {
+            run(dataSource, executor, WARMUP);
+
+            long start = System.nanoTime();
+            long[] latencies = run(dataSource, executor, REQUESTS);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new double[] {
+                    REQUESTS * (double) TimeUnit.SECONDS.toNanos(1) / elapsed,
+                    latencies[REQUESTS / 2] / 1e6,
+                    latencies[REQUESTS * 99 / 100] / 1e6
+            };
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long[] run(HikariDataSource dataSource, ExecutorService executor, int requests) throws Exception {
+        List<Future<Long>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            long submitted = System.nanoTime();
+            futures.add(executor.submit(() -> {
+                Thread.sleep(3);
+                try (Connection connection = dataSource.getConnection();
+                     Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                    assertTrue(resultSet.next());
+                    Thread.sleep(2);
+                }
+                return System.nanoTime() - submitted;
+            }));
+        }
+
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            latencies[i] = futures.get(i).get(1, TimeUnit.MINUTES);
+        }
+        return latencies;
+    }
+
+    private static HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:virtual-thread-benchmark;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        config.setConnectionTimeout(TimeUnit.MINUTES.toMillis(1));
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ih.itinerary_hub_service.unit.config;
+
+import com.ih.itinerary_hub_service.config.AuthWhitelist;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Per-request cost of deciding whether a path is whitelisted: a new AntPathRequestMatcher per pattern,
+ * as the filter used to do, against the precompiled trie. A protected path is used, as it has to be checked
+ * against every pattern. Only ./gradlew benchmark runs it; the numbers are logged, the test only checks the direction.
+ * */
+@Tag("benchmark")
+class WhitelistMatchingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WhitelistMatchingBenchmarkTest.class);
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static final List<String> PATTERNS = List.of(
+            "/v1/health",
+            "/v1/users/guest",
+            "/oauth2/authorization/**",
+            "/v3/api-docs/**",
+            "/swagger-ui/**",
+            "/login/oauth2/code/**"
+    );
+
+    @Test
+    void matches_trieIsFasterAndAllocationFree() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/trips/9c5bb970-faef-419b-a447-365b9471a4b0/sections");
+        request.setServletPath(request.getRequestURI());
+        AuthWhitelist whitelist = new AuthWhitelist(PATTERNS);
+
+        Predicate<HttpServletRequest> perRequestMatchers = r -> PATTERNS.stream().anyMatch(pattern -> new AntPathRequestMatcher(pattern).matches(r));
+
+        long[] before = measure(request, perRequestMatchers);
+        long[] after = measure(request, whitelist::matches);
+
+        log.info("whitelist matching: matchers per request {} ns/call {} B/call, trie {} ns/call {} B/call", before[0], before[1], after[0], after[1]);
+        assertTrue(after[0] < before[0]);
+        assertEquals(0, after[1]);
+    }
+
+    // nanoseconds and bytes allocated per call
+    private static long[] measure(HttpServletRequest request, Predicate<HttpServletRequest> isWhitelisted) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        boolean anyMatched = false;
+
+        for (int i = 0; i < WARMUP; i++) {
+            anyMatched |= isWhitelisted.test(request);
+        }
+
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            anyMatched |= isWhitelisted.test(request);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertFalse(anyMatched);
+        return new long[] { nanos / ITERATIONS, allocated / ITERATIONS };
+    }
+}
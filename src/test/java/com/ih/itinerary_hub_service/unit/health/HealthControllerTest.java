@@ -4,8 +4,14 @@ package com.ih.itinerary_hub_service.unit.health;
 import com.ih.itinerary_hub_service.config.CookieMaker;
 import com.ih.itinerary_hub_service.health.controller.HealthController;
 import com.ih.itinerary_hub_service.health.service.HealthService;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimiter;
+import com.ih.itinerary_hub_service.ratelimit.EndpointBulkheads;
+import com.ih.itinerary_hub_service.ratelimit.KeyedRateLimiter;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
 import com.ih.itinerary_hub_service.users.auth.JwtAuthenticationFilter;
 import com.ih.itinerary_hub_service.users.auth.JwtService;
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
+import com.ih.itinerary_hub_service.users.auth.VerifiedTokenCache;
 import com.ih.itinerary_hub_service.users.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +46,24 @@ class HealthControllerTest {
     @MockitoBean
     private CookieMaker cookieMaker;
 
+    @MockitoBean
+    private TokenEpochCache tokenEpochCache;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private KeyedRateLimiter keyedRateLimiter;
+
+    @MockitoBean
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @MockitoBean
+    private EndpointBulkheads endpointBulkheads;
+
+    @MockitoBean
+    private RouteClassifier routeClassifier;
+
     @Test
     void health_whenServiceIsOk_thenReturn200() throws Exception {
         when(healthService.getHealth()).thenReturn("OK");
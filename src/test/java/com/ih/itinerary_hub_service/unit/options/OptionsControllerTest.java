@@ -7,9 +7,15 @@ import com.ih.itinerary_hub_service.options.controller.OptionsController;
 import com.ih.itinerary_hub_service.options.requests.CreateOptionRequest;
 import com.ih.itinerary_hub_service.options.requests.UpdateOptionRequest;
 import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimiter;
+import com.ih.itinerary_hub_service.ratelimit.EndpointBulkheads;
+import com.ih.itinerary_hub_service.ratelimit.KeyedRateLimiter;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
 import com.ih.itinerary_hub_service.sections.service.SectionService;
 import com.ih.itinerary_hub_service.trips.service.TripsService;
 import com.ih.itinerary_hub_service.users.auth.JwtService;
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
+import com.ih.itinerary_hub_service.users.auth.VerifiedTokenCache;
 import com.ih.itinerary_hub_service.users.service.UserService;
 import com.ih.itinerary_hub_service.utils.MockData;
 import org.junit.jupiter.api.Nested;
@@ -59,6 +65,24 @@ class OptionsControllerTest {
     @MockitoBean
     private CookieMaker cookieMaker;
 
+    @MockitoBean
+    private TokenEpochCache tokenEpochCache;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private KeyedRateLimiter keyedRateLimiter;
+
+    @MockitoBean
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @MockitoBean
+    private EndpointBulkheads endpointBulkheads;
+
+    @MockitoBean
+    private RouteClassifier routeClassifier;
+
     private final UUID userID = UUID.randomUUID();
     private final UUID sectionID = UUID.randomUUID();
     private final UUID optionID = UUID.randomUUID();
@@ -1,7 +1,5 @@
 package com.ih.itinerary_hub_service.unit.options;
 
-import com.ih.itinerary_hub_service.dto.OptionDTO;
-import com.ih.itinerary_hub_service.elements.service.ElementsService;
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
 import com.ih.itinerary_hub_service.options.exceptions.CreateOptionInvalidRequest;
 import com.ih.itinerary_hub_service.options.persistence.entity.Option;
@@ -10,6 +8,8 @@ import com.ih.itinerary_hub_service.options.requests.CreateOptionRequest;
 import com.ih.itinerary_hub_service.options.requests.UpdateOptionRequest;
 import com.ih.itinerary_hub_service.options.responses.OptionDetails;
 import com.ih.itinerary_hub_service.options.service.OptionsService;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
 import com.ih.itinerary_hub_service.utils.MockData;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +17,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,48 +29,17 @@ import static org.mockito.Mockito.when;
 class OptionsServiceTest {
 
     @Mock
-    private ElementsService elementsService;
+    private OptionsRepository optionsRepository;
 
     @Mock
-    private OptionsRepository optionsRepository;
+    private TripChangeRepository tripChangeRepository;
+
+    @Mock
+    private TripChangeRecorder tripChangeRecorder;
 
     @InjectMocks
     private OptionsService optionsService;
 
-    @Test
-    void shouldSortOptions() {
-        UUID option1Id = UUID.randomUUID();
-        UUID option2Id = UUID.randomUUID();
-        UUID option3Id = UUID.randomUUID();
-        UUID option4Id = UUID.randomUUID();
-
-        Option option1 = createNewOption(option1Id, 3);
-        Option option2 = createNewOption(option2Id, 1);
-        Option option3 = createNewOption(option3Id, 4);
-        Option option4 = createNewOption(option4Id, 2);
-
-        List<Option> options = Arrays.asList(option1, option2, option3, option4);
-
-        when(optionsRepository.findBySectionId(MockData.sectionId)).thenReturn(options);
-        when(elementsService.getElementsByIds(any())).thenReturn(List.of());
-
-        List<OptionDTO> result = optionsService.findAllOptionDTOs(MockData.sectionId);
-
-        assertNotNull(result);
-        assertEquals(result.get(0).getOptionDetails().optionId(), option2Id);
-        assertEquals(result.get(1).getOptionDetails().optionId(), option4Id);
-        assertEquals(result.get(2).getOptionDetails().optionId(), option1Id);
-        assertEquals(result.get(3).getOptionDetails().optionId(), option3Id);
-    }
-
-    @Test
-    void shouldReturnEmptyLis_whenNoOptionsFound() {
-        when(optionsRepository.findBySectionId(MockData.sectionId)).thenReturn(List.of());
-        List<OptionDTO> result = optionsService.findAllOptionDTOs(MockData.sectionId);
-        assertNotNull(result);
-        assertEquals(0, result.size());
-    }
-
     @Test
     void shouldMapToDTO() {
         Option option = createNewOption(UUID.randomUUID(), 1);
@@ -0,0 +1,84 @@
+package com.ih.itinerary_hub_service.unit.ordering;
+
+import com.ih.itinerary_hub_service.ordering.RankKeys;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankKeysTest {
+
+    @Test
+    void fromOrder_sortsLikeTheIntegers() {
+        List<String> keys = new ArrayList<>();
+        for (int order = 0; order < 2_000; order++) {
+            keys.add(RankKeys.fromOrder(order));
+        }
+
+        assertEquals(keys, keys.stream().sorted().toList());
+        assertNull(RankKeys.fromOrder(null));
+    }
+
+    @Test
+    void effective_fallsBackToOrder() {
+        assertEquals("abc", RankKeys.effective("abc", 3));
+        assertEquals(RankKeys.fromOrder(3), RankKeys.effective(null, 3));
+    }
+
+    @Test
+    void between_isStrictlyBetweenBounds() {
+        String lower = RankKeys.fromOrder(1);
+        String upper = RankKeys.fromOrder(2);
+
+        String middle = RankKeys.between(lower, upper);
+
+        assertTrue(lower.compareTo(middle) < 0);
+        assertTrue(middle.compareTo(upper) < 0);
+    }
+
+    @Test
+    void between_withOpenBounds_goesFirstOrLast() {
+        String first = RankKeys.fromOrder(1);
+
+        assertTrue(RankKeys.between(null, first).compareTo(first) < 0);
+        assertTrue(RankKeys.between(first, null).compareTo(first) > 0);
+        assertNotNull(RankKeys.between(null, null));
+    }
+
+    @Test
+    void between_repeatedInsertsAtTheSameSpot_keepOrderAndGrowSlowly() {
+        String lower = RankKeys.fromOrder(1);
+        String upper = RankKeys.fromOrder(2);
+
+        // always inserting right after lower is the worst case for key length
+        for (int i = 0; i < 200; i++) {
+            String key = RankKeys.between(lower, upper);
+            assertTrue(lower.compareTo(key) < 0);
+            assertTrue(key.compareTo(upper) < 0);
+            upper = key;
+        }
+
+        assertTrue(upper.length() < 64);
+    }
+
+    @Test
+    void between_beforeOrderZero_goesFirst() {
+        String zero = RankKeys.fromOrder(0);
+
+        String first = RankKeys.between(null, zero);
+
+        assertTrue(first.compareTo(zero) < 0);
+        assertTrue(zero.compareTo(RankKeys.fromOrder(1)) < 0);
+        assertEquals(zero, RankKeys.fromOrder(-1));
+    }
+
+    @Test
+    void between_whenBoundsAreNotOrdered_throws() {
+        String key = RankKeys.fromOrder(2);
+
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between(key, key));
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between(key, RankKeys.fromOrder(1)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.ih.itinerary_hub_service.unit.ratelimit;
+
+import com.ih.itinerary_hub_service.properties.ConcurrencyLimitProperties;
+import com.ih.itinerary_hub_service.ratelimit.AdaptiveConcurrencyLimit;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimiter;
+import com.ih.itinerary_hub_service.ratelimit.exceptions.ServiceOverloaded;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private static final String TRAVERSAL = "traversal";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ConcurrencyLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new ConcurrencyLimiter(properties, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void acquire_whenClassIsFull_shedsWithRetryAfter() {
+        List<ConcurrencyLimiter.Permit> permits = acquireAll(TRAVERSAL, 4);
+
+        ServiceOverloaded ex = assertThrows(ServiceOverloaded.class, () -> limiter.acquire(TRAVERSAL));
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("http.concurrency.rejected").tag("class", "traversal").counter().count());
+        assertEquals(4, meterRegistry.get("http.concurrency.in_flight").tag("class", "traversal").gauge().value());
+
+        limiter.release(permits.get(0));
+        assertNotNull(limiter.acquire(TRAVERSAL));
+    }
+
+    @Test
+    void acquire_whenTraversalsAreSaturated_otherClassesStillAdmit() {
+        acquireAll(TRAVERSAL, 4);
+
+        assertNotNull(limiter.acquire("write"));
+        assertNotNull(limiter.acquire("read"));
+    }
+
+    @Test
+    void release_whenRequestsAreSlow_shrinksTheLimit() {
+        for (ConcurrencyLimiter.Permit permit : acquireAll(TRAVERSAL, 4)) {
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            limiter.release(permit);
+        }
+
+        assertEquals(1, meterRegistry.get("http.concurrency.limit").tag("class", "traversal").gauge().value());
+        assertEquals(0, meterRegistry.get("http.concurrency.in_flight").tag("class", "traversal").gauge().value());
+    }
+
+    @Test
+    void release_whenRequestsAreFastAndTheLimitIsUsed_growsTheLimit() {
+        acquireAll(TRAVERSAL, 4).forEach(limiter::release);
+
+        // the first two releases still had at least half the limit in flight
+        assertEquals(6, limiter.limitFor(TRAVERSAL).getLimit());
+    }
+
+    @Test
+    void release_whenTheLimitIsBarelyUsed_keepsIt() {
+        for (int i = 0; i < 10; i++) {
+            limiter.release(limiter.acquire(TRAVERSAL));
+        }
+
+        assertEquals(4, limiter.limitFor(TRAVERSAL).getLimit());
+    }
+
+    @Test
+    void acquire_whenDisabled_admitsEverything() {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            assertNull(limiter.acquire(TRAVERSAL));
+        }
+    }
+
+    @Test
+    void limitFor_whenClassHasNoLimitOfItsOwn_usesDefaultClass() {
+        assertEquals("default", limiter.limitFor("read").getName());
+        assertEquals("default", limiter.limitFor("write").getName());
+        assertEquals("traversal", limiter.limitFor(TRAVERSAL).getName());
+        assertEquals("bulk-write", limiter.limitFor("bulk-write").getName());
+    }
+
+    @Test
+    void constructor_whenDefaultClassIsMissing_throws() {
+        properties.setDefaultClass("missing");
+
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void adaptiveLimit_neverGoesBelowMinOrAboveMax() {
+        ConcurrencyLimitProperties.EndpointClass endpointClass = new ConcurrencyLimitProperties.EndpointClass(2, 2, 3, Duration.ofMillis(10));
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", endpointClass);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(TimeUnit.SECONDS.toNanos(1));
+        }
+        assertEquals(2, limit.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+            assertTrue(limit.tryAcquire());
+            limit.release(0);
+            limit.release(0);
+        }
+        assertEquals(3, limit.getLimit());
+    }
+
+    private List<ConcurrencyLimiter.Permit> acquireAll(String routeClass, int count) {
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire(routeClass));
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ih.itinerary_hub_service.unit.ratelimit;
+
+import com.ih.itinerary_hub_service.properties.BulkheadProperties;
+import com.ih.itinerary_hub_service.ratelimit.EndpointBulkheads;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointBulkheadsTest {
+
+    private BulkheadRegistry bulkheadRegistry;
+    private EndpointBulkheads endpointBulkheads;
+
+    @BeforeEach
+    void setUp() {
+        bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        endpointBulkheads = new EndpointBulkheads(new BulkheadProperties(), bulkheadRegistry);
+    }
+
+    @Test
+    void constructor_registersAllBulkheadsUpFront() {
+        assertTrue(bulkheadRegistry.find("traversal").isPresent());
+        assertTrue(bulkheadRegistry.find("writes").isPresent());
+        assertTrue(bulkheadRegistry.find("lightweight-reads").isPresent());
+    }
+
+    @Test
+    void bulkheadFor_whenTripTraversal_usesTraversal() {
+        assertEquals("traversal", endpointBulkheads.bulkheadFor("traversal").getName());
+    }
+
+    @Test
+    void bulkheadFor_whenOtherRead_usesLightweightReads() {
+        assertEquals("lightweight-reads", endpointBulkheads.bulkheadFor(RouteClassifier.READ).getName());
+    }
+
+    @Test
+    void bulkheadFor_whenWrite_usesWrites() {
+        assertEquals("writes", endpointBulkheads.bulkheadFor(RouteClassifier.WRITE).getName());
+        assertEquals("writes", endpointBulkheads.bulkheadFor("bulk-write").getName());
+        assertEquals("writes", endpointBulkheads.bulkheadFor("unknown").getName());
+    }
+}
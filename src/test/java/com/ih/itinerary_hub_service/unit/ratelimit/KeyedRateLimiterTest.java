@@ -0,0 +1,146 @@
+package com.ih.itinerary_hub_service.unit.ratelimit;
+
+import com.ih.itinerary_hub_service.properties.RateLimitProperties;
+import com.ih.itinerary_hub_service.ratelimit.KeyedRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private RateLimitProperties properties;
+    private KeyedRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setCapacity(5);
+        properties.setRefillPerSecond(1);
+        rateLimiter = new KeyedRateLimiter(properties, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    void tryAcquire_whenBurstIsSpent_rejectsUntilATokenIsBack() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("user:a", 1));
+        }
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.tryAcquire("user:a", 1));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, rateLimiter.tryAcquire("user:a", 1));
+        assertTrue(rateLimiter.tryAcquire("user:a", 1) > 0);
+    }
+
+    @Test
+    void tryAcquire_whenOneKeyIsExhausted_otherKeysAreUnaffected() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("user:busy", 1);
+        }
+
+        assertTrue(rateLimiter.tryAcquire("user:busy", 1) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("user:other", 1));
+        assertEquals(0, rateLimiter.tryAcquire("ip:10.0.0.1", 1));
+    }
+
+    @Test
+    void tryAcquire_whenIdle_refillsNoMoreThanCapacity() {
+        nanos.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("user:a", 1));
+        }
+        assertTrue(rateLimiter.tryAcquire("user:a", 1) > 0);
+    }
+
+    @Test
+    void tryAcquire_whenRejected_doesNotSpendTokens() {
+        assertEquals(0, rateLimiter.tryAcquire("user:a", 4));
+        assertEquals(TimeUnit.SECONDS.toNanos(2), rateLimiter.tryAcquire("user:a", 3));
+
+        assertEquals(0, rateLimiter.tryAcquire("user:a", 1));
+    }
+
+    @Test
+    void tryAcquire_whenCostIsAboveCapacity_spendsTheWholeBucket() {
+        assertEquals(0, rateLimiter.tryAcquire("user:a", 50));
+        assertTrue(rateLimiter.tryAcquire("user:a", 1) > 0);
+    }
+
+    @Test
+    void tryAcquire_whenDisabled_alwaysPermits() {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("user:a", "traversal"));
+        }
+    }
+
+    @Test
+    void costOf_weighsTraversalAbovePlainReads() {
+        assertEquals(1, rateLimiter.costOf("read"));
+        assertEquals(5, rateLimiter.costOf("traversal"));
+        assertEquals(3, rateLimiter.costOf("bulk-write"));
+        assertEquals(1, rateLimiter.costOf("write"));
+    }
+
+    @Test
+    void tryAcquire_whenRouteClassIsExpensive_exhaustsSooner() {
+        assertEquals(0, rateLimiter.tryAcquire("user:a", "traversal"));
+        assertTrue(rateLimiter.tryAcquire("user:a", "traversal") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("user:b", "read"));
+    }
+
+    @Test
+    void tryAcquire_whenBucketIsIdleForLong_evictsIt() {
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new KeyedRateLimiter(properties, meterRegistry, nanos::get);
+
+        rateLimiter.tryAcquire("user:a", 1);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        rateLimiter.tryAcquire("user:b", 1);
+
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "rateLimitBuckets").tag("result", "miss").functionCounter().count());
+        rateLimiter.tryAcquire("user:a", 1);
+        assertEquals(3, meterRegistry.get("cache.gets").tag("cache", "rateLimitBuckets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void tryAcquire_whenContended_neverPermitsMoreThanTheBurst() throws InterruptedException {
+        properties.setCapacity(100);
+        rateLimiter = new KeyedRateLimiter(properties, new SimpleMeterRegistry(), nanos::get);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger permitted = new AtomicInteger();
+
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 100; j++) {
+                    if (rateLimiter.tryAcquire("user:a", 1) == 0) {
+                        permitted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, permitted.get());
+    }
+}
@@ -0,0 +1,61 @@
+package com.ih.itinerary_hub_service.unit.ratelimit;
+
+import com.ih.itinerary_hub_service.properties.RouteClassProperties;
+import com.ih.itinerary_hub_service.ratelimit.KeyedRateLimiter;
+import com.ih.itinerary_hub_service.ratelimit.RateLimitInterceptor;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitInterceptorTest {
+
+    private KeyedRateLimiter rateLimiter;
+    private RateLimitInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = mock(KeyedRateLimiter.class);
+        interceptor = new RateLimitInterceptor(rateLimiter, new RouteClassifier(new RouteClassProperties()));
+        request = new MockHttpServletRequest("GET", "/v1/trips/" + UUID.randomUUID());
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/trips/{tripId}");
+        request.setRemoteAddr("203.0.113.7");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void preHandle_whenAuthenticated_limitsByUserAndRouteClass() throws Exception {
+        UUID userId = UUID.randomUUID();
+        request.setAttribute("userId", userId);
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        verify(rateLimiter).tryAcquire("user:" + userId, "traversal");
+    }
+
+    @Test
+    void preHandle_whenAnonymous_limitsByClientIp() throws Exception {
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        verify(rateLimiter).tryAcquire("ip:203.0.113.7", "traversal");
+    }
+
+    @Test
+    void preHandle_whenLimited_returns429WithRetryAfter() throws Exception {
+        when(rateLimiter.tryAcquire(anyString(), anyString())).thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        assertFalse(interceptor.preHandle(request, response, new Object()));
+        assertEquals(429, response.getStatus());
+        assertEquals("Too many requests", response.getErrorMessage());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ih.itinerary_hub_service.unit.ratelimit;
+
+import com.ih.itinerary_hub_service.properties.RouteClassProperties;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteClassifierTest {
+
+    private RouteClassProperties properties;
+    private RouteClassifier routeClassifier;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RouteClassProperties();
+        routeClassifier = new RouteClassifier(properties);
+    }
+
+    @Test
+    void classify_whenRouteIsListed_usesItsClass() {
+        assertEquals("traversal", routeClassifier.classify("GET", "/v1/trips/{tripId}"));
+        assertEquals("traversal", routeClassifier.classify("GET", "/v1/options/{optionId}/elements"));
+        assertEquals("bulk-write", routeClassifier.classify("PUT", "/v1/elements"));
+    }
+
+    @Test
+    void classify_whenRouteIsNotListed_splitsReadsFromWrites() {
+        assertEquals(RouteClassifier.READ, routeClassifier.classify("GET", "/v1/trips/{tripId}/details"));
+        assertEquals(RouteClassifier.READ, routeClassifier.classify("GET", null));
+        assertEquals(RouteClassifier.WRITE, routeClassifier.classify("PUT", "/v1/trips/{tripId}"));
+        assertEquals(RouteClassifier.WRITE, routeClassifier.classify("DELETE", "/v1/trips/{tripId}"));
+    }
+
+    @Test
+    void classify_whenRequestIsAlreadyClassified_reusesTheClass() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/trips/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/trips/{tripId}");
+
+        assertEquals("traversal", routeClassifier.classify(request));
+
+        properties.getRoutes().clear();
+        assertEquals("traversal", routeClassifier.classify(request));
+    }
+}
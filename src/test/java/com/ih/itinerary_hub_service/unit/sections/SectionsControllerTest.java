@@ -3,12 +3,18 @@ package com.ih.itinerary_hub_service.unit.sections;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ih.itinerary_hub_service.config.CookieMaker;
 import com.ih.itinerary_hub_service.config.GlobalExceptionHandler;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimiter;
+import com.ih.itinerary_hub_service.ratelimit.EndpointBulkheads;
+import com.ih.itinerary_hub_service.ratelimit.KeyedRateLimiter;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
 import com.ih.itinerary_hub_service.sections.controller.SectionsController;
 import com.ih.itinerary_hub_service.sections.requests.CreateSectionRequest;
 import com.ih.itinerary_hub_service.sections.requests.UpdateSectionRequest;
 import com.ih.itinerary_hub_service.sections.service.SectionService;
 import com.ih.itinerary_hub_service.trips.service.TripsService;
 import com.ih.itinerary_hub_service.users.auth.JwtService;
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
+import com.ih.itinerary_hub_service.users.auth.VerifiedTokenCache;
 import com.ih.itinerary_hub_service.users.service.UserService;
 import com.ih.itinerary_hub_service.utils.MockData;
 import org.junit.jupiter.api.Nested;
@@ -56,6 +62,24 @@ class SectionsControllerTest {
     @MockitoBean
     private CookieMaker cookieMaker;
 
+    @MockitoBean
+    private TokenEpochCache tokenEpochCache;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private KeyedRateLimiter keyedRateLimiter;
+
+    @MockitoBean
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @MockitoBean
+    private EndpointBulkheads endpointBulkheads;
+
+    @MockitoBean
+    private RouteClassifier routeClassifier;
+
     private final UUID userID = UUID.randomUUID();
     private final UUID tripID = UUID.randomUUID();
     private final UUID sectionID = UUID.randomUUID();
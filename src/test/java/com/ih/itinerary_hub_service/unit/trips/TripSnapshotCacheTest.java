@@ -0,0 +1,151 @@
+package com.ih.itinerary_hub_service.unit.trips;
+
+import com.ih.itinerary_hub_service.dto.OptionDTO;
+import com.ih.itinerary_hub_service.dto.SectionDTO;
+import com.ih.itinerary_hub_service.dto.TripDTO;
+import com.ih.itinerary_hub_service.elements.model.BaseElementDetails;
+import com.ih.itinerary_hub_service.elements.model.TransportElementDetails;
+import com.ih.itinerary_hub_service.options.responses.OptionDetails;
+import com.ih.itinerary_hub_service.properties.TripCacheProperties;
+import com.ih.itinerary_hub_service.sections.responses.SectionDetails;
+import com.ih.itinerary_hub_service.trips.cache.TripSnapshotCache;
+import com.ih.itinerary_hub_service.trips.model.TripVersion;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripChangeRepository;
+import com.ih.itinerary_hub_service.trips.responses.TripDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TripSnapshotCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TripSnapshotCache cache;
+
+    // stands in for trip_changes, which any instance may have written to
+    private final Map<UUID, TripVersion> persistedVersions = new ConcurrentHashMap<>();
+
+    private final UUID tripId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        TripCacheProperties properties = new TripCacheProperties();
+        properties.setMaxElements(10);
+
+        meterRegistry = new SimpleMeterRegistry();
+        TripChangeRepository tripChangeRepository = mock(TripChangeRepository.class);
+        when(tripChangeRepository.findCurrentVersion(any())).thenAnswer(invocation -> persistedVersions.getOrDefault(invocation.<UUID>getArgument(0), TripVersion.INITIAL));
+
+        cache = new TripSnapshotCache(properties, meterRegistry, tripChangeRepository);
+    }
+
+    @Test
+    void get_whenVersionUnchanged_loadsOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<TripDTO> loader = countingLoader(loads, tripId, 2);
+
+        TripDTO first = cache.get(tripId, loader);
+        TripDTO second = cache.get(tripId, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void get_whenPersistedVersionChanges_reloads() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<TripDTO> loader = countingLoader(loads, tripId, 2);
+
+        TripDTO first = cache.get(tripId, loader);
+        // a write recorded by another instance, nothing local was told about it
+        persistedVersions.put(tripId, new TripVersion(1, UUID.randomUUID()));
+        TripDTO second = cache.get(tripId, loader);
+
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+        assertTrue(cache.isCached(tripId));
+    }
+
+    @Test
+    void get_whenOtherTripChanges_keepsSnapshot() {
+        UUID otherTripId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(otherTripId, countingLoader(loads, otherTripId, 1));
+        persistedVersions.put(tripId, new TripVersion(1, UUID.randomUUID()));
+        cache.get(otherTripId, countingLoader(loads, otherTripId, 1));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void versionTag_followsPersistedVersion() {
+        String first = cache.versionTag(tripId);
+        String second = cache.versionTag(tripId);
+        UUID changeId = UUID.randomUUID();
+        persistedVersions.put(tripId, new TripVersion(7, changeId));
+
+        assertEquals(first, second);
+        assertEquals("7-" + changeId, cache.versionTag(tripId));
+    }
+
+    @Test
+    void get_whenVersionReusedAfterRollback_reloads() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<TripDTO> loader = countingLoader(loads, tripId, 2);
+
+        persistedVersions.put(tripId, new TripVersion(1, UUID.randomUUID()));
+        cache.get(tripId, loader);
+        // the write behind version 1 rolled back and a different one took the same number
+        persistedVersions.put(tripId, new TripVersion(1, UUID.randomUUID()));
+        cache.get(tripId, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenOverWeight_evictsTrips() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            UUID id = UUID.randomUUID();
+            cache.get(id, countingLoader(loads, id, 4));
+        }
+
+        assertTrue(meterRegistry.get("cache.evictions").functionCounter().count() > 0);
+        assertTrue(meterRegistry.get("cache.size").gauge().value() < 5);
+    }
+
+    private static Supplier<TripDTO> countingLoader(AtomicInteger loads, UUID tripId, int elements) {
+        return () -> {
+            loads.incrementAndGet();
+            return tripWithElements(tripId, elements);
+        };
+    }
+
+    private static TripDTO tripWithElements(UUID tripId, int elements) {
+        List<BaseElementDetails> elementDetails = new ArrayList<>();
+        for (int i = 0; i < elements; i++) {
+            elementDetails.add(new TransportElementDetails.Builder().baseElementID(UUID.randomUUID()).order(i).build());
+        }
+
+        OptionDTO option = new OptionDTO(new OptionDetails(UUID.randomUUID(), "Option", 1), elementDetails);
+        SectionDTO section = new SectionDTO(new SectionDetails(UUID.randomUUID(), "Section", 1), List.of(option));
+
+        return new TripDTO(new TripDetails(tripId, "Trip", null, "default", null, null), List.of(section), 0);
+    }
+}
@@ -3,11 +3,18 @@ package com.ih.itinerary_hub_service.unit.trips;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ih.itinerary_hub_service.config.CookieMaker;
 import com.ih.itinerary_hub_service.config.GlobalExceptionHandler;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimiter;
+import com.ih.itinerary_hub_service.ratelimit.EndpointBulkheads;
+import com.ih.itinerary_hub_service.ratelimit.KeyedRateLimiter;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
 import com.ih.itinerary_hub_service.trips.controller.TripsController;
 import com.ih.itinerary_hub_service.trips.requests.CreateTripRequest;
 import com.ih.itinerary_hub_service.trips.requests.UpdateTripRequest;
+import com.ih.itinerary_hub_service.trips.service.TripChangesService;
 import com.ih.itinerary_hub_service.trips.service.TripsService;
 import com.ih.itinerary_hub_service.users.auth.JwtService;
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
+import com.ih.itinerary_hub_service.users.auth.VerifiedTokenCache;
 import com.ih.itinerary_hub_service.users.service.UserService;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -46,12 +53,33 @@ class TripsControllerTest {
     @MockitoBean
     private TripsService tripsService;
 
+    @MockitoBean
+    private TripChangesService tripChangesService;
+
     @MockitoBean
     private JwtService jwtService;
 
     @MockitoBean
     private CookieMaker cookieMaker;
 
+    @MockitoBean
+    private TokenEpochCache tokenEpochCache;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private KeyedRateLimiter keyedRateLimiter;
+
+    @MockitoBean
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @MockitoBean
+    private EndpointBulkheads endpointBulkheads;
+
+    @MockitoBean
+    private RouteClassifier routeClassifier;
+
     private final UUID uuidForUser = UUID.randomUUID();
 
     @Nested
@@ -1,10 +1,14 @@
 package com.ih.itinerary_hub_service.unit.trips;
 
 import com.ih.itinerary_hub_service.exceptions.DbFailure;
+import com.ih.itinerary_hub_service.purge.service.PurgeService;
+import com.ih.itinerary_hub_service.trips.cache.TripSnapshotCache;
 import com.ih.itinerary_hub_service.trips.exceptions.TripNotFound;
+import com.ih.itinerary_hub_service.trips.persistence.repository.TripSummaryRepository;
 import com.ih.itinerary_hub_service.trips.persistence.repository.TripsRepository;
 import com.ih.itinerary_hub_service.trips.requests.CreateTripRequest;
 import com.ih.itinerary_hub_service.trips.requests.UpdateTripRequest;
+import com.ih.itinerary_hub_service.trips.service.TripChangeRecorder;
 import com.ih.itinerary_hub_service.trips.service.TripsService;
 import com.ih.itinerary_hub_service.users.exceptions.UserNotFoundException;
 import com.ih.itinerary_hub_service.users.persistence.repository.UserRepository;
@@ -32,6 +36,18 @@ class TripsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TripSnapshotCache tripSnapshotCache;
+
+    @Mock
+    private TripChangeRecorder tripChangeRecorder;
+
+    @Mock
+    private PurgeService purgeService;
+
+    @Mock
+    private TripSummaryRepository tripSummaryRepository;
+
     @InjectMocks
     private TripsService tripsService;
 
@@ -93,7 +109,7 @@ class TripsServiceTest {
         @Test
         void deleteTrip_shouldThrow_whenUserDbFailed() {
             when(tripsRepository.findByTripIdAndUserId(any(), any())).thenReturn(Optional.of(MockData.mockTrip));
-            doThrow(new IllegalArgumentException()).when(tripsRepository).deleteTripById(any());
+            doThrow(new IllegalArgumentException()).when(purgeService).deleteTrip(any());
             assertThrows(DbFailure.class, () -> tripsService.deleteTrip(MockData.userId, MockData.tripId));
         }
     }
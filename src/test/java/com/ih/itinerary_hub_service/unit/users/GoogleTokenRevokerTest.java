@@ -0,0 +1,117 @@
+package com.ih.itinerary_hub_service.unit.users;
+
+import com.ih.itinerary_hub_service.properties.GoogleOAuthProperties;
+import com.ih.itinerary_hub_service.users.auth.GoogleTokenRevoker;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// a local server stands in for Google's revoke endpoint
+class GoogleTokenRevokerTest {
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger delayMillis = new AtomicInteger();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private GoogleTokenRevoker revoker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/revoke", this::handle);
+        server.start();
+
+        GoogleOAuthProperties properties = new GoogleOAuthProperties();
+        properties.setRevokeUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/revoke");
+        // generous enough for the first call on a cold client, well under the delay used below
+        properties.setReadTimeout(Duration.ofSeconds(1));
+
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build();
+
+        revoker = new GoogleTokenRevoker(properties, CircuitBreakerRegistry.of(circuitBreakerConfig));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void revoke_postsTheTokenInTheBody() {
+        revoker.revoke("token-123");
+
+        assertEquals(List.of("POST token=token-123"), requests);
+    }
+
+    @Test
+    void revoke_treatsAnAlreadyInvalidTokenAsDone() {
+        status.set(400);
+
+        assertDoesNotThrow(() -> revoker.revoke("expired-token"));
+    }
+
+    @Test
+    void revoke_throwsOnServerErrorsSoTheJobIsRetried() {
+        status.set(503);
+
+        assertThrows(Exception.class, () -> revoker.revoke("token-123"));
+    }
+
+    @Test
+    void revoke_givesUpAtTheReadTimeout() {
+        delayMillis.set(5000);
+
+        long start = System.nanoTime();
+        assertThrows(Exception.class, () -> revoker.revoke("token-123"));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 4000);
+    }
+
+    @Test
+    void revoke_stopsCallingGoogleOnceTheCircuitOpens() {
+        status.set(500);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(Exception.class, () -> revoker.revoke("token-123"));
+        }
+        assertEquals(4, requests.size());
+
+        assertThrows(CallNotPermittedException.class, () -> revoker.revoke("token-123"));
+        assertEquals(4, requests.size());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requests.add(exchange.getRequestMethod() + " " + body);
+
+        try {
+            Thread.sleep(delayMillis.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        exchange.sendResponseHeaders(status.get(), -1);
+        exchange.close();
+    }
+}
@@ -1,13 +1,25 @@
 package com.ih.itinerary_hub_service.unit.users;
 
 import com.ih.itinerary_hub_service.integration.BaseIntegrationTest;
+import com.ih.itinerary_hub_service.users.persistence.entity.User;
+import io.jsonwebtoken.Jwts;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -16,6 +28,9 @@ class JwtAuthenticationFilterTest extends BaseIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private final String PROTECTED_URL = "/v1/users";
     private final String WHITELISTED_URL = "/v1/health";
 
@@ -43,12 +58,23 @@ class JwtAuthenticationFilterTest extends BaseIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    // the cookie is compared with the token before any user lookup, so an unknown id gets no "User not found"
     @Test
-    void doFilterInternal_whenProtectedWithInvalidUserId_returnError() throws Exception {
+    void doFilterInternal_whenUserIdCookieDoesNotMatchToken_returnUnauthorized() throws Exception {
         mockMvc.perform(get(PROTECTED_URL)
                         .contentType(MediaType.APPLICATION_JSON)
                         .cookie(guestUserAccessTokenCookie)
                         .cookie(nonExistingUserIdCookie))
+                .andExpect(status().isUnauthorized())
+                .andExpect(status().reason("Invalid token"));
+    }
+
+    @Test
+    void doFilterInternal_whenTokenUserDoesNotExist_returnNotFound() throws Exception {
+        mockMvc.perform(get(PROTECTED_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .cookie(nonExistingUserAccessTokenCookie)
+                        .cookie(nonExistingUserIdCookie))
                 .andExpect(status().isNotFound())
                 .andExpect(result -> {
                     String reason = result.getResponse().getErrorMessage();
@@ -78,4 +104,66 @@ class JwtAuthenticationFilterTest extends BaseIntegrationTest {
                 .andExpect(cookie().value("access_token", ""))
                 .andExpect(cookie().value("user_id", ""));
     }
-}
\ No newline at end of file
+
+    @Test
+    void doFilterInternal_whenTokenBelongsToAnotherUser_returnUnauthorized() throws Exception {
+        mockMvc.perform(get(PROTECTED_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .cookie(googleUserAccessTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isUnauthorized())
+                .andExpect(status().reason("Invalid token"));
+    }
+
+    @Test
+    void doFilterInternal_whenAuthenticatedAgain_doesNotQueryUser() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        String sectionsUrl = "/v1/trips/" + GUEST_USER_TRIP_ONE + "/sections";
+
+        statistics.clear();
+        mockMvc.perform(get(sectionsUrl).cookie(guestUserAccessTokenCookie).cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+        long firstRequestStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        mockMvc.perform(get(sectionsUrl).cookie(guestUserAccessTokenCookie).cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+
+        assertEquals(firstRequestStatements - 1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void doFilterInternal_whenSessionsRevoked_rejectTokensIssuedBefore() throws Exception {
+        Cookie oldTokenCookie = new Cookie("access_token", tokenIssuedAt(Instant.now().minus(1, ChronoUnit.MINUTES)));
+
+        mockMvc.perform(delete("/v1/users/sessions")
+                        .cookie(oldTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(PROTECTED_URL)
+                        .cookie(oldTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isUnauthorized())
+                .andExpect(status().reason("Token revoked"));
+
+        Cookie newTokenCookie = new Cookie("access_token", tokenIssuedAt(Instant.now()));
+        mockMvc.perform(get(PROTECTED_URL)
+                        .cookie(newTokenCookie)
+                        .cookie(guestUserIdCookie))
+                .andExpect(status().isOk());
+    }
+
+    private String tokenIssuedAt(Instant issuedAt) {
+        return Jwts.builder()
+                .subject("guest-user-0123")
+                .claim("userId", GUEST_USER_ID.toString())
+                .issuer("itinerary-hub-service")
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plus(1, ChronoUnit.DAYS)))
+                .signWith(key)
+                .compact();
+    }
+}
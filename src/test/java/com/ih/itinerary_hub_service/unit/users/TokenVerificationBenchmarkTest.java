@@ -0,0 +1,64 @@
+package com.ih.itinerary_hub_service.unit.users;
+
+import com.ih.itinerary_hub_service.properties.VerifiedTokenCacheProperties;
+import com.ih.itinerary_hub_service.users.auth.JwtService;
+import com.ih.itinerary_hub_service.users.auth.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Time per request spent on the access token: a new parser plus full verification on every call,
+ * as the filter used to do, against the verified-token cache.
+ * Timing depends on the machine, so it's left to ./gradlew benchmark; the test only checks the direction.
+ * */
+@Tag("benchmark")
+class TokenVerificationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVerificationBenchmarkTest.class);
+
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    void verify_cachedTokenIsFasterThanParsingEveryRequest() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "this-is-a-very-long-key-only-for-testing-spring-pls-stop-complaining");
+        jwtService.init();
+
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new VerifiedTokenCacheProperties(), new SimpleMeterRegistry());
+        String token = jwtService.generateAccessToken("guest-user", UUID.randomUUID());
+
+        long uncached = nanosPerCall(token, t -> Jwts.parser()
+                .verifyWith(jwtService.getKey())
+                .build()
+                .parseSignedClaims(t)
+                .getPayload());
+        long cached = nanosPerCall(token, cache::verify);
+
+        log.info("token verification: parser per request {} ns/call, verified-token cache {} ns/call", uncached, cached);
+        assertTrue(cached < uncached);
+    }
+
+    private static long nanosPerCall(String token, Function<String, Claims> verify) {
+        for (int i = 0; i < WARMUP; i++) {
+            verify.apply(token);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            verify.apply(token);
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
@@ -3,7 +3,13 @@ package com.ih.itinerary_hub_service.unit.users;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ih.itinerary_hub_service.config.CookieMaker;
 import com.ih.itinerary_hub_service.config.GlobalExceptionHandler;
+import com.ih.itinerary_hub_service.ratelimit.ConcurrencyLimiter;
+import com.ih.itinerary_hub_service.ratelimit.EndpointBulkheads;
+import com.ih.itinerary_hub_service.ratelimit.KeyedRateLimiter;
+import com.ih.itinerary_hub_service.ratelimit.RouteClassifier;
 import com.ih.itinerary_hub_service.users.auth.JwtService;
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
+import com.ih.itinerary_hub_service.users.auth.VerifiedTokenCache;
 import com.ih.itinerary_hub_service.users.controller.UserController;
 import com.ih.itinerary_hub_service.users.exceptions.UserNotFoundException;
 import com.ih.itinerary_hub_service.users.persistence.entity.User;
@@ -53,6 +59,24 @@ class UserControllerTest {
     @MockitoBean
     private CookieMaker cookieMaker;
 
+    @MockitoBean
+    private TokenEpochCache tokenEpochCache;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private KeyedRateLimiter keyedRateLimiter;
+
+    @MockitoBean
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @MockitoBean
+    private EndpointBulkheads endpointBulkheads;
+
+    @MockitoBean
+    private RouteClassifier routeClassifier;
+
     private final UUID uuidForUser = UUID.randomUUID();
 
     private final User mockUser = new User(
@@ -247,7 +271,7 @@ class UserControllerTest {
             mockMvc.perform(MockMvcRequestBuilders.delete("/v1/users")
                             .contentType(MediaType.APPLICATION_JSON)
                             .requestAttr("userId", uuidForUser))
-                    .andExpect(status().isNoContent());
+                    .andExpect(status().isAccepted());
 
             verify(userService, times(1)).deleteUser(uuidForUser);
         }
@@ -1,6 +1,10 @@
 package com.ih.itinerary_hub_service.unit.users;
 
+import com.ih.itinerary_hub_service.jobs.service.JobService;
+import com.ih.itinerary_hub_service.jobs.types.JobType;
 import com.ih.itinerary_hub_service.passengers.service.GlobalPassengersService;
+import com.ih.itinerary_hub_service.purge.service.PurgeService;
+import com.ih.itinerary_hub_service.users.auth.TokenEpochCache;
 import com.ih.itinerary_hub_service.users.exceptions.UserNotFoundException;
 import com.ih.itinerary_hub_service.users.persistence.entity.User;
 import com.ih.itinerary_hub_service.users.persistence.repository.UserRepository;
@@ -19,6 +23,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +35,15 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenEpochCache tokenEpochCache;
+
+    @Mock
+    private PurgeService purgeService;
+
+    @Mock
+    private JobService jobService;
+
     @InjectMocks
     private UserService userService;
 
@@ -174,6 +188,29 @@ class UserServiceTest {
             when(userRepository.findById(any())).thenReturn(Optional.of(mockUser));
 
             assertDoesNotThrow(() -> userService.deleteUser(uuidForUser));
+            verify(purgeService).deleteUser(mockUser);
+            verify(tokenEpochCache).invalidate(uuidForUser);
+        }
+
+        @Test
+        void deleteUser_shouldQueueTokenRevocation_whenGoogleUser() {
+            User googleUser = new User(uuidForUser, "Jane", "Smith", LocalDateTime.now(), false, "google-id", null, "google-token");
+            when(userRepository.findById(any())).thenReturn(Optional.of(googleUser));
+
+            userService.deleteUser(uuidForUser);
+
+            verify(jobService).enqueue(JobType.GOOGLE_TOKEN_REVOKE, uuidForUser, null, "google-token");
+            assertNull(googleUser.getGoogleId());
+            assertNull(googleUser.getGoogleToken());
+        }
+
+        @Test
+        void deleteUser_shouldNotQueueTokenRevocation_whenGuestUser() {
+            when(userRepository.findById(any())).thenReturn(Optional.of(mockUser));
+
+            userService.deleteUser(uuidForUser);
+
+            verifyNoInteractions(jobService);
         }
 
         @Test
@@ -186,10 +223,30 @@ class UserServiceTest {
         @Test
         void deleteUser_shouldThrowRuntimeException_whenDbFails() {
             when(userRepository.findById(any())).thenReturn(Optional.of(mockUser));
-            doThrow(new IllegalArgumentException("Failed to delete user")).when(userRepository).deleteById(any());
+            doThrow(new IllegalArgumentException("Failed to delete user")).when(purgeService).deleteUser(any());
 
             assertThrows(RuntimeException.class, () -> userService.deleteUser(uuidForUser));
         }
     }
 
+    @Nested
+    class RevokeSessions {
+        @Test
+        void revokeSessions_shouldInvalidateCachedEpoch_whenUserExists() {
+            when(userRepository.updateTokensValidAfter(eq(uuidForUser), any())).thenReturn(1);
+
+            userService.revokeSessions(uuidForUser);
+
+            verify(tokenEpochCache).invalidate(uuidForUser);
+        }
+
+        @Test
+        void revokeSessions_shouldThrowUserNotFoundException_whenUserDoesNotExist() {
+            when(userRepository.updateTokensValidAfter(eq(uuidForUser), any())).thenReturn(0);
+
+            assertThrows(UserNotFoundException.class, () -> userService.revokeSessions(uuidForUser));
+            verify(tokenEpochCache, never()).invalidate(any());
+        }
+    }
+
 }
\ No newline at end of file
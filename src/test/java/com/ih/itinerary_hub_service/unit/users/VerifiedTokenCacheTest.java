@@ -0,0 +1,75 @@
+package com.ih.itinerary_hub_service.unit.users;
+
+import com.ih.itinerary_hub_service.properties.VerifiedTokenCacheProperties;
+import com.ih.itinerary_hub_service.users.auth.JwtService;
+import com.ih.itinerary_hub_service.users.auth.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        JwtService realJwtService = new JwtService();
+        ReflectionTestUtils.setField(realJwtService, "secretKey", "this-is-a-very-long-key-only-for-testing-spring-pls-stop-complaining");
+        realJwtService.init();
+
+        jwtService = spy(realJwtService);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(jwtService, new VerifiedTokenCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void verify_whenSameTokenIsSentAgain_verifiesSignatureOnce() {
+        String token = jwtService.generateAccessToken("guest-user", userId);
+
+        Claims first = cache.verify(token);
+        Claims second = cache.verify(token);
+
+        assertEquals(userId.toString(), second.get("userId", String.class));
+        assertSame(first, second);
+        verify(jwtService, times(1)).parseClaims(token);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("auth.token.verification").timer().count());
+    }
+
+    @Test
+    void verify_whenTokenIsInvalid_throwsEveryTime() {
+        String token = jwtService.generateAccessToken("guest-user", userId) + "tampered";
+
+        assertThrows(JwtException.class, () -> cache.verify(token));
+        assertThrows(JwtException.class, () -> cache.verify(token));
+        verify(jwtService, times(2)).parseClaims(token);
+    }
+
+    @Test
+    void verify_whenTokenIsExpired_throwsExpired() {
+        String token = Jwts.builder()
+                .subject("guest-user")
+                .claim("userId", userId.toString())
+                .issuedAt(new Date(System.currentTimeMillis() - 60_000))
+                .expiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(jwtService.getKey())
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> cache.verify(token));
+    }
+}